@@ -28,9 +28,10 @@ const ChatHistory = () => {
   const fetchLeads = async () => {
     try {
       const response = await leadService.getAllLeads();
-      setLeads(response.data.data);
-      if (response.data.data.length > 0) {
-        setSelectedLead(response.data.data[0]);
+      const items = response.data.data.items;
+      setLeads(items);
+      if (items.length > 0) {
+        setSelectedLead(items[0]);
       }
     } catch (error) {
       console.error('Error fetching leads:', error);
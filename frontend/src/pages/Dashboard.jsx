@@ -9,11 +9,29 @@ const Dashboard = () => {
   const [stats, setStats] = useState(null);
   const [loading, setLoading] = useState(true);
   const [dateFilter, setDateFilter] = useState({ from: '', to: '' });
+  const [dwellTimes, setDwellTimes] = useState([]);
 
   useEffect(() => {
     fetchStats();
+    fetchDwellTimes();
   }, []);
 
+  const fetchDwellTimes = async () => {
+    try {
+      const response = await dashboardService.getDwellTimes('NEW', null, 'city');
+      setDwellTimes(response.data.data);
+    } catch (error) {
+      console.error('Error fetching dwell times:', error);
+    }
+  };
+
+  const formatDwell = (seconds) => {
+    if (seconds === null || seconds === undefined) return '-';
+    if (seconds < 3600) return `${Math.round(seconds / 60)} min`;
+    if (seconds < 86400) return `${(seconds / 3600).toFixed(1)} h`;
+    return `${(seconds / 86400).toFixed(1)} d`;
+  };
+
   const fetchStats = async (fromDate = null, toDate = null) => {
     try {
       setLoading(true);
@@ -226,6 +244,35 @@ const Dashboard = () => {
             </ResponsiveContainer>
           </div>
         </div>
+
+        {/* Time in NEW per city */}
+        {dwellTimes.length > 0 && (
+          <div className="card">
+            <h3 className="text-lg font-semibold mb-4">Time in NEW by City</h3>
+            <table className="w-full text-sm">
+              <thead>
+                <tr className="text-left text-gray-600 border-b">
+                  <th className="py-2">City</th>
+                  <th className="py-2">Moved On</th>
+                  <th className="py-2">Median</th>
+                  <th className="py-2">90th Percentile</th>
+                  <th className="py-2">99th Percentile</th>
+                </tr>
+              </thead>
+              <tbody>
+                {dwellTimes.map((row) => (
+                  <tr key={row.group} className="border-b last:border-0">
+                    <td className="py-2">{row.group || 'Unknown'}</td>
+                    <td className="py-2">{row.transitions}</td>
+                    <td className="py-2">{formatDwell(row.percentiles?.p50)}</td>
+                    <td className="py-2">{formatDwell(row.percentiles?.p90)}</td>
+                    <td className="py-2">{formatDwell(row.percentiles?.p99)}</td>
+                  </tr>
+                ))}
+              </tbody>
+            </table>
+          </div>
+        )}
       </div>
     </Layout>
   );
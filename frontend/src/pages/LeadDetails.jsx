@@ -7,10 +7,13 @@ import { getStatusColor } from '../utils/statusUtils';
 import { Edit, Save } from 'lucide-react';
 import { motion } from 'framer-motion';
 
+const HISTORY_PAGE_SIZE = 50;
+
 const LeadDetails = () => {
   const { id } = useParams();
   const [lead, setLead] = useState(null);
   const [modifications, setModifications] = useState([]);
+  const [historyCursor, setHistoryCursor] = useState(null);
   const [activeTab, setActiveTab] = useState('details');
   const [isEditing, setIsEditing] = useState(false);
   const [loading, setLoading] = useState(true);
@@ -31,10 +34,13 @@ const LeadDetails = () => {
     }
   };
 
-  const fetchModifications = async () => {
+  // Without a cursor this (re)loads the newest page; with one it appends the next older page
+  const fetchModifications = async (cursor) => {
     try {
-      const response = await leadService.getModificationHistory(id);
-      setModifications(response.data.data);
+      const response = await leadService.getHistoryPage(id, { cursor, size: HISTORY_PAGE_SIZE });
+      const { items, nextCursor } = response.data.data;
+      setModifications((current) => (cursor ? [...current, ...items] : items));
+      setHistoryCursor(nextCursor);
     } catch (error) {
       console.error('Error fetching modifications:', error);
     }
@@ -286,14 +292,24 @@ const LeadDetails = () => {
                       <td className="px-6 py-4 text-sm text-gray-900">{index + 1}</td>
                       <td className="px-6 py-4 text-sm text-gray-900">{mod.modifiedBy}</td>
                       <td className="px-6 py-4 text-sm text-gray-900">{mod.modifiedField}</td>
-                      <td className="px-6 py-4 text-sm text-gray-900">{mod.oldValue}</td>
-                      <td className="px-6 py-4 text-sm text-gray-900">{mod.newValue}</td>
+                      <td className="px-6 py-4 text-sm text-gray-900">{renderValue(mod, 0)}</td>
+                      <td className="px-6 py-4 text-sm text-gray-900">{renderValue(mod, 1)}</td>
                       <td className="px-6 py-4 text-sm text-gray-900">{formatDateTime(mod.modifiedAt)}</td>
                       <td className="px-6 py-4 text-sm text-gray-900">{mod.modifiedBy}</td>
                     </tr>
                   ))}
                 </tbody>
               </table>
+              {historyCursor && (
+                <div className="flex justify-center py-4">
+                  <button
+                    className="px-4 py-2 text-sm text-primary-600 hover:bg-gray-100 rounded"
+                    onClick={() => fetchModifications(historyCursor)}
+                  >
+                    Load older entries
+                  </button>
+                </div>
+              )}
             </motion.div>
           )}
         </div>
@@ -302,4 +318,22 @@ const LeadDetails = () => {
   );
 };
 
+// An update row carries {"field":[old,new],...} in diff; other rows use oldValue/newValue
+const renderValue = (mod, side) => {
+  if (!mod.diff) {
+    return side === 0 ? mod.oldValue : mod.newValue;
+  }
+  let diff;
+  try {
+    diff = JSON.parse(mod.diff);
+  } catch {
+    return side === 0 ? mod.oldValue : mod.newValue;
+  }
+  return Object.entries(diff).map(([field, values]) => (
+    <div key={field}>
+      <span className="text-gray-500">{field}:</span> {values[side] ?? '-'}
+    </div>
+  ));
+};
+
 export default LeadDetails;
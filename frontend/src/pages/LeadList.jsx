@@ -7,8 +7,10 @@ import { getStatusColor } from '../utils/statusUtils';
 import { useNavigate } from 'react-router-dom';
 import { motion } from 'framer-motion';
 
+const PAGE_SIZE = 20;
+
 const LeadList = () => {
-  const [leads, setLeads] = useState([]);
+  const [page, setPage] = useState({ nextCursor: null, prevCursor: null });
   const [filteredLeads, setFilteredLeads] = useState([]);
   const [loading, setLoading] = useState(true);
   const [selectedLeads, setSelectedLeads] = useState([]);
@@ -20,22 +22,53 @@ const LeadList = () => {
     fromDate: '',
     toDate: ''
   });
+  const [keyword, setKeyword] = useState('');
+  const [suggestions, setSuggestions] = useState([]);
   const [showUploadModal, setShowUploadModal] = useState(false);
   const [uploadFile, setUploadFile] = useState(null);
   const navigate = useNavigate();
 
+  // Filtering happens on the server; any change starts again from the first page
   useEffect(() => {
     fetchLeads();
-  }, []);
+  }, [filters]);
 
+  // Type-ahead on the keyword box, answered from the server's in-memory index
   useEffect(() => {
-    applyFilters();
-  }, [filters, leads]);
+    if (keyword.trim().length < 3) {
+      setSuggestions([]);
+      return;
+    }
+    const timer = setTimeout(async () => {
+      try {
+        const response = await leadService.lookupLeads(keyword.trim());
+        setSuggestions(response.data.data);
+      } catch (error) {
+        console.error('Error looking up leads:', error);
+      }
+    }, 150);
+    return () => clearTimeout(timer);
+  }, [keyword]);
+
+  const searchParams = () => ({
+    contactNumber: filters.contactNumber || undefined,
+    name: filters.name || undefined,
+    modelName: filters.model || undefined,
+    status: filters.leadType || undefined,
+    fromDate: filters.fromDate || undefined,
+    toDate: filters.toDate || undefined
+  });
 
-  const fetchLeads = async () => {
+  const fetchLeads = async (cursor) => {
     try {
-      const response = await leadService.getAllLeads();
-      setLeads(response.data.data);
+      const response = await leadService.searchLeads({
+        ...searchParams(),
+        cursor,
+        size: PAGE_SIZE
+      });
+      const { items, nextCursor, prevCursor } = response.data.data;
+      setFilteredLeads(items);
+      setPage({ nextCursor, prevCursor });
     } catch (error) {
       console.error('Error fetching leads:', error);
     } finally {
@@ -43,27 +76,19 @@ const LeadList = () => {
     }
   };
 
-  const applyFilters = () => {
-    let filtered = [...leads];
-
-    if (filters.contactNumber) {
-      filtered = filtered.filter(lead => 
-        lead.contactNumber?.includes(filters.contactNumber)
-      );
-    }
-
-    if (filters.name) {
-      filtered = filtered.filter(lead =>
-        lead.firstName?.toLowerCase().includes(filters.name.toLowerCase()) ||
-        lead.lastName?.toLowerCase().includes(filters.name.toLowerCase())
-      );
-    }
-
-    if (filters.leadType) {
-      filtered = filtered.filter(lead => lead.status === filters.leadType);
+  // The server streams every matching lead, not just the visible page
+  const handleExport = async () => {
+    try {
+      const response = await leadService.exportLeads({ ...searchParams(), format: 'xlsx' });
+      const url = window.URL.createObjectURL(response.data);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = `leads-${new Date().toISOString().slice(0, 10)}.xlsx`;
+      link.click();
+      window.URL.revokeObjectURL(url);
+    } catch (error) {
+      console.error('Error exporting leads:', error);
     }
-
-    setFilteredLeads(filtered);
   };
 
   const handleSelectLead = (leadId) => {
@@ -87,7 +112,7 @@ const LeadList = () => {
     
     if (window.confirm(`Delete ${selectedLeads.length} lead(s)?`)) {
       try {
-        await Promise.all(selectedLeads.map(id => leadService.deleteLead(id)));
+        await leadService.bulkLeads({ action: 'DELETE', ids: selectedLeads });
         fetchLeads();
         setSelectedLeads([]);
       } catch (error) {
@@ -100,15 +125,28 @@ const LeadList = () => {
     if (!uploadFile) return;
 
     try {
-      await leadService.uploadLeads(uploadFile);
+      const response = await leadService.uploadLeads(uploadFile);
       setShowUploadModal(false);
       setUploadFile(null);
+      await waitForUpload(response.data.data.jobId);
       fetchLeads();
     } catch (error) {
       console.error('Error uploading file:', error);
     }
   };
 
+  // Uploads run in the background; poll until the job is done
+  const waitForUpload = async (jobId) => {
+    for (;;) {
+      const response = await leadService.getUploadJob(jobId);
+      const job = response.data.data;
+      if (job.status === 'COMPLETED' || job.status === 'FAILED') {
+        return job;
+      }
+      await new Promise(resolve => setTimeout(resolve, 1000));
+    }
+  };
+
   const handleClear = () => {
     setFilters({
       contactNumber: '',
@@ -118,6 +156,7 @@ const LeadList = () => {
       fromDate: '',
       toDate: ''
     });
+    setKeyword('');
   };
 
   return (
@@ -183,8 +222,24 @@ const LeadList = () => {
               <input
                 type="text"
                 placeholder="Search keyword"
+                value={keyword}
+                onChange={(e) => setKeyword(e.target.value)}
                 className="w-full pl-10 pr-4 py-2 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-primary-500"
               />
+              {suggestions.length > 0 && (
+                <ul className="absolute z-10 mt-1 w-full bg-white border border-gray-200 rounded-lg shadow-lg">
+                  {suggestions.map((lead) => (
+                    <li
+                      key={lead.id}
+                      onClick={() => navigate(`/leads/${lead.id}`)}
+                      className="px-4 py-2 text-sm hover:bg-gray-50 cursor-pointer flex justify-between"
+                    >
+                      <span>{lead.firstName} {lead.lastName}</span>
+                      <span className="text-gray-500">{lead.contactNumber}</span>
+                    </li>
+                  ))}
+                </ul>
+              )}
             </div>
             
             <div className="flex gap-2">
@@ -196,7 +251,7 @@ const LeadList = () => {
 
         {/* Action Buttons */}
         <div className="flex justify-end gap-2 mb-4">
-          <button className="btn btn-secondary flex items-center gap-2">
+          <button onClick={handleExport} className="btn btn-secondary flex items-center gap-2">
             <Download size={18} />
             EXCEL
           </button>
@@ -250,8 +305,8 @@ const LeadList = () => {
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">First Name</th>
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Last Name</th>
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Gender</th>
-                  <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Government ID</th>
-                  <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Email ID</th>
+                  <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Status</th>
+                  <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Created</th>
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Data Privacy</th>
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">City</th>
                   <th className="px-6 py-3 text-left text-xs font-medium text-gray-500 uppercase">Model Name</th>
@@ -279,8 +334,12 @@ const LeadList = () => {
                     <td className="px-6 py-4 text-sm text-gray-900">{lead.firstName}</td>
                     <td className="px-6 py-4 text-sm text-gray-900">{lead.lastName}</td>
                     <td className="px-6 py-4 text-sm text-gray-900">Male</td>
-                    <td className="px-6 py-4 text-sm text-gray-900">{lead.governmentId || 'PAN Card'}</td>
-                    <td className="px-6 py-4 text-sm text-gray-900">{lead.email}</td>
+                    <td className="px-6 py-4 text-sm">
+                      <span className={`px-2 py-1 rounded-full text-xs font-medium ${getStatusColor(lead.status)}`}>
+                        {lead.status}
+                      </span>
+                    </td>
+                    <td className="px-6 py-4 text-sm text-gray-900">{formatDate(lead.createdAt)}</td>
                     <td className="px-6 py-4 text-sm text-gray-900">Yes</td>
                     <td className="px-6 py-4 text-sm text-gray-900">{lead.city}</td>
                     <td className="px-6 py-4 text-sm text-gray-900">{lead.modelName}</td>
@@ -293,18 +352,26 @@ const LeadList = () => {
           {/* Pagination */}
           <div className="bg-gray-50 px-6 py-3 flex items-center justify-between border-t border-gray-200">
             <div className="text-sm text-gray-700">
-              1-{Math.min(20, filteredLeads.length)} of {filteredLeads.length}
+              Showing {filteredLeads.length} leads
             </div>
             <div className="flex items-center gap-2">
-              <span className="text-sm text-gray-700">Rows per page: 20</span>
+              <span className="text-sm text-gray-700">Rows per page: {PAGE_SIZE}</span>
               <div className="flex gap-1">
-                <button className="p-2 hover:bg-gray-200 rounded">«</button>
-                <button className="p-2 hover:bg-gray-200 rounded">‹</button>
-                <button className="p-2 bg-primary-600 text-white rounded">1</button>
-                <button className="p-2 hover:bg-gray-200 rounded">2</button>
-                <button className="p-2 hover:bg-gray-200 rounded">3</button>
-                <button className="p-2 hover:bg-gray-200 rounded">›</button>
-                <button className="p-2 hover:bg-gray-200 rounded">»</button>
+                <button
+                  className="p-2 hover:bg-gray-200 rounded disabled:opacity-40"
+                  disabled={!page.prevCursor}
+                  onClick={() => fetchLeads()}
+                >«</button>
+                <button
+                  className="p-2 hover:bg-gray-200 rounded disabled:opacity-40"
+                  disabled={!page.prevCursor}
+                  onClick={() => fetchLeads(page.prevCursor)}
+                >‹</button>
+                <button
+                  className="p-2 hover:bg-gray-200 rounded disabled:opacity-40"
+                  disabled={!page.nextCursor}
+                  onClick={() => fetchLeads(page.nextCursor)}
+                >›</button>
               </div>
             </div>
           </div>
@@ -8,5 +8,14 @@ export const dashboardService = {
     if (toDate) params.toDate = toDate;
     
     return apiClient.get('/api/dashboard', { params });
+  },
+
+  // Time leads spend in a status before moving on (percentiles in seconds)
+  getDwellTimes: (from, to = null, groupBy = null) => {
+    const params = { from };
+    if (to) params.to = to;
+    if (groupBy) params.groupBy = groupBy;
+
+    return apiClient.get('/api/dashboard/funnel/dwell', { params });
   }
 };
@@ -1,9 +1,26 @@
 import apiClient from './apiClient';
 
 export const leadService = {
-  // Get all leads
-  getAllLeads: () => {
-    return apiClient.get('/api/leads');
+  // Get one page of leads (newest first); pass nextCursor / prevCursor to move between pages
+  getAllLeads: ({ cursor, size } = {}) => {
+    return apiClient.get('/api/leads', {
+      params: { cursor, size }
+    });
+  },
+
+  // Search leads: any of contactNumber, name, modelName, city, status, fromDate, toDate (+ cursor, size)
+  searchLeads: (params) => {
+    return apiClient.get('/api/leads/search', { params });
+  },
+
+  // Type-ahead: leads whose phone number or name contains q (at least 3 characters)
+  lookupLeads: (q, limit = 10) => {
+    return apiClient.get('/api/leads/lookup', { params: { q, limit } });
+  },
+
+  // Export leads matching the search filters; format is 'csv' or 'xlsx'. The file is built on the server.
+  exportLeads: (params) => {
+    return apiClient.get('/api/leads/export', { params, responseType: 'blob' });
   },
 
   // Get lead by ID
@@ -26,6 +43,11 @@ export const leadService = {
     return apiClient.delete(`/api/leads/${id}`);
   },
 
+  // Apply one action (DELETE, SET_STATUS, SET_FOLLOW_UP_DATE, REASSIGN) to many leads
+  bulkLeads: (request) => {
+    return apiClient.post('/api/leads/bulk', request);
+  },
+
   // Filter by status
   filterByStatus: (status) => {
     return apiClient.get(`/api/leads/filter/status?status=${status}`);
@@ -43,12 +65,19 @@ export const leadService = {
     });
   },
 
-  // Get modification history
+  // Newest modification history entries only (capped); prefer getHistoryPage
   getModificationHistory: (id) => {
     return apiClient.get(`/api/leads/${id}/modifications`);
   },
 
-  // Upload leads from Excel
+  // One page of modification history (newest first, archived entries included); pass nextCursor for older entries
+  getHistoryPage: (id, { cursor, size } = {}) => {
+    return apiClient.get(`/api/leads/${id}/history`, {
+      params: { cursor, size }
+    });
+  },
+
+  // Upload leads from Excel / CSV (returns a background job)
   uploadLeads: (file) => {
     const formData = new FormData();
     formData.append('file', file);
@@ -57,5 +86,10 @@ export const leadService = {
         'Content-Type': 'multipart/form-data',
       },
     });
+  },
+
+  // Get progress of an upload job
+  getUploadJob: (jobId) => {
+    return apiClient.get(`/api/upload/${jobId}`);
   }
 };
@@ -0,0 +1,197 @@
+package com.hero.leadnurturing.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hero.leadnurturing.dto.UploadResponseDTO;
+import com.hero.leadnurturing.repository.StatusDwellBucketRepository;
+import com.hero.leadnurturing.service.CacheService;
+import com.hero.leadnurturing.service.FileUploadService;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+import com.hero.leadnurturing.service.upload.LeadBatchWriter;
+import com.hero.leadnurturing.service.upload.LeadDuplicateIndexLoader;
+import com.hero.leadnurturing.service.upload.LeadUpsertWriter;
+import com.hero.leadnurturing.service.upload.UploadJob;
+import com.hero.leadnurturing.service.upload.UploadMode;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * End-to-end ingestion: parse, map, de-duplicate and insert a whole file
+ * into an in-memory H2 database (MySQL mode), through the same
+ * {@link FileUploadService} the upload endpoint uses.
+ *
+ * Each method declares its row count as operations, so the score is rows/s
+ * and gc.alloc.rate.norm is bytes allocated per row (all threads).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IngestionBenchmark {
+
+    @Param({"CSV", "XLSX"})
+    public String format;
+
+    private AnnotationConfigApplicationContext context;
+    private FileUploadService fileUploadService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        context = new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+        fileUploadService = context.getBean(FileUploadService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        context.close();
+    }
+
+    /**
+     * Every run starts from an empty table, otherwise all rows would be duplicates
+     */
+    @Setup(Level.Invocation)
+    public void clearLeads() {
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        jdbcTemplate.execute("TRUNCATE TABLE lead_modifications");
+        jdbcTemplate.execute("TRUNCATE TABLE leads");
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10_000)
+    public UploadResponseDTO ingest10k() throws Exception {
+        return ingest(10_000);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100_000)
+    public UploadResponseDTO ingest100k() throws Exception {
+        return ingest(100_000);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1_000_000)
+    public UploadResponseDTO ingest1m() throws Exception {
+        return ingest(1_000_000);
+    }
+
+    private UploadResponseDTO ingest(int rows) throws Exception {
+        Path file = "XLSX".equals(format) ? LeadFixtures.xlsx(rows) : LeadFixtures.csv(rows);
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), file.getFileName().toString(), null,
+                format, "benchmark", UploadMode.INSERT, file, Files.size(file));
+        try {
+            UploadResponseDTO result = fileUploadService.processUpload(job);
+            if (result.getSuccessfulRecords() != rows) {
+                throw new IllegalStateException("Expected " + rows + " rows, got " + result.getSuccessfulRecords()
+                        + " " + result.getRejectionReasons());
+            }
+            return result;
+        } finally {
+            job.getRejectionReport().delete();
+        }
+    }
+
+    /**
+     * Just the upload beans on top of JPA + H2, without the web / security
+     * stack or the MySQL specific start-up code
+     */
+    @Configuration
+    @Import({FileUploadService.class, LeadBatchWriter.class, LeadUpsertWriter.class, LeadDuplicateIndexLoader.class,
+            StatusTransitionLedger.class, CacheService.class, LeadAuditWriter.class})
+    @EnableJpaRepositories(basePackageClasses = StatusDwellBucketRepository.class)
+    static class BenchmarkConfig {
+
+        // Audit rows in the chunk transaction, without the journal file and writer thread
+        @Bean
+        static PropertySourcesPlaceholderConfigurer properties() {
+            PropertySourcesPlaceholderConfigurer configurer = new PropertySourcesPlaceholderConfigurer();
+            Properties properties = new Properties();
+            properties.put("audit.mode", "transactional");
+            configurer.setProperties(properties);
+            return configurer;
+        }
+
+        @Bean
+        DataSource dataSource() {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:leads;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+            dataSource.setDriverClassName("org.h2.Driver");
+            return dataSource;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            Properties jpa = new Properties();
+            jpa.put("hibernate.hbm2ddl.auto", "create");
+            jpa.put("hibernate.physical_naming_strategy",
+                    "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy");
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan("com.hero.leadnurturing.entity");
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaProperties(jpa);
+            return factory;
+        }
+
+        @Bean
+        EntityManager entityManager(EntityManagerFactory entityManagerFactory) {
+            return SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(JpaTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+    }
+}
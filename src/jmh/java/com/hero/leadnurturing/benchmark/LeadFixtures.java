@@ -0,0 +1,97 @@
+package com.hero.leadnurturing.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Generated upload files for the benchmarks. Each file is written once to
+ * target/benchmark-fixtures and reused by later runs.
+ */
+public final class LeadFixtures {
+
+    public static final List<String> HEADER = List.of(
+            "Contact Number", "First Name", "Last Name", "Email", "City",
+            "Model Name", "Lead Source", "Status", "Government Id");
+
+    private static final String[] CITIES = {"Delhi", "Mumbai", "Pune", "Jaipur", "Lucknow", "Chennai"};
+    private static final String[] MODELS = {"Splendor Plus", "HF Deluxe", "Glamour", "Xpulse 200", "Destini 125"};
+    private static final String[] SOURCES = {"Walk-in", "Website", "Dealer Event", "Referral"};
+
+    private static final Path DIRECTORY = Path.of("target", "benchmark-fixtures");
+
+    private LeadFixtures() {
+    }
+
+    public static Path csv(int rows) throws IOException {
+        Path file = DIRECTORY.resolve("leads-" + rows + ".csv");
+        if (Files.exists(file)) {
+            return file;
+        }
+        Files.createDirectories(DIRECTORY);
+        Path tmp = Files.createTempFile(DIRECTORY, "leads-", ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            out.write(String.join(",", HEADER));
+            out.write('\n');
+            for (int i = 0; i < rows; i++) {
+                out.write(String.join(",", row(i)));
+                out.write('\n');
+            }
+        }
+        return Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Same rows as {@link #csv}; the contact number is a numeric cell, as it
+     * usually is in dealer sheets
+     */
+    public static Path xlsx(int rows) throws IOException {
+        Path file = DIRECTORY.resolve("leads-" + rows + ".xlsx");
+        if (Files.exists(file)) {
+            return file;
+        }
+        Files.createDirectories(DIRECTORY);
+        Path tmp = Files.createTempFile(DIRECTORY, "leads-", ".tmp");
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000);
+             OutputStream out = Files.newOutputStream(tmp)) {
+            Sheet sheet = workbook.createSheet("Leads");
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < HEADER.size(); c++) {
+                header.createCell(c).setCellValue(HEADER.get(c));
+            }
+            for (int i = 0; i < rows; i++) {
+                Row row = sheet.createRow(i + 1);
+                List<String> values = row(i);
+                row.createCell(0).setCellValue(Double.parseDouble(values.get(0)));
+                for (int c = 1; c < values.size(); c++) {
+                    row.createCell(c).setCellValue(values.get(c));
+                }
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+        return Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static List<String> row(int i) {
+        return List.of(
+                String.valueOf(9_000_000_000L + i),
+                "First" + i,
+                "Last" + i,
+                "lead" + i + "@example.com",
+                CITIES[i % CITIES.length],
+                MODELS[i % MODELS.length],
+                SOURCES[i % SOURCES.length],
+                "NEW",
+                "GOV" + i);
+    }
+}
@@ -0,0 +1,92 @@
+package com.hero.leadnurturing.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hero.leadnurturing.benchmark.LeadFixtures;
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.service.upload.LeadColumnMapping;
+
+/**
+ * Per-row pieces of the upload path: reading cells and mapping a row to a
+ * Lead. One operation is one row (or one cell), so gc.alloc.rate.norm is
+ * the allocation per row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    private final FileUploadService fileUploadService = new FileUploadService(null, null, null, 1, 1, 1);
+
+    private XSSFWorkbook workbook;
+    private Cell stringCell;
+    private Cell numericCell;
+    private Cell formulaCell;
+
+    private List<String> cells;
+    private LeadColumnMapping mapping;
+
+    @Setup
+    public void setUp() {
+        workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        Row row = sheet.createRow(0);
+
+        stringCell = row.createCell(0);
+        stringCell.setCellValue("  Splendor Plus  ");
+        numericCell = row.createCell(1);
+        numericCell.setCellValue(9_876_543_210d);
+        formulaCell = row.createCell(2);
+        formulaCell.setCellFormula("B1+1");
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateFormulaCell(formulaCell);
+
+        cells = LeadFixtures.row(42);
+        mapping = LeadColumnMapping.fromHeader(LeadFixtures.HEADER);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public String getCellStringText() {
+        return fileUploadService.getCellString(stringCell);
+    }
+
+    @Benchmark
+    public String getCellStringNumeric() {
+        return fileUploadService.getCellString(numericCell);
+    }
+
+    @Benchmark
+    public String getFormulaValue() {
+        return fileUploadService.getFormulaValue(formulaCell);
+    }
+
+    @Benchmark
+    public Lead buildLead() {
+        return fileUploadService.buildLead(cells, mapping);
+    }
+}
@@ -0,0 +1,90 @@
+package com.hero.leadnurturing.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache: Lead and User entities plus the lookups by
+ * contact number and username, held in process by Caffeine behind JCache.
+ * Every region is bounded; sizes and time to live come from cache.* properties.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String LEADS = "leads";
+    public static final String USERS = "users";
+    public static final String LEADS_BY_CONTACT_NUMBER = "leads-by-contact-number";
+    public static final String USERS_BY_USERNAME = "users-by-username";
+
+    // Hibernate's own regions: query results without an explicit region, and per-table last-write times
+    static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    /**
+     * A cache manager of its own (unique URI), so it is closed with this
+     * application context and never shared with another one in the same JVM
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager jcacheManager(
+            @Value("${cache.leads.max-entries:20000}") long leadEntries,
+            @Value("${cache.leads.time-to-live:30m}") Duration leadTtl,
+            @Value("${cache.users.max-entries:1000}") long userEntries,
+            @Value("${cache.users.time-to-live:30m}") Duration userTtl,
+            @Value("${cache.queries.max-entries:10000}") long queryEntries,
+            @Value("${cache.queries.time-to-live:10m}") Duration queryTtl) {
+
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("leadnurturing-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(LEADS, region(leadEntries, leadTtl));
+        cacheManager.createCache(USERS, region(userEntries, userTtl));
+        cacheManager.createCache(LEADS_BY_CONTACT_NUMBER, region(queryEntries, queryTtl));
+        cacheManager.createCache(USERS_BY_USERNAME, region(queryEntries, queryTtl));
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS, region(queryEntries, queryTtl));
+        // One entry per table; it must outlive every cached query result, so it never expires
+        cacheManager.createCache(UPDATE_TIMESTAMPS, region(1000, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(
+            CacheManager jcacheManager,
+            @Value("${cache.statistics:true}") boolean statistics) {
+        return (Map<String, Object> properties) -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, jcacheManager);
+            // Every region is created above; a missing one is a mistake, not something to create unbounded
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxEntries, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        if (timeToLive != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -34,6 +35,7 @@ public class DataInitializer implements CommandLineRunner {
     private final LeadRepository leadRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final LeadModificationRepository leadModificationRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * Runs on application startup to create default users and populate sample data
@@ -41,6 +43,9 @@ public class DataInitializer implements CommandLineRunner {
     @Override
     public void run(String... args) {
 
+        alignLeadIdSequence();
+        dropLeadModificationForeignKey();
+
         // Ensure test users exist and have emails (idempotent)
         if (userRepository.count() == 0) {
 
@@ -104,6 +109,45 @@ public class DataInitializer implements CommandLineRunner {
         }
     }
 
+    /**
+     * Lead ids used to come from AUTO_INCREMENT. Move the pooled id table past
+     * the highest existing id so the first allocated block cannot collide.
+     */
+    private void alignLeadIdSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM leads", Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+
+        int updated = jdbcTemplate.update(
+                "UPDATE " + Lead.ID_SEQUENCE + " SET next_val = ? WHERE next_val < ?",
+                maxId + Lead.ID_ALLOCATION_SIZE, maxId + Lead.ID_ALLOCATION_SIZE);
+        if (updated > 0) {
+            System.out.println("Lead id sequence moved past existing id " + maxId);
+        }
+    }
+
+    /**
+     * lead_modifications.lead_id no longer references leads (the DELETED entry
+     * outlives its lead), but ddl-auto=update does not drop the foreign key of
+     * an existing schema; drop it here.
+     */
+    private void dropLeadModificationForeignKey() {
+        List<String> constraints;
+        try {
+            constraints = jdbcTemplate.queryForList("SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS "
+                    + "WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'lead_modifications' "
+                    + "AND REFERENCED_TABLE_NAME = 'leads'", String.class);
+        } catch (RuntimeException ex) {
+            // Not MySQL; the schema was created without the key
+            return;
+        }
+        for (String constraint : constraints) {
+            jdbcTemplate.execute("ALTER TABLE lead_modifications DROP FOREIGN KEY `" + constraint + "`");
+            System.out.println("Dropped foreign key " + constraint + " of lead_modifications");
+        }
+    }
+
     /**
      * Creates comprehensive sample lead data for dashboard demonstration
      */
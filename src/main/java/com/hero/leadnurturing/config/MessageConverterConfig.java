@@ -0,0 +1,27 @@
+package com.hero.leadnurturing.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Response encodings besides JSON
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    /**
+     * CBOR (RFC 8949) for clients that send Accept: application/cbor, e.g.
+     * the mobile dealer apps: a binary encoding of the same object model as
+     * the JSON, smaller on the wire and cheaper to write. It uses the mapper
+     * Spring Boot configures (spring.jackson.cbor.*) and keeps its slot after
+     * JSON, so clients that accept anything still get JSON.
+     */
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborMessageConverter(CBORMapper cborMapper) {
+        return converters -> converters.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
@@ -3,6 +3,8 @@ package com.hero.leadnurturing.config;
 import java.util.Arrays;
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -42,8 +44,13 @@ public class SecurityConfig {
                 
                 // Configure URL access rules
                 .authorizeHttpRequests(auth -> auth
+                        // Async re-dispatches of a request that was authorized when it started: the upload
+                        // progress stream (/api/upload/{jobId}/events) and streamed exports. Without this a
+                        // stateless request has no authentication left when its SSE emitter completes.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/auth/**").permitAll()                    // Login is public
                         .requestMatchers("/api/dashboard/**").hasRole("HO")         // Only HO can access dashboard
+                        .requestMatchers("/api/activity/**").hasRole("HO")          // Activity of all agents is HO only
                         .requestMatchers("/api/leads/**").hasAnyRole("HO", "DA")    // Both HO and DA can manage leads
                         .anyRequest().authenticated()                               // All other requests need login
                 )
@@ -0,0 +1,33 @@
+package com.hero.leadnurturing.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Background execution for lead uploads
+ */
+@Configuration
+public class UploadConfig {
+
+    /**
+     * Bounded pool: at most {@code threads} uploads run at once and at most
+     * {@code queue-capacity} wait; anything beyond that is rejected up front.
+     */
+    @Bean(name = "uploadExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor uploadExecutor(
+            @Value("${upload.executor.threads:2}") int threads,
+            @Value("${upload.executor.queue-capacity:20}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("lead-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,38 @@
+package com.hero.leadnurturing.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hero.leadnurturing.dto.ActivityCriteria;
+import com.hero.leadnurturing.dto.ApiResponse;
+import com.hero.leadnurturing.dto.CursorPageDTO;
+import com.hero.leadnurturing.dto.LeadHistoryEntryDTO;
+import com.hero.leadnurturing.service.LeadService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/activity")
+@RequiredArgsConstructor
+public class ActivityController {
+
+    private final LeadService leadService;
+
+    // Changes across all leads, newest first: any of modifiedBy, modifiedField, from, to (ISO date-times; to is exclusive),
+    // paged like GET /api/leads
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPageDTO<LeadHistoryEntryDTO>>> getActivity(
+            ActivityCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<LeadHistoryEntryDTO> page = leadService.getActivityPage(criteria, cursor, size);
+        return ResponseEntity.ok(ApiResponse.<CursorPageDTO<LeadHistoryEntryDTO>>builder()
+                .success(true)
+                .message("Activity retrieved successfully")
+                .data(page)
+                .build());
+    }
+}
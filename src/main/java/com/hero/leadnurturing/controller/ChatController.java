@@ -2,6 +2,8 @@ package com.hero.leadnurturing.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.hero.leadnurturing.dto.ApiResponse;
 import com.hero.leadnurturing.dto.ChatMessageRequest;
@@ -43,14 +46,17 @@ public class ChatController {
                 .build();
     }
 
-    // Get chat history
+    // Get chat history (304 when If-None-Match carries the current ETag)
     @GetMapping("/{leadId}")
-    public ApiResponse<List<ChatMessage>> getChatHistory(@PathVariable Long leadId) {
+    public ResponseEntity<ApiResponse<List<ChatMessage>>> getChatHistory(@PathVariable Long leadId, WebRequest request) {
+        if (request.checkNotModified(chatService.getChatHistoryETag(leadId))) {
+            return null;
+        }
         List<ChatMessage> history = chatService.getChatHistory(leadId);
-        return ApiResponse.<List<ChatMessage>>builder()
+        return ResponseEntity.ok().cacheControl(LeadController.REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.<List<ChatMessage>>builder()
                 .success(true)
                 .message("Chat history retrieved successfully")
                 .data(history)
-                .build();
+                .build());
     }
 }
@@ -1,6 +1,7 @@
 package com.hero.leadnurturing.controller;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -10,7 +11,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.hero.leadnurturing.dto.ApiResponse;
+import com.hero.leadnurturing.dto.CacheRegionStatsDTO;
 import com.hero.leadnurturing.dto.DashboardStatsDTO;
+import com.hero.leadnurturing.dto.DwellTimeStatsDTO;
+import com.hero.leadnurturing.service.CacheService;
 import com.hero.leadnurturing.service.DashboardService;
 
 import lombok.RequiredArgsConstructor;
@@ -21,6 +25,7 @@ import lombok.RequiredArgsConstructor;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final CacheService cacheService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<DashboardStatsDTO>> getDashboardStats(
@@ -33,4 +38,30 @@ public class DashboardController {
                 .data(stats)
                 .build());
     }
+
+    // Second-level cache hit/miss counters and current entries per region, for sizing cache.* limits
+    @GetMapping("/cache")
+    public ResponseEntity<ApiResponse<List<CacheRegionStatsDTO>>> getCacheStats() {
+        List<CacheRegionStatsDTO> stats = cacheService.getStats();
+        return ResponseEntity.ok(ApiResponse.<List<CacheRegionStatsDTO>>builder()
+                .success(true)
+                .message("Cache statistics retrieved successfully")
+                .data(stats)
+                .build());
+    }
+
+    // Time leads spend in a status before moving on: percentiles (seconds), overall or per city / agent
+    @GetMapping("/funnel/dwell")
+    public ResponseEntity<ApiResponse<List<DwellTimeStatsDTO>>> getDwellTimes(
+            @RequestParam String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(defaultValue = DashboardService.DEFAULT_PERCENTILES) String percentiles) {
+        List<DwellTimeStatsDTO> stats = dashboardService.getDwellTimes(from, to, groupBy, percentiles);
+        return ResponseEntity.ok(ApiResponse.<List<DwellTimeStatsDTO>>builder()
+                .success(true)
+                .message("Dwell times retrieved successfully")
+                .data(stats)
+                .build());
+    }
 }
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.hero.leadnurturing.controller;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,13 +22,22 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.hero.leadnurturing.dto.ApiResponse;
+import com.hero.leadnurturing.dto.BulkLeadRequest;
+import com.hero.leadnurturing.dto.BulkLeadResultDTO;
+import com.hero.leadnurturing.dto.CursorPageDTO;
+import com.hero.leadnurturing.dto.LeadHistoryEntryDTO;
+import com.hero.leadnurturing.dto.LeadLookupDTO;
+import com.hero.leadnurturing.dto.LeadResponseDTO;
+import com.hero.leadnurturing.dto.LeadSearchCriteria;
+import com.hero.leadnurturing.dto.LeadSummaryDTO;
 import com.hero.leadnurturing.entity.Lead;
-import com.hero.leadnurturing.entity.LeadModification;
-import com.hero.leadnurturing.entity.LeadStatus;
-import com.hero.leadnurturing.repository.LeadModificationRepository;
-import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.service.LeadBulkService;
+import com.hero.leadnurturing.service.LeadService;
+import com.hero.leadnurturing.service.export.ExportFormat;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,25 +46,17 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LeadController {
 
-    private final LeadRepository leadRepository;
-    private final LeadModificationRepository leadModificationRepository;
+    // Browsers may keep a private copy but must revalidate it (with If-None-Match) before each use.
+    // Conditional responses also vary by Accept, since the same URL can be served as JSON or CBOR;
+    // for the same reason their ETags are weak (see ResourceVersion).
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final LeadService leadService;
+    private final LeadBulkService leadBulkService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<Lead>> createLead(@RequestBody Lead lead, Authentication authentication) {
-        lead.setCreatedAt(LocalDateTime.now());
-        lead.setUpdatedAt(LocalDateTime.now());
-        Lead savedLead = leadRepository.save(lead);
-
-        // Log modification
-        LeadModification modification = LeadModification.builder()
-                .lead(savedLead)
-                .modifiedBy(authentication.getName())
-                .modifiedField("CREATED")
-                .oldValue(null)
-                .newValue("Lead created")
-                .build();
-        leadModificationRepository.save(modification);
-
+        Lead savedLead = leadService.createLead(lead, authentication.getName());
         return ResponseEntity.ok(ApiResponse.<Lead>builder()
                 .success(true)
                 .message("Lead created successfully")
@@ -56,21 +64,114 @@ public class LeadController {
                 .build());
     }
 
+    // Newest first, paged by cursor: pass the returned nextCursor / prevCursor back as ?cursor=
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Lead>>> getAllLeads() {
-        List<Lead> leads = leadRepository.findAll();
-        return ResponseEntity.ok(ApiResponse.<List<Lead>>builder()
+    public ResponseEntity<ApiResponse<CursorPageDTO<LeadSummaryDTO>>> getAllLeads(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<LeadSummaryDTO> page = leadService.getLeadPage(cursor, size);
+        return ResponseEntity.ok(ApiResponse.<CursorPageDTO<LeadSummaryDTO>>builder()
                 .success(true)
                 .message("Leads retrieved successfully")
+                .data(page)
+                .build());
+    }
+
+    // Sparse fieldset: ?fields=firstName,status selects just those columns (id always included)
+    @GetMapping(params = "fields")
+    public ResponseEntity<ApiResponse<CursorPageDTO<Map<String, Object>>>> getAllLeadFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<Map<String, Object>> page = leadService.searchLeadFields(new LeadSearchCriteria(), cursor, size, fields);
+        return ResponseEntity.ok(ApiResponse.<CursorPageDTO<Map<String, Object>>>builder()
+                .success(true)
+                .message("Leads retrieved successfully")
+                .data(page)
+                .build());
+    }
+
+    // Any combination of contactNumber, name, modelName, city, status, fromDate, toDate; paged like GET /api/leads
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<CursorPageDTO<LeadSummaryDTO>>> searchLeads(
+            LeadSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<LeadSummaryDTO> page = leadService.searchLeads(criteria, cursor, size);
+        return ResponseEntity.ok(ApiResponse.<CursorPageDTO<LeadSummaryDTO>>builder()
+                .success(true)
+                .message("Leads found")
+                .data(page)
+                .build());
+    }
+
+    @GetMapping(value = "/search", params = "fields")
+    public ResponseEntity<ApiResponse<CursorPageDTO<Map<String, Object>>>> searchLeadFields(
+            LeadSearchCriteria criteria,
+            @RequestParam String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<Map<String, Object>> page = leadService.searchLeadFields(criteria, cursor, size, fields);
+        return ResponseEntity.ok(ApiResponse.<CursorPageDTO<Map<String, Object>>>builder()
+                .success(true)
+                .message("Leads found")
+                .data(page)
+                .build());
+    }
+
+    // Type-ahead: leads whose phone number or name contains q (at least 3 characters), newest first
+    @GetMapping("/lookup")
+    public ResponseEntity<ApiResponse<List<LeadLookupDTO>>> lookupLeads(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        List<LeadLookupDTO> leads = leadService.lookupLeads(q, limit);
+        return ResponseEntity.ok(ApiResponse.<List<LeadLookupDTO>>builder()
+                .success(true)
+                .message("Leads found")
                 .data(leads)
                 .build());
     }
 
+    // Same filters as /search; format=csv (default) or xlsx. The file is streamed as it is written.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLeads(
+            LeadSearchCriteria criteria,
+            @RequestParam(required = false) String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        Specification<Lead> filter = leadService.searchSpecification(criteria);
+
+        StreamingResponseBody body = out -> leadService.exportLeads(filter, exportFormat, out);
+        String fileName = "leads-" + LocalDate.now() + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
+    // Conditional: If-None-Match with the current ETag gets 304 without the lead being read
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Lead>> getLeadById(@PathVariable Long id) {
-        Lead lead = leadRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Lead not found"));
-        return ResponseEntity.ok(ApiResponse.<Lead>builder()
+    public ResponseEntity<ApiResponse<LeadResponseDTO>> getLeadById(@PathVariable Long id, WebRequest request) {
+        // Version before body: a change in between only costs the client one more full read
+        if (request.checkNotModified(leadService.getLeadETag(id))) {
+            return null;
+        }
+        LeadResponseDTO lead = leadService.getLeadDetail(id);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.<LeadResponseDTO>builder()
+                .success(true)
+                .message("Lead retrieved successfully")
+                .data(lead)
+                .build());
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getLeadFieldsById(
+            @PathVariable Long id, @RequestParam String fields, WebRequest request) {
+        if (request.checkNotModified(leadService.getLeadETag(id))) {
+            return null;
+        }
+        Map<String, Object> lead = leadService.getLeadFields(id, fields);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.<Map<String, Object>>builder()
                 .success(true)
                 .message("Lead retrieved successfully")
                 .data(lead)
@@ -79,36 +180,7 @@ public class LeadController {
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<Lead>> updateLead(@PathVariable Long id, @RequestBody Lead leadDetails, Authentication authentication) {
-        Lead lead = leadRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Lead not found"));
-
-        // Update fields
-        lead.setFirstName(leadDetails.getFirstName());
-        lead.setLastName(leadDetails.getLastName());
-        lead.setEmail(leadDetails.getEmail());
-        lead.setContactNumber(leadDetails.getContactNumber());
-        lead.setCity(leadDetails.getCity());
-        lead.setAddress(leadDetails.getAddress());
-        lead.setModelName(leadDetails.getModelName());
-        lead.setLeadSource(leadDetails.getLeadSource());
-        lead.setLeadMode(leadDetails.getLeadMode());
-        lead.setStatus(leadDetails.getStatus());
-        lead.setFollowUpDate(leadDetails.getFollowUpDate());
-        lead.setGovernmentId(leadDetails.getGovernmentId());
-        lead.setUpdatedAt(LocalDateTime.now());
-
-        Lead updatedLead = leadRepository.save(lead);
-
-        // Log modification
-        LeadModification modification = LeadModification.builder()
-                .lead(updatedLead)
-                .modifiedBy(authentication.getName())
-                .modifiedField("UPDATED")
-                .oldValue("Lead updated")
-                .newValue("Fields modified")
-                .build();
-        leadModificationRepository.save(modification);
-
+        Lead updatedLead = leadService.updateLead(id, leadDetails, authentication.getName());
         return ResponseEntity.ok(ApiResponse.<Lead>builder()
                 .success(true)
                 .message("Lead updated successfully")
@@ -118,25 +190,7 @@ public class LeadController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<String>> deleteLead(@PathVariable Long id, Authentication authentication) {
-        Lead lead = leadRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Lead not found"));
-
-        // Use a reference to the persisted Lead when creating the modification so
-        // Hibernate does not treat it as a transient object outside of a transaction.
-        Lead leadRef = leadRepository.getReferenceById(lead.getId());
-
-        // Log modification
-        LeadModification modification = LeadModification.builder()
-                .lead(leadRef)
-                .modifiedBy(authentication.getName())
-                .modifiedField("DELETED")
-                .oldValue("Lead deleted")
-                .newValue(null)
-                .build();
-        leadModificationRepository.save(modification);
-
-        leadRepository.delete(lead);
-
+        leadService.deleteLead(id, authentication.getName());
         return ResponseEntity.ok(ApiResponse.<String>builder()
                 .success(true)
                 .message("Lead deleted successfully")
@@ -144,11 +198,21 @@ public class LeadController {
                 .build());
     }
 
+    // One action (DELETE, SET_STATUS, SET_FOLLOW_UP_DATE, REASSIGN) over an id list or a search filter
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkLeadResultDTO>> bulkAction(@RequestBody BulkLeadRequest request, Authentication authentication) {
+        BulkLeadResultDTO result = leadBulkService.apply(request, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.<BulkLeadResultDTO>builder()
+                .success(true)
+                .message("Bulk action applied to " + result.getChangedLeads() + " leads")
+                .data(result)
+                .build());
+    }
+
     @GetMapping("/filter/status")
-    public ResponseEntity<ApiResponse<List<Lead>>> filterByStatus(@RequestParam String status) {
-        LeadStatus leadStatus = LeadStatus.valueOf(status.toUpperCase());
-        List<Lead> leads = leadRepository.findByStatus(leadStatus);
-        return ResponseEntity.ok(ApiResponse.<List<Lead>>builder()
+    public ResponseEntity<ApiResponse<List<LeadSummaryDTO>>> filterByStatus(@RequestParam String status) {
+        List<LeadSummaryDTO> leads = leadService.getLeadsByStatus(status);
+        return ResponseEntity.ok(ApiResponse.<List<LeadSummaryDTO>>builder()
                 .success(true)
                 .message("Leads filtered by status")
                 .data(leads)
@@ -156,9 +220,9 @@ public class LeadController {
     }
 
     @GetMapping("/filter/city")
-    public ResponseEntity<ApiResponse<List<Lead>>> filterByCity(@RequestParam String city) {
-        List<Lead> leads = leadRepository.findByCity(city);
-        return ResponseEntity.ok(ApiResponse.<List<Lead>>builder()
+    public ResponseEntity<ApiResponse<List<LeadSummaryDTO>>> filterByCity(@RequestParam String city) {
+        List<LeadSummaryDTO> leads = leadService.getLeadsByCity(city);
+        return ResponseEntity.ok(ApiResponse.<List<LeadSummaryDTO>>builder()
                 .success(true)
                 .message("Leads filtered by city")
                 .data(leads)
@@ -166,26 +230,48 @@ public class LeadController {
     }
 
     @GetMapping("/filter/date")
-    public ResponseEntity<ApiResponse<List<Lead>>> filterByDate(
+    public ResponseEntity<ApiResponse<List<LeadSummaryDTO>>> filterByDate(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate) {
-        List<Lead> leads = leadRepository.findByCreatedAtBetween(fromDate, toDate);
-        return ResponseEntity.ok(ApiResponse.<List<Lead>>builder()
+        List<LeadSummaryDTO> leads = leadService.getLeadsBetweenDates(fromDate, toDate);
+        return ResponseEntity.ok(ApiResponse.<List<LeadSummaryDTO>>builder()
                 .success(true)
                 .message("Leads filtered by date")
                 .data(leads)
                 .build());
     }
 
+    // Deprecated in favour of /{id}/history: only the newest entries (archived ones included), capped at
+    // LeadService.MAX_PAGE_SIZE. Conditional like GET /{id}; the ETag also changes when an entry is added
+    @Deprecated
     @GetMapping("/{id}/modifications")
-    public ResponseEntity<ApiResponse<List<LeadModification>>> getModificationHistory(@PathVariable Long id) {
-        Lead lead = leadRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Lead not found"));
-        List<LeadModification> modifications = leadModificationRepository.findByLeadOrderByModifiedAtDesc(lead);
-        return ResponseEntity.ok(ApiResponse.<List<LeadModification>>builder()
+    public ResponseEntity<ApiResponse<List<LeadHistoryEntryDTO>>> getModificationHistory(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(leadService.getModificationsETag(id))) {
+            return null;
+        }
+        List<LeadHistoryEntryDTO> modifications = leadService.getModificationHistory(id);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.<List<LeadHistoryEntryDTO>>builder()
                 .success(true)
                 .message("Modification history retrieved")
                 .data(modifications)
                 .build());
     }
+
+    // The history newest first, paged like GET /api/leads and reading through to archived entries; conditional like /modifications
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ApiResponse<CursorPageDTO<LeadHistoryEntryDTO>>> getHistoryPage(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        if (request.checkNotModified(leadService.getModificationsETag(id))) {
+            return null;
+        }
+        CursorPageDTO<LeadHistoryEntryDTO> page = leadService.getModificationPage(id, cursor, size);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.<CursorPageDTO<LeadHistoryEntryDTO>>builder()
+                .success(true)
+                .message("Modification history retrieved")
+                .data(page)
+                .build());
+    }
 }
\ No newline at end of file
@@ -1,26 +1,159 @@
 package com.hero.leadnurturing.controller;
 
 import com.hero.leadnurturing.dto.ApiResponse;
-import com.hero.leadnurturing.dto.UploadResponseDTO;
-import com.hero.leadnurturing.service.FileUploadService;
+import com.hero.leadnurturing.dto.UploadJobStatusDTO;
+import com.hero.leadnurturing.dto.UploadSessionDTO;
+import com.hero.leadnurturing.dto.UploadSessionRequest;
+import com.hero.leadnurturing.service.ChunkedUploadService;
+import com.hero.leadnurturing.service.UploadJobService;
+import com.hero.leadnurturing.service.upload.UploadJob;
+import com.hero.leadnurturing.service.upload.UploadMode;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 @RestController
 @RequestMapping("/api/upload")
 @RequiredArgsConstructor
 public class UploadController {
 
-    private final FileUploadService fileUploadService;
+    private final UploadJobService uploadJobService;
+    private final ChunkedUploadService chunkedUploadService;
 
+    // Accepts .xlsx, .xls and .csv; format=csv|xlsx|xls overrides detection.
+    // mode=upsert updates leads whose contact number already exists instead of rejecting them.
+    // Returns a job id right away, the file is processed in the background.
     @PostMapping
-    public ApiResponse<UploadResponseDTO> uploadFile(@RequestParam("file") MultipartFile file) {
-        UploadResponseDTO result = fileUploadService.uploadLeads(file);
-        return ApiResponse.<UploadResponseDTO>builder()
-                .success(result.isSuccess())
-                .message(result.getMessage())
-                .data(result)
+    public ResponseEntity<ApiResponse<UploadJobStatusDTO>> uploadFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "mode", required = false) String mode,
+            Authentication authentication) throws IOException {
+
+        UploadJob job = uploadJobService.submit(file, format, UploadMode.from(mode), authentication.getName());
+        return ResponseEntity.accepted().body(ApiResponse.<UploadJobStatusDTO>builder()
+                .success(true)
+                .message("Upload accepted")
+                .data(job.snapshot())
+                .build());
+    }
+
+    // Poll job progress
+    @GetMapping("/{jobId}")
+    public ApiResponse<UploadJobStatusDTO> getJobStatus(@PathVariable String jobId) {
+        UploadJobStatusDTO status = uploadJobService.getJob(jobId).snapshot();
+        return ApiResponse.<UploadJobStatusDTO>builder()
+                .success(true)
+                .message("Upload job " + status.getStatus().toLowerCase())
+                .data(status)
+                .build();
+    }
+
+    // Same progress as a server-sent event stream, one "progress" event per interval
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobStatus(@PathVariable String jobId) {
+        return uploadJobService.subscribe(jobId);
+    }
+
+    // Every rejected row of a finished upload as CSV (row, column, reason).
+    // Copied from the spill file with transferTo, so it is never loaded into memory.
+    @GetMapping("/{jobId}/rejections")
+    public void downloadRejections(@PathVariable String jobId, HttpServletResponse response) throws IOException {
+        Path report = uploadJobService.getRejectionReport(jobId);
+
+        try (FileChannel channel = FileChannel.open(report, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("upload-" + jobId + "-rejections.csv")
+                    .build()
+                    .toString());
+            response.setContentLengthLong(size);
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    // ================= CHUNKED UPLOADS =================
+
+    // 1. Start a resumable upload; the response tells the chunk size and count
+    @PostMapping("/sessions")
+    public ResponseEntity<ApiResponse<UploadSessionDTO>> initSession(@RequestBody UploadSessionRequest request,
+                                                                     Authentication authentication) throws IOException {
+        UploadSessionDTO session = chunkedUploadService.toDTO(
+                chunkedUploadService.init(request, authentication.getName()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.<UploadSessionDTO>builder()
+                .success(true)
+                .message("Upload session created")
+                .data(session)
+                .build());
+    }
+
+    // 2. Send chunk {index} as the raw request body, with its SHA-256 (hex) in X-Chunk-Checksum.
+    //    Re-sending an acknowledged chunk is a no-op.
+    @PutMapping(value = "/sessions/{sessionId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ApiResponse<UploadSessionDTO> putChunk(@PathVariable String sessionId,
+                                                  @PathVariable int index,
+                                                  @RequestHeader(value = "X-Chunk-Checksum", required = false) String checksum,
+                                                  InputStream body,
+                                                  Authentication authentication) throws IOException {
+        UploadSessionDTO session = chunkedUploadService.toDTO(
+                chunkedUploadService.putChunk(sessionId, index, body, checksum, authentication.getName()));
+        return ApiResponse.<UploadSessionDTO>builder()
+                .success(true)
+                .message("Chunk " + index + " received")
+                .data(session)
+                .build();
+    }
+
+    // Resume: lists the chunks that still have to be sent
+    @GetMapping("/sessions/{sessionId}")
+    public ApiResponse<UploadSessionDTO> getSession(@PathVariable String sessionId, Authentication authentication) {
+        return ApiResponse.<UploadSessionDTO>builder()
+                .success(true)
+                .message("Upload session " + sessionId)
+                .data(chunkedUploadService.toDTO(chunkedUploadService.getSession(sessionId, authentication.getName())))
+                .build();
+    }
+
+    // 3. All chunks sent: hand the file to ingestion, which only starts now
+    @PostMapping("/sessions/{sessionId}/commit")
+    public ResponseEntity<ApiResponse<UploadJobStatusDTO>> commitSession(@PathVariable String sessionId,
+                                                                         Authentication authentication) {
+        UploadJob job = chunkedUploadService.commit(sessionId, authentication.getName());
+        return ResponseEntity.accepted().body(ApiResponse.<UploadJobStatusDTO>builder()
+                .success(true)
+                .message("Upload accepted")
+                .data(job.snapshot())
+                .build());
+    }
+
+    @DeleteMapping("/sessions/{sessionId}")
+    public ApiResponse<Void> abortSession(@PathVariable String sessionId, Authentication authentication) {
+        chunkedUploadService.abort(sessionId, authentication.getName());
+        return ApiResponse.<Void>builder()
+                .success(true)
+                .message("Upload session aborted")
                 .build();
     }
 }
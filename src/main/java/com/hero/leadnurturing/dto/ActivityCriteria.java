@@ -0,0 +1,23 @@
+package com.hero.leadnurturing.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Filters for GET /api/activity; every field is optional and they are combined with AND
+ */
+@Getter
+@Setter
+public class ActivityCriteria {
+    private String modifiedBy;      // username
+    private String modifiedField;   // a lead field (e.g. status) or CREATED / UPDATED / DELETED
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;     // modified at or after
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;       // modified before
+}
@@ -0,0 +1,23 @@
+package com.hero.leadnurturing.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Body of POST /api/leads/bulk. Targets either an explicit id list or the
+ * leads matching a search filter, not both.
+ */
+@Getter
+@Setter
+public class BulkLeadRequest {
+    private String action;              // DELETE / SET_STATUS / SET_FOLLOW_UP_DATE / REASSIGN
+    private List<Long> ids;
+    private LeadSearchCriteria filter;
+
+    private String status;              // SET_STATUS
+    private LocalDate followUpDate;     // SET_FOLLOW_UP_DATE (null clears it)
+    private String assignedTo;          // REASSIGN: a username (null unassigns)
+}
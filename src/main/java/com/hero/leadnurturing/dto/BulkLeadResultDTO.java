@@ -0,0 +1,20 @@
+package com.hero.leadnurturing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkLeadResultDTO {
+
+    private String action;
+    private int matchedLeads;       // ids given or found by the filter
+    private int changedLeads;       // updated or deleted; leads already holding the value are skipped
+    private int auditedChanges;     // lead_modifications rows written
+}
@@ -0,0 +1,27 @@
+package com.hero.leadnurturing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Hit/miss counters of one second-level cache region since startup
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheRegionStatsDTO {
+
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private double hitRatio;
+
+    // Entries held right now (an estimate), to compare with the configured maximum
+    private long entries;
+}
@@ -0,0 +1,25 @@
+package com.hero.leadnurturing.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of a keyset-paginated list. Pass nextCursor / prevCursor back as
+ * the cursor parameter to move between pages; they are null at either end.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private int size;
+    private String nextCursor;
+    private String prevCursor;
+}
@@ -0,0 +1,33 @@
+package com.hero.leadnurturing.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * How long leads stayed in fromStatus before moving on (to toStatus, or to
+ * any status when it is null), overall or for one city or agent
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DwellTimeStatsDTO {
+
+    private String fromStatus;
+    private String toStatus;
+
+    // CITY or AGENT and its value; null for all leads
+    private String groupBy;
+    private String group;
+
+    private long transitions;
+
+    // Dwell time in seconds per requested percentile, e.g. "p90" -> 172800
+    private Map<String, Long> percentiles;
+}
@@ -0,0 +1,20 @@
+package com.hero.leadnurturing.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a lead's modification history, whether it is still in
+ * lead_modifications or already archived. Selected column by column, so the
+ * lead itself is never loaded.
+ */
+public record LeadHistoryEntryDTO(
+        Long id,
+        Long leadId,
+        String modifiedField,
+        String oldValue,
+        String newValue,
+        Integer changedFields,
+        String diff,
+        String modifiedBy,
+        LocalDateTime modifiedAt) {
+}
@@ -0,0 +1,11 @@
+package com.hero.leadnurturing.dto;
+
+/**
+ * Type-ahead suggestion from GET /api/leads/lookup, served from memory
+ */
+public record LeadLookupDTO(
+        Long id,
+        String contactNumber,
+        String firstName,
+        String lastName) {
+}
@@ -26,6 +26,7 @@ public class LeadResponseDTO {
     private String leadMode;
     private LocalDate followUpDate;
     private LeadStatus status;
+    private String assignedTo;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
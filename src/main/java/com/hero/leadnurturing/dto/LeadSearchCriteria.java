@@ -0,0 +1,26 @@
+package com.hero.leadnurturing.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Filters for GET /api/leads/search; every field is optional and they are combined with AND
+ */
+@Getter
+@Setter
+public class LeadSearchCriteria {
+    private String contactNumber;   // prefix match
+    private String name;            // prefix of first or last name
+    private String modelName;
+    private String city;
+    private String status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate fromDate;     // created on or after
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate toDate;       // created on or before
+}
@@ -0,0 +1,21 @@
+package com.hero.leadnurturing.dto;
+
+import java.time.LocalDateTime;
+
+import com.hero.leadnurturing.entity.LeadStatus;
+
+/**
+ * Compact lead shape for lists, selected column by column straight from
+ * the database (no entity is loaded). {@link LeadResponseDTO} is the
+ * detail shape.
+ */
+public record LeadSummaryDTO(
+        Long id,
+        String firstName,
+        String lastName,
+        String contactNumber,
+        String city,
+        String modelName,
+        LeadStatus status,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,37 @@
+package com.hero.leadnurturing.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * What a lead read's ETag is derived from, selected without loading the
+ * lead: its last update and, for the child lists (which embed the lead in
+ * every row), the number of child rows and the newest child id.
+ */
+public record ResourceVersion(
+        Long leadId,
+        LocalDateTime updatedAt,
+        long childCount,
+        Long latestChildId) {
+
+    public ResourceVersion(Long leadId, LocalDateTime updatedAt) {
+        this(leadId, updatedAt, 0, null);
+    }
+
+    /**
+     * Weak ETag, e.g. W/"42-1f3a9c2b7d0-3-981". The same version is served
+     * as JSON or CBOR, which are equivalent but not byte-identical, so it
+     * must not claim to be a strong validator.
+     */
+    public String etag() {
+        long micros = 0;
+        if (updatedAt != null) {
+            micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+        }
+        String etag = leadId + "-" + Long.toHexString(micros);
+        if (latestChildId != null || childCount > 0) {
+            etag = etag + "-" + childCount + "-" + latestChildId;
+        }
+        return "W/\"" + etag + "\"";
+    }
+}
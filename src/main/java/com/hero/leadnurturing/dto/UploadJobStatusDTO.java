@@ -0,0 +1,51 @@
+package com.hero.leadnurturing.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import com.hero.leadnurturing.service.upload.RowRejection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of a background upload job
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UploadJobStatusDTO {
+
+    private String jobId;
+    private String fileName;
+    private String status;          // QUEUED / RUNNING / COMPLETED / FAILED
+    private String mode;            // INSERT / UPSERT
+
+    private long rowsProcessed;
+    private long rowsSucceeded;
+    private long rowsFailed;
+    private long rowsUpdated;       // upsert: existing leads changed
+    private long rowsUnchanged;     // upsert: existing leads already up to date
+
+    private Long estimatedTotalRows;
+    private double rowsPerSecond;
+    private Long etaSeconds;
+
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    private Map<String, Long> rejectionReasons; // failed rows by reason
+    private List<RowRejection> rejectedRows;    // first rejected rows with row number and reason
+    private String rejectionReportUrl;          // full per-row report, once the job is finished
+
+    private List<UploadStageTimingDTO> stages; // read / map / write timings
+
+    private UploadResponseDTO result; // final totals once the job is finished
+}
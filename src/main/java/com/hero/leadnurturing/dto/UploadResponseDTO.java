@@ -1,5 +1,7 @@
 package com.hero.leadnurturing.dto;
 
+import java.util.Map;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -21,4 +23,8 @@ public class UploadResponseDTO {
     private int totalRecords;
     private int successfulRecords;
     private int failedRecords;
+    private int updatedRecords;     // upsert: successful rows that changed an existing lead
+    private int unchangedRecords;   // upsert: successful rows identical to the existing lead
+    private Map<String, Long> rejectionReasons;
+    private String rejectionReportUrl;  // CSV of every rejected row (row, column, reason), null when none
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.hero.leadnurturing.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * State of a chunked upload; a client resumes by sending the missing chunks
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UploadSessionDTO {
+
+    private String sessionId;
+    private String fileName;
+    private String status;          // OPEN / COMMITTED / ABORTED
+
+    private long fileSize;
+    private int chunkSize;
+    private int totalChunks;
+    private int receivedChunks;
+    private List<Integer> missingChunks;
+
+    private String jobId;           // set once ingestion has started
+}
@@ -0,0 +1,18 @@
+package com.hero.leadnurturing.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Starts a chunked upload
+ */
+@Getter
+@Setter
+public class UploadSessionRequest {
+    private String fileName;
+    private String contentType;
+    private long fileSize;      // total bytes, fixes the number of chunks
+    private Integer chunkSize;  // optional, server default otherwise
+    private String format;      // optional: csv / xlsx / xls
+    private String mode;        // optional: insert / upsert
+}
@@ -0,0 +1,24 @@
+package com.hero.leadnurturing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Time spent in one stage of the upload pipeline (summed over its threads)
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UploadStageTimingDTO {
+
+    private String stage;       // read / map / write
+    private int threads;
+    private long items;
+    private long busyMillis;    // doing the stage's own work
+    private long blockedMillis; // waiting on an empty input or a full output queue
+}
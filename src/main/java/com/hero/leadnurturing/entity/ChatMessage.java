@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -21,7 +22,13 @@ import lombok.Setter;
  * Chat message entity - stores messages between users and leads
  */
 @Entity
-@Table(name = "chat_messages")
+@Table(
+        name = "chat_messages",
+        indexes = {
+                // A lead's conversation in order; also serves the lead_id foreign key
+                @Index(name = "idx_chat_messages_lead_timestamp", columnList = "lead_id, timestamp")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,10 @@
+package com.hero.leadnurturing.entity;
+
+/**
+ * What a status dwell-time histogram is broken down by
+ */
+public enum DwellDimension {
+    ALL,    // every lead (one histogram per transition)
+    CITY,   // the lead's city
+    AGENT   // the agent the lead was assigned to
+}
@@ -3,6 +3,11 @@ package com.hero.leadnurturing.entity;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,8 +15,10 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -22,13 +29,31 @@ import lombok.Setter;
 
 /**
  * Lead entity - represents customer leads
+ *
+ * Updates only SET the columns that changed (@DynamicUpdate).
  */
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "leads")
 @Table(
         name = "leads",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = "contact_number"),
                 @UniqueConstraint(columnNames = "government_id")
+        },
+        indexes = {
+                // Keyset paging of the lead list (newest first)
+                @Index(name = "idx_leads_created_at_id", columnList = "created_at, id"),
+                // Lead search: an equality filter followed by the paging order
+                @Index(name = "idx_leads_status_created_at", columnList = "status, created_at, id"),
+                @Index(name = "idx_leads_model_created_at", columnList = "model_name, created_at, id"),
+                @Index(name = "idx_leads_city_created_at", columnList = "city, created_at, id"),
+                // Name prefix search (first OR last name, merged by the optimizer)
+                @Index(name = "idx_leads_first_name", columnList = "first_name"),
+                @Index(name = "idx_leads_last_name", columnList = "last_name"),
+                // Dashboard source distribution, read from the index alone
+                @Index(name = "idx_leads_lead_source", columnList = "lead_source")
         }
 )
 @Getter
@@ -38,8 +63,16 @@ import lombok.Setter;
 @Builder
 public class Lead {
 
+    /**
+     * Pooled id allocation so bulk uploads can batch their INSERTs
+     * (IDENTITY forces Hibernate to insert row by row)
+     */
+    public static final String ID_SEQUENCE = "leads_seq";
+    public static final int ID_ALLOCATION_SIZE = 1000;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lead_id_generator")
+    @SequenceGenerator(name = "lead_id_generator", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     // Basic Details
@@ -81,6 +114,14 @@ public class Lead {
     @Column(name = "status")
     private LeadStatus status;
 
+    // When status last changed (null for leads from before it was tracked: use createdAt)
+    @Column(name = "status_changed_at")
+    private LocalDateTime statusChangedAt;
+
+    // Username of the agent handling the lead, if any
+    @Column(name = "assigned_to", length = 50)
+    private String assignedTo;
+
     // Audit Fields
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -95,6 +136,7 @@ public class Lead {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        statusChangedAt = createdAt;
         if (status == null) {
             status = LeadStatus.NEW;
         }
@@ -5,8 +5,28 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 
+/**
+ * One entry of a lead's audit history. lead_id has no foreign key, so the
+ * DELETED entry of a lead outlives it (as its archived history and status
+ * transitions do).
+ */
 @Entity
-@Table(name = "lead_modifications")
+@Table(
+        name = "lead_modifications",
+        indexes = {
+                // A lead's history, newest first
+                @Index(name = "idx_lead_modifications_lead_modified_at", columnList = "lead_id, modified_at"),
+                // All leads by time: archival (oldest first) and the unfiltered activity feed
+                @Index(name = "idx_lead_modifications_modified_at", columnList = "modified_at, id"),
+                // Activity feed: each filter combination seeks its own index and reads it in paging order.
+                // changed_fields is carried in the entries so "updates that changed X" is filtered in the index.
+                @Index(name = "idx_lead_modifications_by_modified_at", columnList = "modified_by, modified_at, id"),
+                @Index(name = "idx_lead_modifications_field_modified_at",
+                        columnList = "modified_field, modified_at, id, changed_fields"),
+                @Index(name = "idx_lead_modifications_by_field_modified_at",
+                        columnList = "modified_by, modified_field, modified_at, id, changed_fields")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,7 +39,7 @@ public class LeadModification {
     private Long id;
 
     @ManyToOne
-    @JoinColumn(name = "lead_id", nullable = false)
+    @JoinColumn(name = "lead_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Lead lead;
 
     @Column(nullable = false)
@@ -34,6 +54,14 @@ public class LeadModification {
     @Column(nullable = false)
     private String modifiedBy;
 
+    // Lead updates only: bit per changed column (LeadField ordinal) and the encoded
+    // {"field":[old,new],...} diff of just those columns
+    @Column(name = "changed_fields")
+    private Integer changedFields;
+
+    @Column(length = 4000)
+    private String diff;
+
     private LocalDateTime modifiedAt;
 
     @PrePersist
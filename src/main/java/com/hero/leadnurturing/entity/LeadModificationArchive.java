@@ -0,0 +1,64 @@
+package com.hero.leadnurturing.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Archived lead_modifications rows: one row per lead and calendar month,
+ * holding that month's entries as gzipped JSON. No foreign key to leads,
+ * so deleting a lead removes its archive explicitly.
+ */
+@Entity
+@Table(
+        name = "lead_modification_archive",
+        uniqueConstraints = {
+                // One chunk per lead and month; also serves the per-lead lookups in period order
+                @UniqueConstraint(name = "uk_lead_modification_archive_lead_period", columnNames = {"lead_id", "period"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeadModificationArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "lead_id", nullable = false)
+    private Long leadId;
+
+    // First day of the month the entries were made in
+    @Column(name = "period", nullable = false)
+    private LocalDate period;
+
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+
+    @Column(name = "oldest_at")
+    private LocalDateTime oldestAt;
+
+    @Column(name = "newest_at")
+    private LocalDateTime newestAt;
+
+    // MEDIUMBLOB on MySQL
+    @Lob
+    @Column(name = "entries", nullable = false, length = 16_777_215)
+    private byte[] entries;
+}
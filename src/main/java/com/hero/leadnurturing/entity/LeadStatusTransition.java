@@ -0,0 +1,76 @@
+package com.hero.leadnurturing.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One change of a lead's status and how long the lead had the old one.
+ * Written (by JDBC) in the same transaction as the status change. There is
+ * no foreign key to leads: the ledger, like the histograms built from it,
+ * keeps the transitions of leads that were deleted later.
+ */
+@Entity
+@Table(
+        name = "lead_status_transitions",
+        indexes = {
+                @Index(name = "idx_lead_status_transitions_lead_changed_at", columnList = "lead_id, changed_at"),
+                @Index(name = "idx_lead_status_transitions_from_to_changed_at", columnList = "from_status, to_status, changed_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeadStatusTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "lead_id", nullable = false)
+    private Long leadId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 20)
+    private LeadStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, length = 20)
+    private LeadStatus toStatus;
+
+    @Column(name = "city", length = 100)
+    private String city;
+
+    // Agent the lead was assigned to when its status changed
+    @Column(name = "agent", length = 50)
+    private String agent;
+
+    // Username of whoever changed the status
+    @Column(name = "changed_by", length = 50)
+    private String changedBy;
+
+    // When the lead got fromStatus
+    @Column(name = "entered_at")
+    private LocalDateTime enteredAt;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "dwell_seconds", nullable = false)
+    private long dwellSeconds;
+}
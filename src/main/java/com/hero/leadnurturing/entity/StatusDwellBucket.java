@@ -0,0 +1,66 @@
+package com.hero.leadnurturing.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One bucket of a pre-aggregated dwell-time histogram: how many
+ * fromStatus -> toStatus transitions, within one city or agent (or overall),
+ * came after a dwell time in that bucket's range. Counters are incremented
+ * (by JDBC) in the transaction that changes the status.
+ */
+@Entity
+@Table(
+        name = "lead_status_dwell_buckets",
+        uniqueConstraints = {
+                // Also serves the reads: one transition (or all from one status) for one dimension
+                @UniqueConstraint(name = "uk_lead_status_dwell_buckets",
+                        columnNames = {"from_status", "dimension", "to_status", "dimension_value", "bucket"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusDwellBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", nullable = false, length = 20)
+    private LeadStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false, length = 10)
+    private DwellDimension dimension;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, length = 20)
+    private LeadStatus toStatus;
+
+    // City or agent username; empty for ALL and when the lead has none
+    @Column(name = "dimension_value", nullable = false, length = 100)
+    private String dimensionValue;
+
+    // Index into DwellBuckets' bounds
+    @Column(name = "bucket", nullable = false)
+    private int bucket;
+
+    @Column(name = "transitions", nullable = false)
+    private long transitions;
+}
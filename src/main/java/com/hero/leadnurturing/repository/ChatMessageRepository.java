@@ -1,12 +1,27 @@
 package com.hero.leadnurturing.repository;
 
+import com.hero.leadnurturing.dto.ResourceVersion;
 import com.hero.leadnurturing.entity.ChatMessage;
 import com.hero.leadnurturing.entity.Lead;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
     List<ChatMessage> findByLeadOrderByTimestampAsc(Lead lead);
+
+    @Modifying
+    @Query("DELETE FROM ChatMessage c WHERE c.lead.id = :leadId")
+    int deleteByLeadId(@Param("leadId") Long leadId);
+
+    // Version of the chat history, read from the lead row and the lead_id index; empty if the lead does not exist
+    @Query("SELECT new com.hero.leadnurturing.dto.ResourceVersion(l.id, COALESCE(l.updatedAt, l.createdAt), "
+            + "COUNT(c.id), MAX(c.id)) FROM Lead l LEFT JOIN ChatMessage c ON c.lead = l "
+            + "WHERE l.id = :leadId GROUP BY l.id, l.updatedAt, l.createdAt")
+    Optional<ResourceVersion> findVersionByLeadId(@Param("leadId") Long leadId);
 }
@@ -0,0 +1,80 @@
+package com.hero.leadnurturing.repository;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Lead columns a client can pick with ?fields= (sparse fieldsets). The API
+ * name is the entity attribute, so a picked field is selected as-is.
+ */
+public enum LeadField {
+    ID("id"),
+    CONTACT_NUMBER("contactNumber"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    GOVERNMENT_ID("governmentId"),
+    EMAIL("email"),
+    CITY("city"),
+    ADDRESS("address"),
+    MODEL_NAME("modelName"),
+    LEAD_SOURCE("leadSource"),
+    LEAD_MODE("leadMode"),
+    FOLLOW_UP_DATE("followUpDate"),
+    STATUS("status"),
+    ASSIGNED_TO("assignedTo"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String attribute;
+
+    LeadField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Comma-separated API names, e.g. "id,firstName,status". The id is always
+     * included so rows can be told apart; the order is the declaration order.
+     */
+    public static Set<LeadField> parse(String fields) {
+        Set<LeadField> picked = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String attribute = name.trim();
+            if (attribute.isEmpty()) {
+                continue;
+            }
+            picked.add(fromAttribute(attribute));
+        }
+        return picked;
+    }
+
+    /**
+     * The field with this API name, if there is one
+     */
+    public static Optional<LeadField> forAttribute(String attribute) {
+        for (LeadField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return Optional.of(field);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static LeadField fromAttribute(String attribute) {
+        Optional<LeadField> known = forAttribute(attribute);
+        if (known.isPresent()) {
+            return known.get();
+        }
+        List<String> allowed = new ArrayList<>();
+        for (LeadField field : values()) {
+            allowed.add(field.attribute);
+        }
+        throw new RuntimeException("Unknown field: " + attribute + ". Allowed fields: " + String.join(", ", allowed));
+    }
+}
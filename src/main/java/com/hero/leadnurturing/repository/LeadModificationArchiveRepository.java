@@ -0,0 +1,35 @@
+package com.hero.leadnurturing.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hero.leadnurturing.entity.LeadModificationArchive;
+
+/**
+ * Repository for archived modification history
+ */
+public interface LeadModificationArchiveRepository extends JpaRepository<LeadModificationArchive, Long> {
+
+    Optional<LeadModificationArchive> findByLeadIdAndPeriod(Long leadId, LocalDate period);
+
+    // A lead's archived months within [from, to], read from the (lead_id, period) index alone
+    @Query("SELECT a.period FROM LeadModificationArchive a WHERE a.leadId = :leadId "
+            + "AND a.period BETWEEN :from AND :to ORDER BY a.period DESC")
+    List<LocalDate> findPeriodsNewestFirst(@Param("leadId") Long leadId,
+                                           @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT a.period FROM LeadModificationArchive a WHERE a.leadId = :leadId "
+            + "AND a.period BETWEEN :from AND :to ORDER BY a.period ASC")
+    List<LocalDate> findPeriodsOldestFirst(@Param("leadId") Long leadId,
+                                           @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM LeadModificationArchive a WHERE a.leadId = :leadId")
+    int deleteByLeadId(@Param("leadId") Long leadId);
+}
@@ -1,17 +1,58 @@
 package com.hero.leadnurturing.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.hero.leadnurturing.dto.LeadHistoryEntryDTO;
+import com.hero.leadnurturing.dto.ResourceVersion;
 import com.hero.leadnurturing.entity.Lead;
 import com.hero.leadnurturing.entity.LeadModification;
 
 /**
  * Repository for Lead Modification entity
  */
-public interface LeadModificationRepository extends JpaRepository<LeadModification, Long> {
+public interface LeadModificationRepository extends JpaRepository<LeadModification, Long>, LeadModificationRepositoryCustom {
 
-    // Get modification history for a lead (newest first)
+    // Get modification history for a lead (newest first); entries already archived are not included
     List<LeadModification> findByLeadOrderByModifiedAtDesc(Lead lead);
+
+    // History projections: the lead is not joined or loaded
+    String HISTORY = "SELECT new com.hero.leadnurturing.dto.LeadHistoryEntryDTO(m.id, m.lead.id, m.modifiedField, "
+            + "m.oldValue, m.newValue, m.changedFields, m.diff, m.modifiedBy, m.modifiedAt) FROM LeadModification m ";
+
+    // Keyset paging of one lead's history, newest first, on the (lead_id, modified_at) index
+    @Query(HISTORY + "WHERE m.lead.id = :leadId ORDER BY m.modifiedAt DESC, m.id DESC")
+    List<LeadHistoryEntryDTO> findHistoryFirstPage(@Param("leadId") Long leadId, Limit limit);
+
+    @Query(HISTORY + "WHERE m.lead.id = :leadId AND (m.modifiedAt < :modifiedAt "
+            + "OR (m.modifiedAt = :modifiedAt AND m.id < :id)) ORDER BY m.modifiedAt DESC, m.id DESC")
+    List<LeadHistoryEntryDTO> findHistoryAfter(@Param("leadId") Long leadId, @Param("modifiedAt") LocalDateTime modifiedAt,
+                                               @Param("id") Long id, Limit limit);
+
+    // Entries just before the cursor, closest first (ascending); callers reverse them
+    @Query(HISTORY + "WHERE m.lead.id = :leadId AND (m.modifiedAt > :modifiedAt "
+            + "OR (m.modifiedAt = :modifiedAt AND m.id > :id)) ORDER BY m.modifiedAt ASC, m.id ASC")
+    List<LeadHistoryEntryDTO> findHistoryBefore(@Param("leadId") Long leadId, @Param("modifiedAt") LocalDateTime modifiedAt,
+                                                @Param("id") Long id, Limit limit);
+
+    // Oldest entries of all leads, for archival
+    @Query(HISTORY + "WHERE m.modifiedAt < :before ORDER BY m.modifiedAt ASC, m.id ASC")
+    List<LeadHistoryEntryDTO> findHistoryOlderThan(@Param("before") LocalDateTime before, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM LeadModification m WHERE m.lead.id = :leadId")
+    int deleteByLeadId(@Param("leadId") Long leadId);
+
+    // Version of the history list, read from the lead row and the lead_id index; empty if the lead does not exist
+    @Query("SELECT new com.hero.leadnurturing.dto.ResourceVersion(l.id, COALESCE(l.updatedAt, l.createdAt), "
+            + "COUNT(m.id), MAX(m.id)) FROM Lead l LEFT JOIN LeadModification m ON m.lead = l "
+            + "WHERE l.id = :leadId GROUP BY l.id, l.updatedAt, l.createdAt")
+    Optional<ResourceVersion> findVersionByLeadId(@Param("leadId") Long leadId);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.hero.leadnurturing.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hero.leadnurturing.dto.LeadHistoryEntryDTO;
+import com.hero.leadnurturing.entity.LeadModification;
+
+/**
+ * Modification queries that Spring Data cannot derive
+ */
+public interface LeadModificationRepositoryCustom {
+
+    /**
+     * Dynamic query returning history entries instead of entities (the lead
+     * is neither joined nor loaded)
+     */
+    List<LeadHistoryEntryDTO> findHistory(Specification<LeadModification> filter, Sort sort, int limit);
+}
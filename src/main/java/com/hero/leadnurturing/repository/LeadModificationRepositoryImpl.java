@@ -0,0 +1,59 @@
+package com.hero.leadnurturing.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hero.leadnurturing.dto.LeadHistoryEntryDTO;
+import com.hero.leadnurturing.entity.LeadModification;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class LeadModificationRepositoryImpl implements LeadModificationRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<LeadHistoryEntryDTO> findHistory(Specification<LeadModification> filter, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LeadHistoryEntryDTO> query = cb.createQuery(LeadHistoryEntryDTO.class);
+        Root<LeadModification> modification = query.from(LeadModification.class);
+
+        query.select(cb.construct(LeadHistoryEntryDTO.class,
+                modification.get("id"),
+                modification.get("lead").get("id"),
+                modification.get("modifiedField"),
+                modification.get("oldValue"),
+                modification.get("newValue"),
+                modification.get("changedFields"),
+                modification.get("diff"),
+                modification.get("modifiedBy"),
+                modification.get("modifiedAt")));
+
+        Predicate where = filter.toPredicate(modification, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order.isAscending()
+                    ? cb.asc(modification.get(order.getProperty()))
+                    : cb.desc(modification.get(order.getProperty())));
+        }
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
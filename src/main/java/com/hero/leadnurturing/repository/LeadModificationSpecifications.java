@@ -0,0 +1,65 @@
+package com.hero.leadnurturing.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hero.leadnurturing.entity.LeadModification;
+import com.hero.leadnurturing.service.audit.LeadDiff;
+
+/**
+ * Building blocks for the activity feed over lead_modifications. Each
+ * filter is an equality or range on a column that leads one of the table's
+ * indexes, followed by the (modifiedAt, id) paging order.
+ */
+public final class LeadModificationSpecifications {
+
+    private LeadModificationSpecifications() {
+    }
+
+    public static Specification<LeadModification> hasModifiedBy(String username) {
+        return (root, query, cb) -> cb.equal(root.get("modifiedBy"), username);
+    }
+
+    public static Specification<LeadModification> hasModifiedField(String field) {
+        return (root, query, cb) -> cb.equal(root.get("modifiedField"), field);
+    }
+
+    /**
+     * Lead update rows whose diff includes the field. The bit test is
+     * evaluated on the (modified_field, modified_at, id, changed_fields)
+     * index entries, so no row is read for updates that did not touch it.
+     */
+    public static Specification<LeadModification> updateChanged(LeadField field) {
+        int bit = 1 << field.ordinal();
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("modifiedField"), LeadDiff.UPDATED),
+                cb.notEqual(cb.function("bitand", Integer.class, root.get("changedFields"), cb.literal(bit)), 0));
+    }
+
+    public static Specification<LeadModification> modifiedFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("modifiedAt"), from);
+    }
+
+    public static Specification<LeadModification> modifiedBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("modifiedAt"), to);
+    }
+
+    /**
+     * Rows after the keyset position in (modifiedAt DESC, id DESC) order
+     */
+    public static Specification<LeadModification> after(LocalDateTime modifiedAt, long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("modifiedAt"), modifiedAt),
+                cb.and(cb.equal(root.get("modifiedAt"), modifiedAt), cb.lessThan(root.get("id"), id)));
+    }
+
+    /**
+     * Rows before the keyset position in (modifiedAt DESC, id DESC) order
+     */
+    public static Specification<LeadModification> before(LocalDateTime modifiedAt, long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("modifiedAt"), modifiedAt),
+                cb.and(cb.equal(root.get("modifiedAt"), modifiedAt), cb.greaterThan(root.get("id"), id)));
+    }
+}
@@ -2,31 +2,75 @@ package com.hero.leadnurturing.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.hero.leadnurturing.dto.LeadResponseDTO;
+import com.hero.leadnurturing.dto.LeadSummaryDTO;
+import com.hero.leadnurturing.dto.ResourceVersion;
 import com.hero.leadnurturing.entity.Lead;
 import com.hero.leadnurturing.entity.LeadStatus;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for Lead entity
  */
-public interface LeadRepository extends JpaRepository<Lead, Long> {
+public interface LeadRepository extends JpaRepository<Lead, Long>, JpaSpecificationExecutor<Lead>, LeadRepositoryCustom {
     
-    // Basic filters
-    List<Lead> findByStatus(LeadStatus status);
-    List<Lead> findByCity(String city);
+    // Query cache: the matching ids are cached, the leads themselves come from the entity cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "leads-by-contact-number")
+    })
     List<Lead> findByContactNumber(String contactNumber);
 
-    // Date range filters
-    List<Lead> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+    // Date range counts
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
     long countByStatusAndCreatedAtBetween(LeadStatus status, LocalDateTime start, LocalDateTime end);
 
     // Dashboard counts
     long countByStatus(LeadStatus status);
 
+    // List projections: only the summary columns are selected, no entities are loaded
+    String SUMMARY = "SELECT new com.hero.leadnurturing.dto.LeadSummaryDTO("
+            + "l.id, l.firstName, l.lastName, l.contactNumber, l.city, l.modelName, l.status, l.createdAt) FROM Lead l ";
+
+    @Query("SELECT new com.hero.leadnurturing.dto.LeadResponseDTO(l.id, l.contactNumber, l.firstName, l.lastName, "
+            + "l.governmentId, l.email, l.city, l.address, l.modelName, l.leadSource, l.leadMode, l.followUpDate, "
+            + "l.status, l.assignedTo, l.createdAt, l.updatedAt) FROM Lead l WHERE l.id = :id")
+    Optional<LeadResponseDTO> findDetailById(@Param("id") Long id);
+
+    // Conditional GETs: the version alone, a primary key lookup of two columns
+    @Query("SELECT new com.hero.leadnurturing.dto.ResourceVersion(l.id, COALESCE(l.updatedAt, l.createdAt)) "
+            + "FROM Lead l WHERE l.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    List<LeadSummaryDTO> findSummariesByStatus(LeadStatus status);
+    List<LeadSummaryDTO> findSummariesByCity(String city);
+    List<LeadSummaryDTO> findSummariesByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    // Keyset paging, newest first. Each page is a range scan on the (created_at, id)
+    // index starting at the previous page's edge, so deep pages cost the same as the first.
+    @Query(SUMMARY + "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeadSummaryDTO> findFirstPage(Limit limit);
+
+    @Query(SUMMARY + "WHERE l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id) "
+            + "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeadSummaryDTO> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // Rows just before the cursor, closest first (ascending); callers reverse them
+    @Query(SUMMARY + "WHERE l.createdAt > :createdAt OR (l.createdAt = :createdAt AND l.id > :id) "
+            + "ORDER BY l.createdAt ASC, l.id ASC")
+    List<LeadSummaryDTO> findPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
     // Group by lead source for dashboard
     @Query("SELECT l.leadSource, COUNT(l) FROM Lead l GROUP BY l.leadSource")
     List<Object[]> countLeadsGroupedBySource();
@@ -0,0 +1,42 @@
+package com.hero.leadnurturing.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hero.leadnurturing.dto.LeadSummaryDTO;
+import com.hero.leadnurturing.entity.Lead;
+
+/**
+ * Lead queries that Spring Data cannot derive
+ */
+public interface LeadRepositoryCustom {
+
+    /**
+     * Dynamic query returning the list projection instead of entities
+     */
+    List<LeadSummaryDTO> findSummaries(Specification<Lead> filter, Sort sort, int limit);
+
+    /**
+     * Dynamic query selecting only the given columns (plus createdAt, which
+     * keyset paging needs). Each row maps attribute name to value, in field order.
+     */
+    List<Map<String, Object>> findFields(Specification<Lead> filter, Sort sort, int limit, Set<LeadField> fields);
+
+    /**
+     * Ids of the matching leads, at most limit of them
+     */
+    List<Long> findIds(Specification<Lead> filter, int limit);
+
+    /**
+     * Forward-only stream over every matching lead, fetched from the server
+     * in batches of fetchSize. Rows are read-only and detached as they are
+     * handed out, so the persistence context does not grow with the result.
+     * Must be consumed inside a transaction and closed.
+     */
+    Stream<Lead> streamLeads(Specification<Lead> filter, Sort sort, int fetchSize);
+}
@@ -0,0 +1,138 @@
+package com.hero.leadnurturing.repository;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hero.leadnurturing.dto.LeadSummaryDTO;
+import com.hero.leadnurturing.entity.Lead;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class LeadRepositoryImpl implements LeadRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<LeadSummaryDTO> findSummaries(Specification<Lead> filter, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LeadSummaryDTO> query = cb.createQuery(LeadSummaryDTO.class);
+        Root<Lead> lead = query.from(Lead.class);
+
+        query.select(cb.construct(LeadSummaryDTO.class,
+                lead.get("id"),
+                lead.get("firstName"),
+                lead.get("lastName"),
+                lead.get("contactNumber"),
+                lead.get("city"),
+                lead.get("modelName"),
+                lead.get("status"),
+                lead.get("createdAt")));
+
+        applyFilterAndSort(query, lead, cb, filter, sort);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Specification<Lead> filter, Sort sort, int limit, Set<LeadField> fields) {
+        Set<LeadField> selected = EnumSet.copyOf(fields);
+        selected.add(LeadField.CREATED_AT);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Lead> lead = query.from(Lead.class);
+
+        List<Selection<?>> columns = new ArrayList<>(selected.size());
+        for (LeadField field : selected) {
+            columns.add(lead.get(field.getAttribute()).alias(field.getAttribute()));
+        }
+        query.multiselect(columns);
+
+        applyFilterAndSort(query, lead, cb, filter, sort);
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (LeadField field : selected) {
+                row.put(field.getAttribute(), tuple.get(field.getAttribute()));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Lead> filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Lead> lead = query.from(Lead.class);
+        query.select(lead.get("id"));
+
+        applyFilterAndSort(query, lead, cb, filter, Sort.by("id"));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Lead> streamLeads(Specification<Lead> filter, Sort sort, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Lead> query = cb.createQuery(Lead.class);
+        Root<Lead> lead = query.from(Lead.class);
+        query.select(lead);
+
+        applyFilterAndSort(query, lead, cb, filter, sort);
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                // An export reads every lead once; it must not flush the second-level cache
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream()
+                .map(row -> {
+                    entityManager.detach(row);
+                    return row;
+                });
+    }
+
+    private void applyFilterAndSort(CriteriaQuery<?> query, Root<Lead> lead, CriteriaBuilder cb,
+                                    Specification<Lead> filter, Sort sort) {
+        Predicate where = filter.toPredicate(lead, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(order.isAscending() ? cb.asc(lead.get(order.getProperty())) : cb.desc(lead.get(order.getProperty())));
+        }
+        query.orderBy(orders);
+    }
+}
@@ -0,0 +1,76 @@
+package com.hero.leadnurturing.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadStatus;
+
+/**
+ * Building blocks for dynamic lead queries. Text filters are prefix matches
+ * so they can still use an index.
+ */
+public final class LeadSpecifications {
+
+    private LeadSpecifications() {
+    }
+
+    public static Specification<Lead> hasId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    public static Specification<Lead> contactNumberStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("contactNumber"), escapeLike(prefix) + "%", '\\');
+    }
+
+    public static Specification<Lead> nameStartsWith(String prefix) {
+        String pattern = escapeLike(prefix) + "%";
+        // The default MySQL collation is case-insensitive, so no lower() that would hide the index
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("firstName"), pattern, '\\'),
+                cb.like(root.get("lastName"), pattern, '\\'));
+    }
+
+    public static Specification<Lead> hasModelName(String modelName) {
+        return (root, query, cb) -> cb.equal(root.get("modelName"), modelName);
+    }
+
+    public static Specification<Lead> hasCity(String city) {
+        return (root, query, cb) -> cb.equal(root.get("city"), city);
+    }
+
+    public static Specification<Lead> hasStatus(LeadStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Lead> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Lead> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    /**
+     * Rows after the keyset position in (createdAt DESC, id DESC) order
+     */
+    public static Specification<Lead> after(LocalDateTime createdAt, long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+
+    /**
+     * Rows before the keyset position in (createdAt DESC, id DESC) order
+     */
+    public static Specification<Lead> before(LocalDateTime createdAt, long id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.greaterThan(root.get("id"), id)));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,21 @@
+package com.hero.leadnurturing.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.hero.leadnurturing.entity.DwellDimension;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.entity.StatusDwellBucket;
+
+/**
+ * Repository for the dwell-time histograms; rows are written by
+ * StatusTransitionLedger over JDBC. Both reads are a prefix of the unique key.
+ */
+public interface StatusDwellBucketRepository extends JpaRepository<StatusDwellBucket, Long> {
+
+    List<StatusDwellBucket> findByFromStatusAndDimension(LeadStatus fromStatus, DwellDimension dimension);
+
+    List<StatusDwellBucket> findByFromStatusAndDimensionAndToStatus(LeadStatus fromStatus, DwellDimension dimension,
+                                                                     LeadStatus toStatus);
+}
@@ -0,0 +1,87 @@
+package com.hero.leadnurturing.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import com.hero.leadnurturing.config.CacheConfig;
+import com.hero.leadnurturing.dto.CacheRegionStatsDTO;
+import com.hero.leadnurturing.entity.Lead;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Second-level cache upkeep. Hibernate keeps the cache in step with its own
+ * writes; statements that go straight through JDBC (bulk actions, uploads)
+ * have to evict what they touched here, after their transaction commits.
+ */
+@Service
+public class CacheService {
+
+    private static final List<String> REGIONS = List.of(
+            CacheConfig.LEADS, CacheConfig.USERS, CacheConfig.LEADS_BY_CONTACT_NUMBER, CacheConfig.USERS_BY_USERNAME);
+
+    private final SessionFactory sessionFactory;
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public CacheService(EntityManagerFactory entityManagerFactory, ObjectProvider<CacheManager> cacheManager) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cacheManager = cacheManager;
+    }
+
+    // ===== EVICTION =====
+
+    /**
+     * After JDBC updates or deletes of these leads
+     */
+    public void evictLeads(Collection<Long> ids) {
+        Cache cache = sessionFactory.getCache();
+        for (Long id : ids) {
+            cache.evictEntityData(Lead.class, id);
+        }
+        cache.evictQueryRegion(CacheConfig.LEADS_BY_CONTACT_NUMBER);
+    }
+
+    // ===== STATISTICS =====
+
+    /**
+     * Counters per region; all zero when cache.statistics is off
+     */
+    public List<CacheRegionStatsDTO> getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStatsDTO> stats = new ArrayList<>(REGIONS.size());
+        for (String region : REGIONS) {
+            CacheRegionStatistics counters = statistics.isStatisticsEnabled()
+                    ? statistics.getCacheRegionStatistics(region) : null;
+            long hits = counters == null ? 0 : counters.getHitCount();
+            long misses = counters == null ? 0 : counters.getMissCount();
+            stats.add(CacheRegionStatsDTO.builder()
+                    .region(region)
+                    .hits(hits)
+                    .misses(misses)
+                    .puts(counters == null ? 0 : counters.getPutCount())
+                    .hitRatio(hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+                    .entries(entries(region))
+                    .build());
+        }
+        return stats;
+    }
+
+    private long entries(String region) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        javax.cache.Cache<Object, Object> cache = manager == null ? null : manager.getCache(region);
+        if (cache == null) {
+            return 0;
+        }
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+}
@@ -1,5 +1,6 @@
 package com.hero.leadnurturing.service;
 
+import com.hero.leadnurturing.dto.ResourceVersion;
 import com.hero.leadnurturing.entity.ChatMessage;
 import com.hero.leadnurturing.entity.Lead;
 import com.hero.leadnurturing.repository.ChatMessageRepository;
@@ -37,4 +38,13 @@ public class ChatService {
 
         return chatRepository.findByLeadOrderByTimestampAsc(lead);
     }
+
+    /**
+     * ETag of the chat history, without loading the messages
+     */
+    public String getChatHistoryETag(Long leadId) {
+        return chatRepository.findVersionByLeadId(leadId)
+                .map(ResourceVersion::etag)
+                .orElseThrow(() -> new RuntimeException("Lead not found"));
+    }
 }
@@ -0,0 +1,174 @@
+package com.hero.leadnurturing.service;
+
+import com.hero.leadnurturing.dto.UploadSessionDTO;
+import com.hero.leadnurturing.dto.UploadSessionRequest;
+import com.hero.leadnurturing.service.upload.UploadJob;
+import com.hero.leadnurturing.service.upload.UploadMode;
+import com.hero.leadnurturing.service.upload.UploadSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable uploads: init, PUT numbered chunks, commit.
+ *
+ * Chunks are written straight to a spool file of the final size. Ingestion
+ * starts on commit, for every format: no lead is written before the client
+ * has committed, so an aborted or idle session leaves nothing behind but
+ * its spool file, which is deleted. Sessions without activity for the idle
+ * timeout are dropped.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private final UploadJobService uploadJobService;
+    private final int defaultChunkSize;
+    private final long maxFileSize;
+    private final Duration idleTimeout;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public ChunkedUploadService(UploadJobService uploadJobService,
+                                @Value("${upload.chunked.chunk-size:8388608}") int defaultChunkSize,
+                                @Value("${upload.chunked.max-file-size:2147483648}") long maxFileSize,
+                                @Value("${upload.chunked.idle-timeout-minutes:60}") long idleTimeoutMinutes) {
+        this.uploadJobService = uploadJobService;
+        this.defaultChunkSize = defaultChunkSize;
+        this.maxFileSize = maxFileSize;
+        this.idleTimeout = Duration.ofMinutes(idleTimeoutMinutes);
+    }
+
+    // ================= SESSION =================
+
+    public UploadSession init(UploadSessionRequest request, String username) throws IOException {
+        if (request.getFileName() == null || request.getFileName().isBlank()) {
+            throw new RuntimeException("File name is required");
+        }
+        if (request.getFileSize() <= 0 || request.getFileSize() > maxFileSize) {
+            throw new RuntimeException("File size must be between 1 and " + maxFileSize + " bytes");
+        }
+        int chunkSize = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize;
+        if (chunkSize < MIN_CHUNK_SIZE || chunkSize > MAX_CHUNK_SIZE) {
+            throw new RuntimeException("Chunk size must be between " + MIN_CHUNK_SIZE + " and " + MAX_CHUNK_SIZE + " bytes");
+        }
+        UploadMode mode = UploadMode.from(request.getMode());
+
+        // Reserve the full size up front so chunks can be written at their offset in any order
+        Path spoolFile = Files.createTempFile("lead-upload-", ".tmp");
+        try (RandomAccessFile file = new RandomAccessFile(spoolFile.toFile(), "rw")) {
+            file.setLength(request.getFileSize());
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(spoolFile);
+            throw ex;
+        }
+
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), request.getFileName(),
+                request.getContentType(), request.getFormat(), mode, username, spoolFile,
+                request.getFileSize(), chunkSize);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    public UploadSession getSession(String sessionId, String username) {
+        UploadSession session = sessions.get(sessionId);
+        // Another user's session is reported as missing rather than forbidden
+        if (session == null || !session.getSubmittedBy().equals(username)) {
+            throw new RuntimeException("Upload session not found: " + sessionId);
+        }
+        return session;
+    }
+
+    // ================= CHUNKS =================
+
+    public UploadSession putChunk(String sessionId, int index, InputStream body, String checksum,
+                                  String username) throws IOException {
+        UploadSession session = getSession(sessionId, username);
+        session.writeChunk(index, body, checksum);
+        return session;
+    }
+
+    // ================= COMMIT / ABORT =================
+
+    public UploadJob commit(String sessionId, String username) {
+        UploadSession session = getSession(sessionId, username);
+
+        UploadJob job;
+        synchronized (session) {
+            if (session.getStatus() != UploadSession.Status.OPEN) {
+                throw new RuntimeException("Upload session is " + session.getStatus().name().toLowerCase());
+            }
+            if (!session.isComplete()) {
+                throw new RuntimeException("Upload is missing chunks " + session.getMissingChunks());
+            }
+            // When the queue is full the session stays open and commit can be retried
+            job = uploadJobService.start(new UploadJob(UUID.randomUUID().toString(), session));
+            session.setJob(job);
+            session.commit();
+        }
+        sessions.remove(sessionId);
+        return job;
+    }
+
+    public void abort(String sessionId, String username) {
+        discard(getSession(sessionId, username));
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void purgeIdleSessions() {
+        Instant cutoff = Instant.now().minus(idleTimeout);
+        for (UploadSession session : sessions.values()) {
+            if (session.isIdleSince(cutoff)) {
+                discard(session);
+            }
+        }
+    }
+
+    /**
+     * Drops an uncommitted session. No job has started for it, so no lead
+     * was written; only the spool file is deleted.
+     */
+    private void discard(UploadSession session) {
+        synchronized (session) {
+            if (session.getJob() != null) {
+                // Committed concurrently: the job owns the spool file now
+                return;
+            }
+            session.abort();
+        }
+        sessions.remove(session.getId());
+        try {
+            Files.deleteIfExists(session.getSpoolFile());
+        } catch (IOException ignored) {
+            // temp dir cleanup will get it
+        }
+    }
+
+    public UploadSessionDTO toDTO(UploadSession session) {
+        UploadJob job = session.getJob();
+        return UploadSessionDTO.builder()
+                .sessionId(session.getId())
+                .fileName(session.getFileName())
+                .status(session.getStatus().name())
+                .fileSize(session.getFileSize())
+                .chunkSize(session.getChunkSize())
+                .totalChunks(session.getTotalChunks())
+                .receivedChunks(session.getReceivedChunkCount())
+                .missingChunks(session.getMissingChunks())
+                .jobId(job != null ? job.getId() : null)
+                .build();
+    }
+}
@@ -1,21 +1,29 @@
 package com.hero.leadnurturing.service;
 
 import com.hero.leadnurturing.dto.DashboardStatsDTO;
+import com.hero.leadnurturing.dto.DwellTimeStatsDTO;
+import com.hero.leadnurturing.entity.DwellDimension;
 import com.hero.leadnurturing.entity.LeadStatus;
 import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
+    public static final String DEFAULT_PERCENTILES = "50,90,99";
+
     private final LeadRepository leadRepository;
+    private final StatusTransitionLedger transitionLedger;
 
     public DashboardStatsDTO getDashboardStats(
             LocalDateTime from,
@@ -85,4 +93,54 @@ public class DashboardService {
 
         return response;
     }
+
+    // ===== Time In Stage =====
+
+    /**
+     * Dwell-time percentiles for leads leaving a status, optionally only
+     * towards one status and grouped by city or agent. Read from the
+     * pre-aggregated histograms, so the cost does not grow with the number of
+     * status changes.
+     */
+    public List<DwellTimeStatsDTO> getDwellTimes(String from, String to, String groupBy, String percentiles) {
+        if (from == null || from.isBlank()) {
+            throw new RuntimeException("from status is required");
+        }
+        LeadStatus fromStatus = status(from);
+        LeadStatus toStatus = to == null || to.isBlank() ? null : status(to);
+
+        DwellDimension dimension = DwellDimension.ALL;
+        if (groupBy != null && !groupBy.isBlank()) {
+            try {
+                dimension = DwellDimension.valueOf(groupBy.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new RuntimeException("groupBy must be city or agent");
+            }
+        }
+
+        List<Double> percentages = new ArrayList<>();
+        String requested = percentiles == null || percentiles.isBlank() ? DEFAULT_PERCENTILES : percentiles;
+        for (String part : requested.split(",")) {
+            double percentage;
+            try {
+                percentage = Double.parseDouble(part.trim());
+            } catch (NumberFormatException ex) {
+                throw new RuntimeException("Invalid percentile: " + part.trim());
+            }
+            if (!(percentage > 0 && percentage <= 100)) {
+                throw new RuntimeException("Percentiles must be above 0 and at most 100");
+            }
+            percentages.add(percentage);
+        }
+
+        return transitionLedger.dwellTimes(fromStatus, toStatus, dimension, percentages);
+    }
+
+    private static LeadStatus status(String status) {
+        try {
+            return LeadStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Invalid lead status: " + status);
+        }
+    }
 }
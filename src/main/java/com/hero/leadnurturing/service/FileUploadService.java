@@ -3,114 +3,206 @@ package com.hero.leadnurturing.service;
 import com.hero.leadnurturing.dto.UploadResponseDTO;
 import com.hero.leadnurturing.entity.Lead;
 import com.hero.leadnurturing.entity.LeadStatus;
-import com.hero.leadnurturing.repository.LeadRepository;
-import lombok.RequiredArgsConstructor;
+import com.hero.leadnurturing.service.upload.CellValues;
+import com.hero.leadnurturing.service.upload.CsvStreamingReader;
+import com.hero.leadnurturing.service.upload.LeadBatchWriter;
+import com.hero.leadnurturing.service.upload.LeadChunkWriter;
+import com.hero.leadnurturing.service.upload.LeadColumnMapping;
+import com.hero.leadnurturing.service.upload.LeadDuplicateIndex;
+import com.hero.leadnurturing.service.upload.LeadDuplicateIndexLoader;
+import com.hero.leadnurturing.service.upload.LeadColumnMapping.LeadColumn;
+import com.hero.leadnurturing.service.upload.LeadImportPipeline;
+import com.hero.leadnurturing.service.upload.LeadRowHandler;
+import com.hero.leadnurturing.service.upload.LeadUpsertWriter;
+import com.hero.leadnurturing.service.upload.RowRejectedException;
+import com.hero.leadnurturing.service.upload.UploadFormat;
+import com.hero.leadnurturing.service.upload.UploadJob;
+import com.hero.leadnurturing.service.upload.UploadMode;
+import com.hero.leadnurturing.service.upload.XlsxStreamingReader;
 import org.apache.poi.ss.usermodel.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 @Service
-@RequiredArgsConstructor
 public class FileUploadService {
 
-    private final LeadRepository leadRepository;
+    private final LeadBatchWriter leadBatchWriter;
+    private final LeadUpsertWriter leadUpsertWriter;
+    private final LeadDuplicateIndexLoader duplicateIndexLoader;
+    private final int mapperThreads;
+    private final int writerThreads;
+    private final int queueCapacity;
 
-    public UploadResponseDTO uploadLeads(MultipartFile file) {
+    public FileUploadService(LeadBatchWriter leadBatchWriter,
+                             LeadUpsertWriter leadUpsertWriter,
+                             LeadDuplicateIndexLoader duplicateIndexLoader,
+                             @Value("${upload.pipeline.mappers:0}") int mapperThreads,
+                             @Value("${upload.pipeline.writers:2}") int writerThreads,
+                             @Value("${upload.pipeline.queue-capacity:10000}") int queueCapacity) {
+        this.leadBatchWriter = leadBatchWriter;
+        this.leadUpsertWriter = leadUpsertWriter;
+        this.duplicateIndexLoader = duplicateIndexLoader;
+        // 0 = one mapper per core
+        this.mapperThreads = mapperThreads > 0 ? mapperThreads : Runtime.getRuntime().availableProcessors();
+        this.writerThreads = writerThreads;
+        this.queueCapacity = queueCapacity;
+    }
 
-        int totalRecords = 0;
-        int successfulRecords = 0;
-        int failedRecords = 0;
+    /**
+     * Reads the job's spooled file and writes its rows. The calling thread
+     * parses the file; mapping and persistence run on the pipeline's threads.
+     * Progress is published on the job counters as rows are processed.
+     */
+    public UploadResponseDTO processUpload(UploadJob job) throws IOException, InterruptedException {
 
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(is)) {
+        Path spoolFile = job.getSpoolFile();
+        UploadFormat format = UploadFormat.detect(
+                job.getRequestedFormat(), job.getFileName(), job.getContentType(), spoolFile);
 
-            Sheet sheet = workbook.getSheetAt(0);
+        // Duplicates are rejected here instead of failing on the unique constraints
+        LeadDuplicateIndex duplicateIndex = duplicateIndexLoader.load();
 
-            for (Row row : sheet) {
-                if (row.getRowNum() == 0) continue; // skip header
+        boolean upsert = job.getMode() == UploadMode.UPSERT;
+        LeadChunkWriter writer = upsert ? leadUpsertWriter.forJob(job, duplicateIndex) : leadBatchWriter;
 
-                totalRecords++;
+        UploadTally tally = new UploadTally(job);
+        LeadImportPipeline.RowMapper mapper = cells -> {
+            Lead lead = buildLead(cells, tally.mapping);
+            duplicateIndex.check(lead, upsert);
+            return lead;
+        };
 
-                try {
-                    String contactNumber = getCellString(row.getCell(0));
-                    String firstName = getCellString(row.getCell(1));
+        try (LeadImportPipeline pipeline = new LeadImportPipeline(job, mapper,
+                writer, mapperThreads, writerThreads, queueCapacity)) {
 
-                    if (contactNumber.isBlank() || firstName.isBlank()) {
-                        failedRecords++;
-                        continue;
+            tally.pipeline = pipeline;
+            switch (format) {
+                case XLSX -> XlsxStreamingReader.read(spoolFile.toFile(), tally);
+                case CSV -> {
+                    try (InputStream is = new ProgressInputStream(job.openInput(), job)) {
+                        CsvStreamingReader.read(is, tally);
                     }
-
-                    Lead lead = Lead.builder()
-                            .contactNumber(contactNumber)
-                            .firstName(firstName)
-                            .city(getCellString(row.getCell(2)))
-                            .modelName(getCellString(row.getCell(3)))
-                            .leadSource(getCellString(row.getCell(4)))
-                            .status(LeadStatus.NEW)
-                            .createdAt(LocalDateTime.now())
-                            .updatedAt(LocalDateTime.now())
-                            .build();
-
-                    leadRepository.save(lead);
-                    successfulRecords++;
-                } catch (Exception e) {
-                    failedRecords++;
                 }
+                case XLS -> readWorkbook(spoolFile, tally);
             }
+            pipeline.finish();
+        }
+
+        long succeeded = job.getRowsSucceeded().get();
+        long failed = job.getRowsFailed().get();
+
+        return UploadResponseDTO.builder()
+                .success(failed == 0)
+                .message("File uploaded successfully. " + succeeded + " records processed.")
+                .totalRecords((int) job.getRowsProcessed().get())
+                .successfulRecords((int) succeeded)
+                .failedRecords((int) failed)
+                .updatedRecords((int) job.getRowsUpdated().get())
+                .unchangedRecords((int) job.getRowsUnchanged().get())
+                .rejectionReasons(job.getRejectionReasons())
+                .rejectionReportUrl(job.getRejectionReportUrl())
+                .build();
+    }
+
+    /**
+     * Maps one sheet row to a Lead. Throws RowRejectedException when a
+     * mandatory column is missing or a value is not valid. A blank status is
+     * left null: new leads default to NEW, upserts keep the existing status.
+     */
+    Lead buildLead(List<String> cells, LeadColumnMapping mapping) {
+        String contactNumber = mapping.value(cells, LeadColumn.CONTACT_NUMBER);
+        String firstName = mapping.value(cells, LeadColumn.FIRST_NAME);
+
+        if (contactNumber.isBlank()) {
+            throw new RowRejectedException("contactNumber", "Contact number is required");
+        }
+        if (firstName.isBlank()) {
+            throw new RowRejectedException("firstName", "First name is required");
+        }
 
-            return UploadResponseDTO.builder()
-                    .success(failedRecords == 0)
-                    .message("File uploaded successfully. " + successfulRecords + " records processed.")
-                    .totalRecords(totalRecords)
-                    .successfulRecords(successfulRecords)
-                    .failedRecords(failedRecords)
-                    .build();
-
-        } catch (Exception e) {
-            return UploadResponseDTO.builder()
-                    .success(false)
-                    .message("File processing failed: " + e.getMessage())
-                    .totalRecords(0)
-                    .successfulRecords(0)
-                    .failedRecords(0)
-                    .build();
+        String status = mapping.value(cells, LeadColumn.STATUS);
+        LeadStatus leadStatus;
+        try {
+            leadStatus = status.isBlank() ? null : LeadStatus.valueOf(status.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RowRejectedException("status", "Unknown status: " + status);
         }
+
+        return Lead.builder()
+                .contactNumber(contactNumber)
+                .firstName(firstName)
+                .lastName(optional(cells, mapping, LeadColumn.LAST_NAME))
+                .email(optional(cells, mapping, LeadColumn.EMAIL))
+                .city(optional(cells, mapping, LeadColumn.CITY))
+                .address(optional(cells, mapping, LeadColumn.ADDRESS))
+                .modelName(optional(cells, mapping, LeadColumn.MODEL_NAME))
+                .leadSource(optional(cells, mapping, LeadColumn.LEAD_SOURCE))
+                .leadMode(optional(cells, mapping, LeadColumn.LEAD_MODE))
+                .governmentId(optional(cells, mapping, LeadColumn.GOVERNMENT_ID))
+                .status(leadStatus)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
     }
 
-    private String getCellString(Cell cell) {
+    /**
+     * Blank optional cells are stored as null (government_id is unique, "" would clash)
+     */
+    private String optional(List<String> cells, LeadColumnMapping mapping, LeadColumn column) {
+        String value = mapping.value(cells, column);
+        return value.isBlank() ? null : value;
+    }
+
+    /**
+     * Legacy .xls (and anything else WorkbookFactory understands) still goes
+     * through the in-memory workbook model.
+     */
+    private void readWorkbook(Path path, LeadRowHandler rowHandler) throws IOException {
+        try (InputStream is = Files.newInputStream(path);
+             Workbook workbook = WorkbookFactory.create(is)) {
+
+            Sheet sheet = workbook.getSheetAt(0);
+            rowHandler.expectRows(sheet.getLastRowNum() + 1L);
+
+            for (Row row : sheet) {
+                List<String> cells = new ArrayList<>();
+                for (int i = 0; i < Math.max(row.getLastCellNum(), 0); i++) {
+                    cells.add(getCellString(row.getCell(i)));
+                }
+                rowHandler.handleRow(row.getRowNum(), cells);
+            }
+        }
+    }
+
+    String getCellString(Cell cell) {
         if (cell == null) {
             return "";
         }
 
         return switch (cell.getCellType()) {
             case STRING -> cell.getStringCellValue().trim();
-            case NUMERIC -> {
-                double value = cell.getNumericCellValue();
-                if (value == Math.floor(value)) {
-                    yield String.valueOf((long) value);
-                }
-                yield String.valueOf(value);
-            }
+            case NUMERIC -> CellValues.formatNumeric(cell.getNumericCellValue());
             case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
             case FORMULA -> getFormulaValue(cell);
             default -> "";
         };
     }
 
-    private String getFormulaValue(Cell cell) {
+    String getFormulaValue(Cell cell) {
         try {
             return switch (cell.getCachedFormulaResultType()) {
                 case STRING -> cell.getStringCellValue().trim();
-                case NUMERIC -> {
-                    double value = cell.getNumericCellValue();
-                    if (value == Math.floor(value)) {
-                        yield String.valueOf((long) value);
-                    }
-                    yield String.valueOf(value);
-                }
+                case NUMERIC -> CellValues.formatNumeric(cell.getNumericCellValue());
                 case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
                 default -> "";
             };
@@ -118,4 +210,66 @@ public class FileUploadService {
             return "";
         }
     }
+
+    /**
+     * Reader-side row state: resolves the header, then feeds data rows to the pipeline
+     */
+    private static final class UploadTally implements LeadRowHandler {
+        private final UploadJob job;
+        private LeadImportPipeline pipeline;
+        // Set before the first data row is queued, read by mapper threads afterwards
+        private volatile LeadColumnMapping mapping;
+
+        private UploadTally(UploadJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void handleRow(int rowNum, List<String> cells) {
+            if (rowNum == 0) {
+                mapping = LeadColumnMapping.fromHeader(cells);
+                return;
+            }
+            if (mapping == null) {
+                mapping = LeadColumnMapping.legacy();
+            }
+            try {
+                pipeline.submit(rowNum, cells);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Upload interrupted");
+            }
+        }
+
+        @Override
+        public void expectRows(long rowCount) {
+            job.setExpectedRows(rowCount - 1); // minus header
+        }
+    }
+
+    /**
+     * Reports consumed bytes so CSV jobs can estimate their total row count
+     */
+    private static final class ProgressInputStream extends FilterInputStream {
+        private final UploadJob job;
+
+        private ProgressInputStream(InputStream in, UploadJob job) {
+            super(in);
+            this.job = job;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) job.addBytesRead(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) job.addBytesRead(n);
+            return n;
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package com.hero.leadnurturing.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by (timestamp DESC, id DESC), handed to clients
+ * as an opaque URL-safe string. A forward cursor continues after the row it
+ * points at; a backward cursor returns the page before it.
+ */
+public record KeysetCursor(LocalDateTime timestamp, long id, boolean backward) {
+
+    public static KeysetCursor after(LocalDateTime timestamp, long id) {
+        return new KeysetCursor(timestamp, id, false);
+    }
+
+    public static KeysetCursor before(LocalDateTime timestamp, long id) {
+        return new KeysetCursor(timestamp, id, true);
+    }
+
+    public String encode() {
+        String raw = (backward ? "b" : "a") + "|" + timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !(parts[0].equals("a") || parts[0].equals("b"))) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new KeysetCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]), parts[0].equals("b"));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
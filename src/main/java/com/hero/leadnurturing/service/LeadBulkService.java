@@ -0,0 +1,298 @@
+package com.hero.leadnurturing.service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hero.leadnurturing.dto.BulkLeadRequest;
+import com.hero.leadnurturing.dto.BulkLeadResultDTO;
+import com.hero.leadnurturing.dto.LeadSearchCriteria;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.repository.UserRepository;
+import com.hero.leadnurturing.service.audit.AuditEvent;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.funnel.StatusTransition;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+import com.hero.leadnurturing.service.search.LeadLookupIndex;
+
+/**
+ * Set-based bulk changes for POST /api/leads/bulk.
+ *
+ * Target ids are processed in chunks of {@link #CHUNK_SIZE}, one transaction
+ * per chunk. An update chunk is one SELECT of the current values, one
+ * UPDATE ... WHERE id IN (...) over the leads that actually change, and one
+ * batch of audit rows through {@link LeadAuditWriter} (plus, for SET_STATUS,
+ * their transitions through {@link StatusTransitionLedger}). A delete chunk
+ * locks the leads that still exist with one SELECT ... FOR UPDATE, runs four
+ * DELETE ... WHERE ... IN (...) statements (chat messages, modification
+ * history and archived history first, then the leads) and records one
+ * DELETED row per removed lead, the same entry a single delete leaves.
+ */
+@Service
+public class LeadBulkService {
+
+    static final int CHUNK_SIZE = 1000;
+    public static final int MAX_LEADS = 50_000;
+
+    public enum Action {
+        DELETE(null, null),
+        SET_STATUS("status", "status"),
+        SET_FOLLOW_UP_DATE("followUpDate", "follow_up_date"),
+        REASSIGN("assignedTo", "assigned_to");
+
+        private final String field;
+        private final String column;
+
+        Action(String field, String column) {
+            this.field = field;
+            this.column = column;
+        }
+
+        static Action from(String action) {
+            if (action == null || action.isBlank()) {
+                throw new RuntimeException("Bulk action is required");
+            }
+            try {
+                return valueOf(action.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new RuntimeException("Unknown bulk action: " + action);
+            }
+        }
+    }
+
+    /**
+     * New value as bound in the UPDATE and as written to the audit row
+     */
+    private record NewValue(Object parameter, String audited) {
+    }
+
+    private record ChunkResult(int changed, int audited) {
+    }
+
+    /**
+     * What a status transition needs besides the old status
+     */
+    private record StageRow(LocalDateTime enteredAt, String city, String agent) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeadRepository leadRepository;
+    private final LeadService leadService;
+    private final UserRepository userRepository;
+    private final LeadLookupIndex lookupIndex;
+    private final CacheService cacheService;
+    private final LeadAuditWriter auditWriter;
+    private final StatusTransitionLedger transitionLedger;
+
+    public LeadBulkService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           LeadRepository leadRepository, LeadService leadService,
+                           UserRepository userRepository, LeadLookupIndex lookupIndex,
+                           CacheService cacheService, LeadAuditWriter auditWriter,
+                           StatusTransitionLedger transitionLedger) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leadRepository = leadRepository;
+        this.leadService = leadService;
+        this.userRepository = userRepository;
+        this.lookupIndex = lookupIndex;
+        this.cacheService = cacheService;
+        this.auditWriter = auditWriter;
+        this.transitionLedger = transitionLedger;
+    }
+
+    public BulkLeadResultDTO apply(BulkLeadRequest request, String username) {
+        Action action = Action.from(request.getAction());
+        NewValue newValue = action == Action.DELETE ? null : newValue(action, request);
+        List<Long> ids = targetIds(request);
+
+        int changed = 0;
+        int audited = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            ChunkResult result = transactionTemplate.execute(status -> action == Action.DELETE
+                    ? deleteChunk(chunk, username)
+                    : updateChunk(action, chunk, newValue, username));
+            changed += result.changed();
+            audited += result.audited();
+            // The statements bypassed Hibernate, so its cache is evicted once they are committed
+            cacheService.evictLeads(chunk);
+            if (action == Action.DELETE) {
+                chunk.forEach(lookupIndex::remove);
+            }
+        }
+
+        return BulkLeadResultDTO.builder()
+                .action(action.name())
+                .matchedLeads(ids.size())
+                .changedLeads(changed)
+                .auditedChanges(audited)
+                .build();
+    }
+
+    // ================= TARGETS =================
+
+    private List<Long> targetIds(BulkLeadRequest request) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean hasFilter = request.getFilter() != null && hasCriteria(request.getFilter());
+        if (hasIds == hasFilter) {
+            throw new RuntimeException("Give either a list of lead ids or a non-empty filter");
+        }
+
+        List<Long> ids;
+        if (hasIds) {
+            ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            ids.remove(null);
+        } else {
+            ids = leadRepository.findIds(leadService.searchSpecification(request.getFilter()), MAX_LEADS + 1);
+        }
+        if (ids.size() > MAX_LEADS) {
+            throw new RuntimeException("A bulk action can change at most " + MAX_LEADS + " leads");
+        }
+        return ids;
+    }
+
+    private boolean hasCriteria(LeadSearchCriteria filter) {
+        return hasText(filter.getContactNumber()) || hasText(filter.getName()) || hasText(filter.getModelName())
+                || hasText(filter.getCity()) || hasText(filter.getStatus())
+                || filter.getFromDate() != null || filter.getToDate() != null;
+    }
+
+    private NewValue newValue(Action action, BulkLeadRequest request) {
+        return switch (action) {
+            case SET_STATUS -> {
+                if (!hasText(request.getStatus())) {
+                    throw new RuntimeException("status is required for SET_STATUS");
+                }
+                LeadStatus status;
+                try {
+                    status = LeadStatus.valueOf(request.getStatus().trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ex) {
+                    throw new RuntimeException("Invalid lead status: " + request.getStatus());
+                }
+                yield new NewValue(status.name(), status.name());
+            }
+            case SET_FOLLOW_UP_DATE -> request.getFollowUpDate() == null
+                    ? new NewValue(null, null)
+                    : new NewValue(Date.valueOf(request.getFollowUpDate()), request.getFollowUpDate().toString());
+            case REASSIGN -> {
+                String assignee = hasText(request.getAssignedTo()) ? request.getAssignedTo().trim() : null;
+                if (assignee != null && userRepository.findByUsername(assignee).isEmpty()) {
+                    throw new RuntimeException("User not found: " + assignee);
+                }
+                yield new NewValue(assignee, assignee);
+            }
+            case DELETE -> throw new IllegalStateException();
+        };
+    }
+
+    // ================= CHUNKS =================
+
+    private ChunkResult updateChunk(Action action, List<Long> chunk, NewValue newValue, String username) {
+        boolean statusChange = action == Action.SET_STATUS;
+        Map<Long, String> current = new HashMap<>();
+        Map<Long, StageRow> stages = new HashMap<>();
+        jdbcTemplate.query("SELECT id, " + action.column
+                        + (statusChange ? ", COALESCE(status_changed_at, created_at), city, assigned_to" : "")
+                        + " FROM leads WHERE id IN (" + placeholders(chunk.size()) + ")",
+                rs -> {
+                    current.put(rs.getLong(1), rs.getString(2));
+                    if (statusChange) {
+                        Timestamp enteredAt = rs.getTimestamp(3);
+                        stages.put(rs.getLong(1), new StageRow(enteredAt == null ? null : enteredAt.toLocalDateTime(),
+                                rs.getString(4), rs.getString(5)));
+                    }
+                }, chunk.toArray());
+
+        List<Long> changed = new ArrayList<>();
+        for (Long id : chunk) {
+            if (current.containsKey(id) && !Objects.equals(current.get(id), newValue.audited())) {
+                changed.add(id);
+            }
+        }
+        if (changed.isEmpty()) {
+            return new ChunkResult(0, 0);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> parameters = new ArrayList<>(changed.size() + 3);
+        parameters.add(newValue.parameter());
+        if (statusChange) {
+            parameters.add(now);
+        }
+        parameters.add(now);
+        parameters.addAll(changed);
+        int updated = jdbcTemplate.update("UPDATE leads SET " + action.column + " = ?, "
+                + (statusChange ? "status_changed_at = ?, " : "") + "updated_at = ? WHERE id IN ("
+                + placeholders(changed.size()) + ")", parameters.toArray());
+
+        List<AuditEvent> events = new ArrayList<>(changed.size());
+        List<StatusTransition> transitions = new ArrayList<>(statusChange ? changed.size() : 0);
+        for (Long id : changed) {
+            events.add(new AuditEvent(id, action.field, current.get(id), newValue.audited(), username, now.toLocalDateTime()));
+            if (statusChange) {
+                StageRow stage = stages.get(id);
+                transitions.add(new StatusTransition(id, statusOf(current.get(id)), LeadStatus.valueOf(newValue.audited()),
+                        stage.city(), stage.agent(), username, stage.enteredAt(), now.toLocalDateTime()));
+            }
+        }
+        auditWriter.record(events);
+        transitionLedger.record(transitions);
+        return new ChunkResult(updated, changed.size());
+    }
+
+    private ChunkResult deleteChunk(List<Long> chunk, String username) {
+        // Locked, so a concurrent delete cannot remove one of them between here and the DELETE
+        List<Long> existing = jdbcTemplate.queryForList("SELECT id FROM leads WHERE id IN ("
+                + placeholders(chunk.size()) + ") FOR UPDATE", Long.class, chunk.toArray());
+        if (existing.isEmpty()) {
+            return new ChunkResult(0, 0);
+        }
+
+        String in = "(" + placeholders(existing.size()) + ")";
+        Object[] ids = existing.toArray();
+        jdbcTemplate.update("DELETE FROM chat_messages WHERE lead_id IN " + in, ids);
+        jdbcTemplate.update("DELETE FROM lead_modifications WHERE lead_id IN " + in, ids);
+        jdbcTemplate.update("DELETE FROM lead_modification_archive WHERE lead_id IN " + in, ids);
+        int deleted = jdbcTemplate.update("DELETE FROM leads WHERE id IN " + in, ids);
+
+        List<AuditEvent> events = new ArrayList<>(existing.size());
+        for (Long id : existing) {
+            events.add(AuditEvent.of(id, "DELETED", "Lead deleted", null, username));
+        }
+        auditWriter.record(events);
+        return new ChunkResult(deleted, events.size());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static LeadStatus statusOf(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return LeadStatus.valueOf(status);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
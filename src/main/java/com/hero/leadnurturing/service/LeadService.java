@@ -1,35 +1,309 @@
 package com.hero.leadnurturing.service;
 
 import com.hero.leadnurturing.entity.*;
+import com.hero.leadnurturing.repository.ChatMessageRepository;
+import com.hero.leadnurturing.repository.LeadField;
 import com.hero.leadnurturing.repository.LeadModificationRepository;
+import com.hero.leadnurturing.repository.LeadModificationSpecifications;
 import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.repository.LeadSpecifications;
+import com.hero.leadnurturing.dto.ActivityCriteria;
+import com.hero.leadnurturing.dto.CursorPageDTO;
 import com.hero.leadnurturing.dto.DashboardStatsDTO;
+import com.hero.leadnurturing.dto.LeadHistoryEntryDTO;
+import com.hero.leadnurturing.dto.LeadLookupDTO;
+import com.hero.leadnurturing.dto.LeadResponseDTO;
+import com.hero.leadnurturing.dto.LeadSearchCriteria;
+import com.hero.leadnurturing.dto.LeadSummaryDTO;
+import com.hero.leadnurturing.dto.ResourceVersion;
+import com.hero.leadnurturing.service.audit.AuditEvent;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.audit.LeadDiff;
+import com.hero.leadnurturing.service.audit.LeadHistoryArchive;
+import com.hero.leadnurturing.service.export.ExportFormat;
+import com.hero.leadnurturing.service.export.LeadExportWriter;
+import com.hero.leadnurturing.service.funnel.StatusTransition;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+import com.hero.leadnurturing.service.search.LeadLookupIndex;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class LeadService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    static final int EXPORT_FETCH_SIZE = 1000;
+    public static final int DEFAULT_LOOKUP_LIMIT = 10;
+    public static final int MAX_LOOKUP_LIMIT = 50;
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final LeadRepository leadRepository;
     private final LeadModificationRepository leadModificationRepository;
+    private final LeadLookupIndex lookupIndex;
+    private final LeadAuditWriter auditWriter;
+    private final LeadHistoryArchive historyArchive;
+    private final StatusTransitionLedger transitionLedger;
+    private final ChatMessageRepository chatMessageRepository;
 
     // ================= CREATE LEAD =================
 
-    public Lead createLead(Lead lead) {
-        return leadRepository.save(lead);
+    @Transactional
+    public Lead createLead(Lead lead, String username) {
+        lead.setCreatedAt(LocalDateTime.now());
+        lead.setUpdatedAt(LocalDateTime.now());
+        Lead savedLead = leadRepository.save(lead);
+        afterCommit(() -> lookupIndex.put(savedLead));
+
+        auditWriter.record(AuditEvent.of(savedLead.getId(), "CREATED", null, "Lead created", username));
+
+        return savedLead;
+    }
+
+    // ================= LOOKUP (TYPE-AHEAD) =================
+
+    /**
+     * Leads whose phone number (digits) or name contains the query, newest
+     * first, answered from the in-memory {@link LeadLookupIndex}
+     */
+    public List<LeadLookupDTO> lookupLeads(String query, Integer limit) {
+        int max = limit == null ? DEFAULT_LOOKUP_LIMIT : limit;
+        if (max < 1 || max > MAX_LOOKUP_LIMIT) {
+            throw new RuntimeException("Lookup limit must be between 1 and " + MAX_LOOKUP_LIMIT);
+        }
+        return lookupIndex.search(query, max);
+    }
+
+    // ================= GET LEADS PAGE =================
+
+    /**
+     * Newest leads first, one page at a time. Without a cursor this is the
+     * first page; otherwise the page after (or before) the cursor.
+     */
+    public CursorPageDTO<LeadSummaryDTO> getLeadPage(String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        // One extra row tells whether there is another page in that direction
+        Limit limit = Limit.of(pageSize + 1);
+        KeysetCursor position = decodeCursor(cursor);
+
+        List<LeadSummaryDTO> rows;
+        if (position == null) {
+            rows = leadRepository.findFirstPage(limit);
+        } else if (position.backward()) {
+            rows = leadRepository.findPageBefore(position.timestamp(), position.id(), limit);
+        } else {
+            rows = leadRepository.findPageAfter(position.timestamp(), position.id(), limit);
+        }
+        return toPage(rows, pageSize, position, LeadSummaryDTO::createdAt, LeadSummaryDTO::id);
+    }
+
+    // ================= SEARCH LEADS =================
+
+    /**
+     * Any combination of the criteria, as one query, paged like {@link #getLeadPage}.
+     * The filters line up with the composite indexes declared on Lead.
+     */
+    public CursorPageDTO<LeadSummaryDTO> searchLeads(LeadSearchCriteria criteria, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        KeysetCursor position = decodeCursor(cursor);
+
+        List<LeadSummaryDTO> rows = leadRepository.findSummaries(
+                pageFilter(criteria, position), pageSort(position), pageSize + 1);
+        return toPage(rows, pageSize, position, LeadSummaryDTO::createdAt, LeadSummaryDTO::id);
+    }
+
+    // ================= SPARSE FIELDSETS =================
+
+    /**
+     * {@link #searchLeads} with only the picked columns selected, e.g.
+     * fields=firstName,status. The id is always returned.
+     */
+    public CursorPageDTO<Map<String, Object>> searchLeadFields(LeadSearchCriteria criteria, String cursor,
+                                                               Integer size, String fields) {
+        Set<LeadField> picked = LeadField.parse(fields);
+        int pageSize = pageSize(size);
+        KeysetCursor position = decodeCursor(cursor);
+
+        List<Map<String, Object>> rows = leadRepository.findFields(
+                pageFilter(criteria, position), pageSort(position), pageSize + 1, picked);
+        CursorPageDTO<Map<String, Object>> page = toPage(rows, pageSize, position,
+                row -> (LocalDateTime) row.get("createdAt"), row -> (Long) row.get("id"));
+
+        // createdAt was only selected for the cursors
+        if (!picked.contains(LeadField.CREATED_AT)) {
+            page.getItems().forEach(row -> row.remove("createdAt"));
+        }
+        return page;
+    }
+
+    /**
+     * One lead with only the picked columns selected
+     */
+    public Map<String, Object> getLeadFields(Long id, String fields) {
+        Set<LeadField> picked = LeadField.parse(fields);
+        List<Map<String, Object>> rows = leadRepository.findFields(LeadSpecifications.hasId(id), Sort.unsorted(), 1, picked);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Lead not found");
+        }
+        Map<String, Object> row = rows.get(0);
+        if (!picked.contains(LeadField.CREATED_AT)) {
+            row.remove("createdAt");
+        }
+        return row;
+    }
+
+    /**
+     * The search criteria as one specification. Invalid values fail here,
+     * so callers can validate before anything is written to the response.
+     */
+    public Specification<Lead> searchSpecification(LeadSearchCriteria criteria) {
+        return Specification.allOf(searchFilters(criteria));
+    }
+
+    private List<Specification<Lead>> searchFilters(LeadSearchCriteria criteria) {
+        List<Specification<Lead>> filters = new ArrayList<>();
+        if (hasText(criteria.getContactNumber())) {
+            filters.add(LeadSpecifications.contactNumberStartsWith(criteria.getContactNumber().trim()));
+        }
+        if (hasText(criteria.getName())) {
+            filters.add(LeadSpecifications.nameStartsWith(criteria.getName().trim()));
+        }
+        if (hasText(criteria.getModelName())) {
+            filters.add(LeadSpecifications.hasModelName(criteria.getModelName().trim()));
+        }
+        if (hasText(criteria.getCity())) {
+            filters.add(LeadSpecifications.hasCity(criteria.getCity().trim()));
+        }
+        if (hasText(criteria.getStatus())) {
+            filters.add(LeadSpecifications.hasStatus(parseStatus(criteria.getStatus())));
+        }
+        if (criteria.getFromDate() != null) {
+            filters.add(LeadSpecifications.createdFrom(criteria.getFromDate().atStartOfDay()));
+        }
+        if (criteria.getToDate() != null) {
+            filters.add(LeadSpecifications.createdBefore(criteria.getToDate().plusDays(1).atStartOfDay()));
+        }
+        return filters;
+    }
+
+    // ================= EXPORT LEADS =================
+
+    /**
+     * Streams every lead matching the filter into the export file, newest
+     * first. Rows come off a server-side cursor and go straight to the
+     * writer, so memory use does not depend on how many leads match.
+     *
+     * @return number of leads written
+     */
+    @Transactional(readOnly = true)
+    public long exportLeads(Specification<Lead> filter, ExportFormat format, OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<Lead> leads = leadRepository.streamLeads(filter, NEWEST_FIRST, EXPORT_FETCH_SIZE);
+             LeadExportWriter writer = LeadExportWriter.open(format, out)) {
+            Iterator<Lead> it = leads.iterator();
+            while (it.hasNext()) {
+                writer.write(it.next());
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Search filters plus the keyset condition for the requested page
+     */
+    private Specification<Lead> pageFilter(LeadSearchCriteria criteria, KeysetCursor position) {
+        List<Specification<Lead>> filters = new ArrayList<>(searchFilters(criteria));
+        if (position != null) {
+            filters.add(position.backward()
+                    ? LeadSpecifications.before(position.timestamp(), position.id())
+                    : LeadSpecifications.after(position.timestamp(), position.id()));
+        }
+        return Specification.allOf(filters);
+    }
+
+    // Backward pages are read oldest first from the cursor, then reversed in toPage
+    private Sort pageSort(KeysetCursor position) {
+        return position != null && position.backward() ? Sort.by(Sort.Direction.ASC, "createdAt", "id") : NEWEST_FIRST;
+    }
+
+    /**
+     * Trims the look-ahead row and builds the cursors. Rows fetched for a
+     * backward cursor come closest-first and are flipped back to newest-first.
+     */
+    private <T> CursorPageDTO<T> toPage(List<T> rows, int pageSize, KeysetCursor position,
+                                        Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        boolean more = rows.size() > pageSize;
+        List<T> items = new ArrayList<>(rows.subList(0, Math.min(pageSize, rows.size())));
+
+        boolean hasNext;
+        boolean hasPrev;
+        if (position != null && position.backward()) {
+            Collections.reverse(items);
+            hasPrev = more;
+            hasNext = true;
+        } else {
+            hasNext = more;
+            hasPrev = position != null;
+        }
+
+        T first = items.isEmpty() ? null : items.get(0);
+        T last = items.isEmpty() ? null : items.get(items.size() - 1);
+
+        return CursorPageDTO.<T>builder()
+                .items(items)
+                .size(items.size())
+                .nextCursor(hasNext && last != null ? KeysetCursor.after(createdAt.apply(last), id.apply(last)).encode() : null)
+                .prevCursor(hasPrev && first != null ? KeysetCursor.before(createdAt.apply(first), id.apply(first)).encode() : null)
+                .build();
+    }
+
+    private KeysetCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
     }
 
-    // ================= GET ALL LEADS =================
+    private boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
 
-    public List<Lead> getAllLeads() {
-        return leadRepository.findAll();
+    private LeadStatus parseStatus(String status) {
+        try {
+            return LeadStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid lead status: " + status);
+        }
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
     }
 
     // ================= GET LEAD BY ID =================
@@ -39,104 +313,227 @@ public class LeadService {
                 .orElseThrow(() -> new RuntimeException("Lead not found with ID: " + id));
     }
 
+    /**
+     * Detail shape, selected as a projection (no managed entity)
+     */
+    public LeadResponseDTO getLeadDetail(Long id) {
+        return leadRepository.findDetailById(id)
+                .orElseThrow(() -> new RuntimeException("Lead not found"));
+    }
+
+    // ================= VERSIONS (ETAGS) =================
+
+    /**
+     * ETag of GET /api/leads/{id}, without loading the lead
+     */
+    public String getLeadETag(Long id) {
+        return leadRepository.findVersionById(id)
+                .map(ResourceVersion::etag)
+                .orElseThrow(() -> new RuntimeException("Lead not found"));
+    }
+
+    /**
+     * ETag of GET /api/leads/{id}/modifications, without loading the history
+     */
+    public String getModificationsETag(Long id) {
+        return leadModificationRepository.findVersionByLeadId(id)
+                .map(ResourceVersion::etag)
+                .orElseThrow(() -> new RuntimeException("Lead not found"));
+    }
+
     // ================= GET LEADS BY STATUS =================
 
-    public List<Lead> getLeadsByStatus(String status) {
-        try {
-            LeadStatus leadStatus = LeadStatus.valueOf(status.toUpperCase());
-            return leadRepository.findByStatus(leadStatus);
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("Invalid lead status: " + status);
-        }
+    public List<LeadSummaryDTO> getLeadsByStatus(String status) {
+        return leadRepository.findSummariesByStatus(parseStatus(status));
     }
 
     // ================= GET LEADS BY CITY =================
 
-    public List<Lead> getLeadsByCity(String city) {
-        return leadRepository.findByCity(city);
+    public List<LeadSummaryDTO> getLeadsByCity(String city) {
+        return leadRepository.findSummariesByCity(city);
     }
 
     // ================= GET LEADS BY DATE =================
 
-    public List<Lead> getLeadsBetweenDates(LocalDateTime from, LocalDateTime to) {
-        return leadRepository.findByCreatedAtBetween(from, to);
+    public List<LeadSummaryDTO> getLeadsBetweenDates(LocalDateTime from, LocalDateTime to) {
+        return leadRepository.findSummariesByCreatedAtBetween(from, to);
     }
 
-    // ================= UPDATE LEAD WITH AUDIT =================
-
-    public Lead updateLead(Long id, Lead updatedLead, String username) {
+    // ================= UPDATE LEAD =================
 
-        Lead existing = leadRepository.findById(id)
+    /**
+     * Copies the editable fields and records one audit row with the diff of
+     * those that changed, plus a status transition when the status changed.
+     * A request that changes nothing writes nothing.
+     */
+    @Transactional
+    public Lead updateLead(Long id, Lead leadDetails, String username) {
+        Lead lead = leadRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Lead not found"));
 
-        // Track field changes
-        checkAndSaveModification(existing, "city",
-                existing.getCity(), updatedLead.getCity(), username);
+        LeadStatus oldStatus = lead.getStatus();
+        LocalDateTime statusEnteredAt = lead.getStatusChangedAt() != null ? lead.getStatusChangedAt() : lead.getCreatedAt();
 
-        checkAndSaveModification(existing, "status",
-                existing.getStatus() != null ? existing.getStatus().name() : null,
-                updatedLead.getStatus() != null ? updatedLead.getStatus().name() : null,
-                username);
-
-        checkAndSaveModification(existing, "modelName",
-                existing.getModelName(), updatedLead.getModelName(), username);
+        LeadDiff diff = LeadDiff.apply(lead, leadDetails, LeadDiff.EDITABLE);
+        if (diff.isEmpty()) {
+            return lead;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        lead.setUpdatedAt(now);
+        if (diff.changed(LeadField.STATUS)) {
+            lead.setStatusChangedAt(now);
+        }
+        if (diff.changed(LeadField.STATUS) && lead.getStatus() != null) {
+            transitionLedger.record(new StatusTransition(id, oldStatus, lead.getStatus(), lead.getCity(),
+                    lead.getAssignedTo(), username, statusEnteredAt, now));
+        }
 
-        checkAndSaveModification(existing, "followUpDate",
-                existing.getFollowUpDate() != null ? existing.getFollowUpDate().toString() : null,
-                updatedLead.getFollowUpDate() != null ? updatedLead.getFollowUpDate().toString() : null,
-                username);
+        Lead updatedLead = leadRepository.save(lead);
+        afterCommit(() -> lookupIndex.put(updatedLead));
 
-        // Apply updates
-        existing.setCity(updatedLead.getCity());
-        existing.setStatus(updatedLead.getStatus());
-        existing.setModelName(updatedLead.getModelName());
-        existing.setFollowUpDate(updatedLead.getFollowUpDate());
+        auditWriter.record(AuditEvent.ofUpdate(id, diff, username));
 
-        return leadRepository.save(existing);
+        return updatedLead;
     }
 
     // ================= DELETE LEAD =================
 
-    public void deleteLead(Long id) {
+    /**
+     * Deletes the lead with its messages and history, like a bulk DELETE,
+     * and then records the DELETED entry, which is kept.
+     */
+    @Transactional
+    public void deleteLead(Long id, String username) {
         Lead lead = leadRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Lead not found"));
+
+        chatMessageRepository.deleteByLeadId(id);
+        leadModificationRepository.deleteByLeadId(id);
+        historyArchive.deleteLead(id);
         leadRepository.delete(lead);
-    }
+        afterCommit(() -> lookupIndex.remove(id));
 
-    // ================= HELPER METHOD FOR AUDIT =================
+        auditWriter.record(AuditEvent.of(id, "DELETED", "Lead deleted", null, username));
+    }
 
-    private void checkAndSaveModification(
-            Lead lead,
-            String field,
-            String oldValue,
-            String newValue,
-            String username
-    ) {
+    /**
+     * The lookup index is not transactional: it only learns of a change once
+     * the change is committed, so a rollback never leaves it behind
+     */
+    private void afterCommit(Runnable indexUpdate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indexUpdate.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indexUpdate.run();
+            }
+        });
+    }
 
-        if (oldValue == null && newValue == null) return;
+    // ================= GET MODIFICATION HISTORY =================
 
-        if (oldValue == null || !oldValue.equals(newValue)) {
+    /**
+     * The newest {@link #MAX_PAGE_SIZE} entries of a lead's history, archived
+     * ones included; older entries are only reachable through
+     * {@link #getModificationPage}
+     */
+    public List<LeadHistoryEntryDTO> getModificationHistory(Long leadId) {
+        return getModificationPage(leadId, null, MAX_PAGE_SIZE).getItems();
+    }
 
-            LeadModification modification = LeadModification.builder()
-                    .lead(lead)
-                    .modifiedField(field)
-                    .oldValue(oldValue)
-                    .newValue(newValue)
-                    .modifiedBy(username)
-                    .build();
+    /**
+     * A lead's history newest first, one page at a time, paged like
+     * {@link #getLeadPage}. Pages continue into the archive once the live
+     * entries run out.
+     */
+    public CursorPageDTO<LeadHistoryEntryDTO> getModificationPage(Long leadId, String cursor, Integer size) {
+        if (!leadRepository.existsById(leadId)) {
+            throw new RuntimeException("Lead not found");
+        }
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        KeysetCursor position = decodeCursor(cursor);
+
+        List<LeadHistoryEntryDTO> rows;
+        if (position == null) {
+            rows = leadModificationRepository.findHistoryFirstPage(leadId, limit);
+        } else if (position.backward()) {
+            rows = leadModificationRepository.findHistoryBefore(leadId, position.timestamp(), position.id(), limit);
+        } else {
+            rows = leadModificationRepository.findHistoryAfter(leadId, position.timestamp(), position.id(), limit);
+        }
 
-            leadModificationRepository.save(modification);
+        // Archived entries are older than live ones except for stragglers, so with a full page
+        // of live rows only the archive months up to the page's far edge need to be read
+        LocalDateTime bound = rows.size() > pageSize ? rows.get(rows.size() - 1).modifiedAt() : null;
+        List<LeadHistoryEntryDTO> archived = historyArchive.read(leadId, position, bound, pageSize + 1);
+        if (!archived.isEmpty()) {
+            List<LeadHistoryEntryDTO> merged = new ArrayList<>(rows);
+            merged.addAll(archived);
+            merged.sort(position != null && position.backward()
+                    ? LeadHistoryArchive.OLDEST_FIRST : LeadHistoryArchive.NEWEST_FIRST);
+            rows = merged.subList(0, Math.min(merged.size(), pageSize + 1));
         }
+        return toPage(rows, pageSize, position, LeadHistoryEntryDTO::modifiedAt, LeadHistoryEntryDTO::id);
     }
 
-    // ================= GET MODIFICATION HISTORY =================
-
-    public List<LeadModification> getModificationHistory(Long leadId) {
-
-        Lead lead = leadRepository.findById(leadId)
-                .orElseThrow(() -> new RuntimeException("Lead not found"));
+    // ================= ACTIVITY FEED =================
+
+    /**
+     * Modifications across all leads, newest first, paged like
+     * {@link #getLeadPage}. Archived entries are not included.
+     *
+     * A lead field name (e.g. status) matches both the rows that record just
+     * that field and the lead updates whose diff includes it. Each is read
+     * from its own index in paging order, and the two are merged.
+     */
+    public CursorPageDTO<LeadHistoryEntryDTO> getActivityPage(ActivityCriteria criteria, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        KeysetCursor position = decodeCursor(cursor);
+        boolean backward = position != null && position.backward();
+
+        List<Specification<LeadModification>> filters = new ArrayList<>();
+        if (hasText(criteria.getModifiedBy())) {
+            filters.add(LeadModificationSpecifications.hasModifiedBy(criteria.getModifiedBy().trim()));
+        }
+        if (criteria.getFrom() != null) {
+            filters.add(LeadModificationSpecifications.modifiedFrom(criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            filters.add(LeadModificationSpecifications.modifiedBefore(criteria.getTo()));
+        }
+        if (position != null) {
+            filters.add(backward
+                    ? LeadModificationSpecifications.before(position.timestamp(), position.id())
+                    : LeadModificationSpecifications.after(position.timestamp(), position.id()));
+        }
+        Specification<LeadModification> base = Specification.allOf(filters);
+
+        List<Specification<LeadModification>> queries = new ArrayList<>();
+        if (hasText(criteria.getModifiedField())) {
+            String field = criteria.getModifiedField().trim();
+            queries.add(base.and(LeadModificationSpecifications.hasModifiedField(field)));
+            LeadField.forAttribute(field)
+                    .filter(LeadDiff.EDITABLE::contains)
+                    .ifPresent(changed -> queries.add(base.and(LeadModificationSpecifications.updateChanged(changed))));
+        } else {
+            queries.add(base);
+        }
 
-        return leadModificationRepository.findByLeadOrderByModifiedAtDesc(lead);
+        // Backward pages are read oldest first from the cursor, then reversed in toPage
+        Sort sort = backward ? Sort.by(Sort.Direction.ASC, "modifiedAt", "id") : Sort.by(Sort.Direction.DESC, "modifiedAt", "id");
+        List<LeadHistoryEntryDTO> rows = new ArrayList<>();
+        for (Specification<LeadModification> query : queries) {
+            rows.addAll(leadModificationRepository.findHistory(query, sort, pageSize + 1));
+        }
+        if (queries.size() > 1) {
+            rows.sort(backward ? LeadHistoryArchive.OLDEST_FIRST : LeadHistoryArchive.NEWEST_FIRST);
+            rows = rows.subList(0, Math.min(rows.size(), pageSize + 1));
+        }
+        return toPage(rows, pageSize, position, LeadHistoryEntryDTO::modifiedAt, LeadHistoryEntryDTO::id);
     }
 
     // ================= DASHBOARD STATS =================
@@ -0,0 +1,215 @@
+package com.hero.leadnurturing.service;
+
+import com.hero.leadnurturing.dto.UploadResponseDTO;
+import com.hero.leadnurturing.service.search.LeadLookupIndex;
+import com.hero.leadnurturing.service.upload.UploadJob;
+import com.hero.leadnurturing.service.upload.UploadMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs uploads on the bounded upload executor and keeps their progress
+ * around after the request has returned, so clients can poll or reconnect.
+ */
+@Service
+public class UploadJobService {
+
+    private static final long SSE_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+
+    private final FileUploadService fileUploadService;
+    private final ThreadPoolTaskExecutor uploadExecutor;
+    private final LeadLookupIndex lookupIndex;
+    private final Duration retention;
+
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public UploadJobService(FileUploadService fileUploadService,
+                            @Qualifier("uploadExecutor") ThreadPoolTaskExecutor uploadExecutor,
+                            LeadLookupIndex lookupIndex,
+                            @Value("${upload.job-retention-minutes:1440}") long retentionMinutes) {
+        this.fileUploadService = fileUploadService;
+        this.uploadExecutor = uploadExecutor;
+        this.lookupIndex = lookupIndex;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    // ================= SUBMIT =================
+
+    public UploadJob submit(MultipartFile file, String format, UploadMode mode, String username) throws IOException {
+
+        // The multipart temp file is gone once the request ends, so keep our own copy
+        Path spoolFile = Files.createTempFile("lead-upload-", ".tmp");
+        try {
+            file.transferTo(spoolFile);
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(spoolFile);
+            throw ex;
+        }
+
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), file.getOriginalFilename(),
+                file.getContentType(), format, username, mode, spoolFile, Files.size(spoolFile));
+        try {
+            return start(job);
+        } catch (RuntimeException ex) {
+            deleteQuietly(spoolFile);
+            throw ex;
+        }
+    }
+
+    /**
+     * Queues a job whose file is spooled (or, for chunked uploads, still arriving)
+     */
+    public UploadJob start(UploadJob job) {
+        jobs.put(job.getId(), job);
+        try {
+            uploadExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException ex) {
+            jobs.remove(job.getId());
+            throw new RuntimeException("Upload queue is full, please try again later");
+        }
+        return job;
+    }
+
+    // ================= STATUS =================
+
+    public UploadJob getJob(String jobId) {
+        UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Upload job not found: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * The finished job's rejection report (CSV: row, column, reason)
+     */
+    public Path getRejectionReport(String jobId) {
+        UploadJob job = getJob(jobId);
+        Path report = job.isFinished() ? job.getRejectionReport().getFile() : null;
+        if (report == null || !Files.exists(report)) {
+            throw new RuntimeException("Rejection report is not available until the upload has finished");
+        }
+        return report;
+    }
+
+    public SseEmitter subscribe(String jobId) {
+        UploadJob job = getJob(jobId);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+
+        emitter.onCompletion(() -> job.getEmitters().remove(emitter));
+        emitter.onTimeout(() -> job.getEmitters().remove(emitter));
+        emitter.onError(ex -> job.getEmitters().remove(emitter));
+
+        job.getEmitters().add(emitter);
+        send(job, emitter);
+
+        // The job may have finished before we registered; make sure the stream still ends
+        if (job.isFinished()) {
+            job.getEmitters().remove(emitter);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    // ================= WORKER =================
+
+    private void run(UploadJob job) {
+        job.markRunning();
+        try {
+            UploadResponseDTO result = fileUploadService.processUpload(job);
+            closeRejectionReport(job);
+            job.markCompleted(result);
+        } catch (Exception e) {
+            closeRejectionReport(job);
+            job.markFailed(UploadResponseDTO.builder()
+                    .success(false)
+                    .message("File processing failed: " + e.getMessage())
+                    .totalRecords((int) job.getRowsProcessed().get())
+                    .successfulRecords((int) job.getRowsSucceeded().get())
+                    .failedRecords((int) job.getRowsFailed().get())
+                    .rejectionReasons(job.getRejectionReasons())
+                    .rejectionReportUrl(job.getRejectionReportUrl())
+                    .build());
+        } finally {
+            deleteQuietly(job.getSpoolFile());
+            // Uploaded rows bypass LeadService: the type-ahead index is rebuilt from the
+            // table. The upsert writer evicts cached leads chunk by chunk.
+            if (job.getRowsSucceeded().get() > 0) {
+                lookupIndex.requestRebuild();
+            }
+            for (SseEmitter emitter : job.getEmitters()) {
+                send(job, emitter);
+                emitter.complete();
+            }
+            job.getEmitters().clear();
+        }
+    }
+
+    // ================= SCHEDULED =================
+
+    @Scheduled(fixedDelayString = "${upload.progress-interval-ms:1000}")
+    public void publishProgress() {
+        for (UploadJob job : jobs.values()) {
+            if (!job.isFinished()) {
+                for (SseEmitter emitter : job.getEmitters()) {
+                    send(job, emitter);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void purgeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.isFinished() && job.getFinishedAt().isBefore(cutoff)) {
+                job.getRejectionReport().delete();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    // ================= HELPERS =================
+
+    private void send(UploadJob job, SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(job.snapshot()));
+        } catch (IOException | IllegalStateException ex) {
+            // client went away
+            job.getEmitters().remove(emitter);
+        }
+    }
+
+    private void closeRejectionReport(UploadJob job) {
+        try {
+            job.getRejectionReport().close();
+        } catch (UncheckedIOException ex) {
+            // the report is cut short, the counters on the job are still complete
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // temp dir cleanup will get it
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.hero.leadnurturing.service.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One lead_modifications row, as queued and journaled by {@link LeadAuditWriter}.
+ * changedFields and diff are only set on the single row of a lead update
+ * (see {@link LeadDiff}).
+ */
+public record AuditEvent(
+        Long leadId,
+        String modifiedField,
+        String oldValue,
+        String newValue,
+        String modifiedBy,
+        LocalDateTime modifiedAt,
+        Integer changedFields,
+        String diff) {
+
+    public AuditEvent(Long leadId, String modifiedField, String oldValue, String newValue, String modifiedBy,
+                      LocalDateTime modifiedAt) {
+        this(leadId, modifiedField, oldValue, newValue, modifiedBy, modifiedAt, null, null);
+    }
+
+    public static AuditEvent of(Long leadId, String modifiedField, String oldValue, String newValue, String modifiedBy) {
+        return new AuditEvent(leadId, modifiedField, oldValue, newValue, modifiedBy, LocalDateTime.now());
+    }
+
+    /**
+     * The one row recorded for a lead update: UPDATED, the changed field names
+     * as the new value, and the encoded diff
+     */
+    public static AuditEvent ofUpdate(Long leadId, LeadDiff diff, String modifiedBy) {
+        return new AuditEvent(leadId, LeadDiff.UPDATED, null, diff.fieldNames(), modifiedBy, LocalDateTime.now(),
+                diff.mask(), diff.encode());
+    }
+}
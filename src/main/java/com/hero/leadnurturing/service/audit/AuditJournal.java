@@ -0,0 +1,230 @@
+package com.hero.leadnurturing.service.audit;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Append-only spill file for queued audit events, one JSON line each.
+ *
+ * Every event gets a sequence number as it is appended. Once a batch is in
+ * the database a "flushed through" marker line is appended; on open,
+ * events after the last marker are the ones still to be written. When
+ * everything appended has been flushed the file is truncated. Under steady
+ * traffic that rarely happens, so once the file passes the compaction size
+ * the events still unflushed (at most what the writer has queued) are
+ * rewritten to a new file that atomically replaces it. Not thread-safe; the
+ * writer serialises access.
+ */
+final class AuditJournal implements Closeable {
+
+    record Entry(long sequence, AuditEvent event) {
+    }
+
+    // A line is either an event (sequence + event) or a marker (flushedThrough)
+    private record Line(Long sequence, AuditEvent event, Long flushedThrough) {
+    }
+
+    static final long DEFAULT_COMPACT_BYTES = 8 * 1024 * 1024;
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private final Path file;
+    private final boolean sync;
+    private final long compactBytes;
+    private final List<Entry> unflushed;
+    // Appended but not yet flushed, in sequence order
+    private final ArrayDeque<Entry> pending;
+    private FileChannel channel;
+    private long compactedSize;
+    private long lastSequence;
+    private long flushedThrough;
+
+    AuditJournal(Path file, boolean sync) {
+        this(file, sync, DEFAULT_COMPACT_BYTES);
+    }
+
+    AuditJournal(Path file, boolean sync, long compactBytes) {
+        this.file = file;
+        this.sync = sync;
+        this.compactBytes = compactBytes;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.unflushed = Files.exists(file) ? read(file) : new ArrayList<>();
+            this.pending = new ArrayDeque<>(unflushed);
+            this.channel = openForAppend();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open audit journal " + file, ex);
+        }
+    }
+
+    /**
+     * Events a previous run journaled but did not get into the database, oldest first
+     */
+    List<Entry> unflushed() {
+        return unflushed;
+    }
+
+    List<Entry> append(List<AuditEvent> events) {
+        List<Entry> entries = new ArrayList<>(events.size());
+        StringBuilder lines = new StringBuilder();
+        for (AuditEvent event : events) {
+            Entry entry = new Entry(++lastSequence, event);
+            entries.add(entry);
+            pending.add(entry);
+            lines.append(JSON.writeValueAsString(new Line(entry.sequence(), event, null))).append('\n');
+        }
+        write(lines.toString());
+        return entries;
+    }
+
+    void markFlushed(long sequence) {
+        flushedThrough = Math.max(flushedThrough, sequence);
+        while (!pending.isEmpty() && pending.peekFirst().sequence() <= flushedThrough) {
+            pending.pollFirst();
+        }
+        if (pending.isEmpty()) {
+            truncate();
+        } else if (size() >= Math.max(compactBytes, 2 * compactedSize)) {
+            // Also waits for the file to double, so a backlog bigger than the threshold is not rewritten on every flush
+            compact();
+        } else {
+            write(JSON.writeValueAsString(new Line(null, null, flushedThrough)) + "\n");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void write(String lines) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write audit journal", ex);
+        }
+    }
+
+    private void truncate() {
+        try {
+            channel.truncate(0);
+            if (sync) {
+                channel.force(false);
+            }
+            compactedSize = 0;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot truncate audit journal", ex);
+        }
+    }
+
+    /**
+     * Rewrites the unflushed events to a sibling file and moves it over the
+     * journal. A crash before the move leaves the old, complete journal.
+     */
+    private void compact() {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (Entry entry : pending) {
+                lines.append(JSON.writeValueAsString(new Line(entry.sequence(), entry.event(), null))).append('\n');
+            }
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(false);
+            }
+            channel.close();
+            Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            channel = openForAppend();
+            compactedSize = channel.size();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot compact audit journal", ex);
+        }
+    }
+
+    long size() {
+        try {
+            return channel.size();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read audit journal size", ex);
+        }
+    }
+
+    private FileChannel openForAppend() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Replays the file. A line cut short by a crash mid-write (unparseable or
+     * missing its newline) is cut off the file, along with anything after
+     * it, so the next append starts on a fresh line.
+     */
+    private List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long flushed = 0;
+        long intactLength = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            ByteArrayOutputStream text = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != '\n') {
+                    text.write(b);
+                    continue;
+                }
+                Line line;
+                try {
+                    line = JSON.readValue(text.toString(StandardCharsets.UTF_8), Line.class);
+                } catch (JacksonException ex) {
+                    // Nothing after a torn line was acknowledged
+                    break;
+                }
+                intactLength += text.size() + 1;
+                text.reset();
+                if (line.flushedThrough() != null) {
+                    flushed = Math.max(flushed, line.flushedThrough());
+                } else if (line.sequence() != null && line.event() != null) {
+                    entries.add(new Entry(line.sequence(), line.event()));
+                    lastSequence = Math.max(lastSequence, line.sequence());
+                }
+            }
+        }
+        if (intactLength < Files.size(file)) {
+            try (FileChannel torn = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                torn.truncate(intactLength);
+                torn.force(false);
+            }
+        }
+        long flushedBefore = flushed;
+        entries.removeIf(entry -> entry.sequence() <= flushedBefore);
+        flushedThrough = flushed;
+        return entries;
+    }
+}
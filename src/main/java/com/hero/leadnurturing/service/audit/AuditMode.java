@@ -0,0 +1,30 @@
+package com.hero.leadnurturing.service.audit;
+
+import java.util.Locale;
+
+/**
+ * When audit rows reach the database (audit.mode)
+ */
+public enum AuditMode {
+
+    /**
+     * Inserted as one batch inside the business transaction, so they commit
+     * or roll back with it
+     */
+    TRANSACTIONAL,
+
+    /**
+     * Journaled to a local file after the business transaction commits, then
+     * written in batches by a background thread; the journal is replayed on
+     * startup, so a crash loses nothing that was journaled
+     */
+    ASYNC;
+
+    public static AuditMode from(String mode) {
+        try {
+            return valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Unknown audit.mode: " + mode);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.hero.leadnurturing.service.audit;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes lead_modifications rows in batches instead of one INSERT per row
+ * on the request thread.
+ *
+ * In {@link AuditMode#TRANSACTIONAL} mode each call inserts its events as
+ * one batch in the caller's transaction. In
+ * {@link AuditMode#ASYNC} mode they are appended to the {@link AuditJournal}
+ * once the transaction has committed and handed to a bounded queue; a
+ * background thread writes them as soon as audit.batch-size are waiting or
+ * audit.flush-interval-ms after the first one arrived. A full queue blocks
+ * the caller until the writer catches up.
+ *
+ * Batches go out as one multi-row INSERT (the connection rewrites batched
+ * statements). A batch that fails is retried row by row; a row the database
+ * rejects (for example, a value too long for its column) is logged and
+ * dropped, anything else is retried until the database is back. lead_id has
+ * no foreign key, so events of a lead deleted in the meantime are kept. Delivery is
+ * at least once: a crash between a batch commit and its journal marker
+ * writes that batch again on the next start.
+ */
+@Component
+public class LeadAuditWriter {
+
+    static final String INSERT_SQL =
+            "INSERT INTO lead_modifications (lead_id, modified_field, old_value, new_value, modified_by, modified_at,"
+                    + " changed_fields, diff) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final AuditMode mode;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    // ASYNC mode only
+    private final AuditJournal journal;
+    private final BlockingQueue<AuditJournal.Entry> queue;
+    private final Thread flusher;
+    private final Object enqueueLock = new Object();
+    private volatile boolean running = true;
+
+    public LeadAuditWriter(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           EntityManager entityManager,
+                           @Value("${audit.mode:async}") String mode,
+                           @Value("${audit.batch-size:500}") int batchSize,
+                           @Value("${audit.flush-interval-ms:200}") long flushIntervalMs,
+                           @Value("${audit.queue-capacity:10000}") int queueCapacity,
+                           @Value("${audit.journal-file:data/audit.journal}") Path journalFile,
+                           @Value("${audit.journal-sync:false}") boolean journalSync,
+                           @Value("${audit.journal-compact-bytes:8388608}") long journalCompactBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.mode = AuditMode.from(mode);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+
+        if (this.mode == AuditMode.ASYNC) {
+            this.journal = new AuditJournal(journalFile, journalSync, journalCompactBytes);
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.flusher = new Thread(this::flushLoop, "lead-audit-writer");
+            this.flusher.setDaemon(true);
+        } else {
+            this.journal = null;
+            this.queue = null;
+            this.flusher = null;
+        }
+    }
+
+    public AuditMode getMode() {
+        return mode;
+    }
+
+    // ================= RECORD =================
+
+    public void record(AuditEvent event) {
+        record(List.of(event));
+    }
+
+    /**
+     * Inside a transaction the events follow it: nothing is written if it
+     * rolls back. Outside one they are written (or queued) right away.
+     */
+    public void record(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (mode == AuditMode.TRANSACTIONAL) {
+            // Part of the caller's transaction, so it commits or rolls back with it.
+            // Pending entity inserts go first, so the rows' leads exist.
+            if (entityManager.isJoinedToTransaction()) {
+                entityManager.flush();
+            }
+            insert(events);
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(events);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<AuditEvent> pending = (List<AuditEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<AuditEvent> batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(batch);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LeadAuditWriter.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.addAll(events);
+    }
+
+    /**
+     * Inserts the rows now, in the caller's transaction if there is one
+     */
+    void insert(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.leadId());
+            ps.setString(2, event.modifiedField());
+            ps.setString(3, event.oldValue());
+            ps.setString(4, event.newValue());
+            ps.setString(5, event.modifiedBy());
+            ps.setTimestamp(6, event.modifiedAt() == null ? null : Timestamp.valueOf(event.modifiedAt()));
+            ps.setObject(7, event.changedFields(), Types.INTEGER);
+            ps.setString(8, event.diff());
+        });
+    }
+
+    private void enqueue(List<AuditEvent> events) {
+        // Journal order and queue order must match for the flushed-through markers. The
+        // journal lock is not held while waiting for queue space: the writer needs it to
+        // mark what it has flushed.
+        synchronized (enqueueLock) {
+            List<AuditJournal.Entry> entries;
+            synchronized (journal) {
+                entries = journal.append(events);
+            }
+            for (AuditJournal.Entry entry : entries) {
+                try {
+                    queue.put(entry);
+                } catch (InterruptedException ex) {
+                    // Journaled already, so it is written on the next start at the latest
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // ================= BACKGROUND WRITER =================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (flusher != null && !flusher.isAlive()) {
+            flusher.start();
+        }
+    }
+
+    private void flushLoop() {
+        List<AuditJournal.Entry> recovered = journal.unflushed();
+        if (!recovered.isEmpty()) {
+            System.out.println("Replaying " + recovered.size() + " journaled audit events");
+            for (int from = 0; from < recovered.size(); from += batchSize) {
+                write(recovered.subList(from, Math.min(from + batchSize, recovered.size())));
+            }
+        }
+
+        List<AuditJournal.Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditJournal.Entry first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0 || !running) {
+                        break;
+                    }
+                    AuditJournal.Entry next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes one batch and marks it flushed in the journal; keeps retrying
+     * while the database is unavailable
+     */
+    private void write(List<AuditJournal.Entry> entries) {
+        List<AuditEvent> events = new ArrayList<>(entries.size());
+        for (AuditJournal.Entry entry : entries) {
+            events.add(entry.event());
+        }
+        while (true) {
+            try {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(events));
+                } catch (DataIntegrityViolationException ex) {
+                    writeOneByOne(events);
+                }
+                break;
+            } catch (RuntimeException ex) {
+                System.err.println("Audit batch failed, retrying: " + ex.getMessage());
+                if (!sleepBeforeRetry()) {
+                    // Shutting down: still journaled, so written on the next start
+                    return;
+                }
+            }
+        }
+        synchronized (journal) {
+            journal.markFlushed(entries.get(entries.size() - 1).sequence());
+        }
+    }
+
+    private void writeOneByOne(List<AuditEvent> events) {
+        for (AuditEvent event : events) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(event)));
+            } catch (DataIntegrityViolationException ex) {
+                System.err.println("Audit event for lead " + event.leadId() + " dropped: " + ex.getMessage());
+            }
+        }
+    }
+
+    private boolean sleepBeforeRetry() {
+        if (!running) {
+            return false;
+        }
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+            return true;
+        } catch (InterruptedException ex) {
+            running = false;
+            return false;
+        }
+    }
+
+    /**
+     * Lets the writer drain what is queued, then closes the journal
+     */
+    @PreDestroy
+    public void shutdown() throws Exception {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        if (flusher.isAlive()) {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        synchronized (journal) {
+            journal.close();
+        }
+    }
+}
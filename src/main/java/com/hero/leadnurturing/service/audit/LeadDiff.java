@@ -0,0 +1,146 @@
+package com.hero.leadnurturing.service.audit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.repository.LeadField;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The columns a lead update changed, with their old and new values.
+ *
+ * Every mutable Lead column is listed once below with its getter and
+ * setter, so comparing and copying is plain method calls (no reflection,
+ * no per-call lookup). The id and the two timestamps are not compared: the
+ * id and created_at never change and updated_at changes on every update.
+ *
+ * A diff is stored as one lead_modifications row: {@link #mask()} has bit
+ * {@code 1 << LeadField.ordinal()} set for each changed column and
+ * {@link #encode()} is {"city":["Delhi","Pune"],...} for just those columns.
+ */
+public final class LeadDiff {
+
+    // modifiedField of the row; the activity feed filters on it too
+    public static final String UPDATED = "UPDATED";
+
+    private record Column<T>(LeadField field, Function<Lead, T> getter, BiConsumer<Lead, T> setter) {
+
+        boolean differs(Lead a, Lead b) {
+            return !Objects.equals(getter.apply(a), getter.apply(b));
+        }
+
+        void copy(Lead from, Lead to) {
+            setter.accept(to, getter.apply(from));
+        }
+
+        String value(Lead lead) {
+            Object value = getter.apply(lead);
+            return value == null ? null : value instanceof Enum<?> e ? e.name() : value.toString();
+        }
+    }
+
+    private static final List<Column<?>> COLUMNS = List.of(
+            new Column<>(LeadField.CONTACT_NUMBER, Lead::getContactNumber, Lead::setContactNumber),
+            new Column<>(LeadField.FIRST_NAME, Lead::getFirstName, Lead::setFirstName),
+            new Column<>(LeadField.LAST_NAME, Lead::getLastName, Lead::setLastName),
+            new Column<>(LeadField.GOVERNMENT_ID, Lead::getGovernmentId, Lead::setGovernmentId),
+            new Column<>(LeadField.EMAIL, Lead::getEmail, Lead::setEmail),
+            new Column<>(LeadField.CITY, Lead::getCity, Lead::setCity),
+            new Column<>(LeadField.ADDRESS, Lead::getAddress, Lead::setAddress),
+            new Column<>(LeadField.MODEL_NAME, Lead::getModelName, Lead::setModelName),
+            new Column<>(LeadField.LEAD_SOURCE, Lead::getLeadSource, Lead::setLeadSource),
+            new Column<>(LeadField.LEAD_MODE, Lead::getLeadMode, Lead::setLeadMode),
+            new Column<>(LeadField.FOLLOW_UP_DATE, Lead::getFollowUpDate, Lead::setFollowUpDate),
+            new Column<>(LeadField.STATUS, Lead::getStatus, Lead::setStatus),
+            new Column<>(LeadField.ASSIGNED_TO, Lead::getAssignedTo, Lead::setAssignedTo));
+
+    /**
+     * What the lead edit form (PUT /api/leads/{id}) may change; the
+     * assignment is changed through the bulk REASSIGN action only
+     */
+    public static final Set<LeadField> EDITABLE = EnumSet.complementOf(
+            EnumSet.of(LeadField.ID, LeadField.ASSIGNED_TO, LeadField.CREATED_AT, LeadField.UPDATED_AT));
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private final List<Column<?>> changed;
+    private final String[] oldValues;
+    private final String[] newValues;
+
+    private LeadDiff(List<Column<?>> changed, String[] oldValues, String[] newValues) {
+        this.changed = changed;
+        this.oldValues = oldValues;
+        this.newValues = newValues;
+    }
+
+    /**
+     * Copies the given fields of changes onto lead where they differ and
+     * returns what changed. Fields that are equal are not written, so Hibernate
+     * sees them as clean.
+     */
+    public static LeadDiff apply(Lead lead, Lead changes, Set<LeadField> fields) {
+        List<Column<?>> changed = new ArrayList<>();
+        String[] oldValues = new String[COLUMNS.size()];
+        String[] newValues = new String[COLUMNS.size()];
+        for (Column<?> column : COLUMNS) {
+            if (!fields.contains(column.field()) || !column.differs(lead, changes)) {
+                continue;
+            }
+            oldValues[changed.size()] = column.value(lead);
+            newValues[changed.size()] = column.value(changes);
+            changed.add(column);
+            column.copy(changes, lead);
+        }
+        return new LeadDiff(changed, oldValues, newValues);
+    }
+
+    public boolean isEmpty() {
+        return changed.isEmpty();
+    }
+
+    public boolean changed(LeadField field) {
+        for (Column<?> column : changed) {
+            if (column.field() == field) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int mask() {
+        int mask = 0;
+        for (Column<?> column : changed) {
+            mask |= 1 << column.field().ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * The changed columns' API names, e.g. "city, status"
+     */
+    public String fieldNames() {
+        List<String> names = new ArrayList<>(changed.size());
+        for (Column<?> column : changed) {
+            names.add(column.field().getAttribute());
+        }
+        return String.join(", ", names);
+    }
+
+    public String encode() {
+        Map<String, List<String>> diff = new LinkedHashMap<>();
+        for (int i = 0; i < changed.size(); i++) {
+            diff.put(changed.get(i).field().getAttribute(), Arrays.asList(oldValues[i], newValues[i]));
+        }
+        return JSON.writeValueAsString(diff);
+    }
+}
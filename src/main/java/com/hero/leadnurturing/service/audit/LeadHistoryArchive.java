@@ -0,0 +1,230 @@
+package com.hero.leadnurturing.service.audit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hero.leadnurturing.dto.LeadHistoryEntryDTO;
+import com.hero.leadnurturing.entity.LeadModificationArchive;
+import com.hero.leadnurturing.repository.LeadModificationArchiveRepository;
+import com.hero.leadnurturing.repository.LeadModificationRepository;
+import com.hero.leadnurturing.service.KeysetCursor;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Moves old lead_modifications rows into lead_modification_archive and
+ * reads them back for the history pages.
+ *
+ * Entries older than audit.archive.after-days are grouped by lead and
+ * calendar month; each group becomes (or is merged into) one archive row
+ * holding the entries as gzipped JSON, and the originals are deleted in the
+ * same transaction. Entries keep their ids and timestamps, so a history
+ * cursor means the same position whether its entry is live or archived.
+ */
+@Component
+public class LeadHistoryArchive {
+
+    public static final Comparator<LeadHistoryEntryDTO> NEWEST_FIRST =
+            Comparator.comparing(LeadHistoryEntryDTO::modifiedAt).thenComparing(LeadHistoryEntryDTO::id).reversed();
+    public static final Comparator<LeadHistoryEntryDTO> OLDEST_FIRST = NEWEST_FIRST.reversed();
+
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 1);
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private final LeadModificationRepository modificationRepository;
+    private final LeadModificationArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int afterDays;
+    private final int batchSize;
+
+    public LeadHistoryArchive(LeadModificationRepository modificationRepository,
+                              LeadModificationArchiveRepository archiveRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${audit.archive.after-days:180}") int afterDays,
+                              @Value("${audit.archive.batch-size:1000}") int batchSize) {
+        this.modificationRepository = modificationRepository;
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+    }
+
+    // ================= ARCHIVE =================
+
+    @Scheduled(initialDelayString = "${audit.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${audit.archive.interval-ms:3600000}")
+    public void archiveOldEntries() {
+        if (afterDays <= 0) {
+            return;
+        }
+        int archived = archiveOlderThan(LocalDateTime.now().minusDays(afterDays));
+        if (archived > 0) {
+            System.out.println("Archived " + archived + " lead modification entries");
+        }
+    }
+
+    /**
+     * Archives every entry made before the cutoff, audit.archive.batch-size
+     * entries per transaction. Returns how many were moved.
+     */
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        int total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += moved;
+            if (moved < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<LeadHistoryEntryDTO> entries = modificationRepository.findHistoryOlderThan(cutoff, Limit.of(batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<LeadHistoryEntryDTO>> chunks = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (LeadHistoryEntryDTO entry : entries) {
+            chunks.computeIfAbsent(entry.leadId() + "|" + periodOf(entry.modifiedAt()), key -> new ArrayList<>())
+                    .add(entry);
+            ids.add(entry.id());
+        }
+
+        for (List<LeadHistoryEntryDTO> chunk : chunks.values()) {
+            Long leadId = chunk.get(0).leadId();
+            LocalDate period = periodOf(chunk.get(0).modifiedAt());
+            LeadModificationArchive archive = archiveRepository.findByLeadIdAndPeriod(leadId, period)
+                    .orElseGet(() -> LeadModificationArchive.builder().leadId(leadId).period(period).build());
+
+            // Entries of a month that was archived before (made late, or replayed from the audit journal)
+            List<LeadHistoryEntryDTO> merged = new ArrayList<>(chunk);
+            if (archive.getEntries() != null) {
+                merged.addAll(decode(archive.getEntries()));
+            }
+            merged.sort(NEWEST_FIRST);
+            archive.setEntryCount(merged.size());
+            archive.setNewestAt(merged.get(0).modifiedAt());
+            archive.setOldestAt(merged.get(merged.size() - 1).modifiedAt());
+            archive.setEntries(encode(merged));
+            archiveRepository.save(archive);
+        }
+        modificationRepository.deleteAllByIdInBatch(ids);
+        return entries.size();
+    }
+
+    public void deleteLead(Long leadId) {
+        archiveRepository.deleteByLeadId(leadId);
+    }
+
+    // ================= READ =================
+
+    /**
+     * Up to limit archived entries of the lead beyond the cursor (all of them
+     * without one), in page order: newest first, or oldest first for a
+     * backward cursor. When bound is given, months entirely beyond it are not
+     * read; the caller already has a full page up to there.
+     */
+    public List<LeadHistoryEntryDTO> read(Long leadId, KeysetCursor position, LocalDateTime bound, int limit) {
+        boolean ascending = position != null && position.backward();
+        LocalDate from = EARLIEST;
+        LocalDate to = LATEST;
+        if (position != null) {
+            if (ascending) {
+                from = periodOf(position.timestamp());
+            } else {
+                to = periodOf(position.timestamp());
+            }
+        }
+        if (bound != null) {
+            if (ascending) {
+                to = periodOf(bound);
+            } else {
+                from = periodOf(bound);
+            }
+        }
+        if (from.isAfter(to)) {
+            return List.of();
+        }
+
+        List<LocalDate> periods = ascending
+                ? archiveRepository.findPeriodsOldestFirst(leadId, from, to)
+                : archiveRepository.findPeriodsNewestFirst(leadId, from, to);
+        List<LeadHistoryEntryDTO> result = new ArrayList<>();
+        for (LocalDate period : periods) {
+            // Months are read one at a time, newest (or oldest) first, until the page is full
+            Optional<LeadModificationArchive> archive = archiveRepository.findByLeadIdAndPeriod(leadId, period);
+            if (archive.isEmpty()) {
+                continue;
+            }
+            List<LeadHistoryEntryDTO> entries = new ArrayList<>(decode(archive.get().getEntries()));
+            entries.sort(ascending ? OLDEST_FIRST : NEWEST_FIRST);
+            for (LeadHistoryEntryDTO entry : entries) {
+                if (position != null && !beyond(entry, position)) {
+                    continue;
+                }
+                result.add(entry);
+                if (result.size() == limit) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean beyond(LeadHistoryEntryDTO entry, KeysetCursor position) {
+        int compared = entry.modifiedAt().compareTo(position.timestamp());
+        if (compared == 0) {
+            compared = Long.compare(entry.id(), position.id());
+        }
+        return position.backward() ? compared > 0 : compared < 0;
+    }
+
+    private static LocalDate periodOf(LocalDateTime timestamp) {
+        return timestamp.toLocalDate().withDayOfMonth(1);
+    }
+
+    // ================= ENCODING =================
+
+    static byte[] encode(List<LeadHistoryEntryDTO> entries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            JSON.writeValue(out, entries);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<LeadHistoryEntryDTO> decode(byte[] entries) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(entries))) {
+            return Arrays.asList(JSON.readValue(in, LeadHistoryEntryDTO[].class));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
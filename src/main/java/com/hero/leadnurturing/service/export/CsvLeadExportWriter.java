@@ -0,0 +1,65 @@
+package com.hero.leadnurturing.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.hero.leadnurturing.entity.Lead;
+
+/**
+ * RFC 4180 CSV written straight to the response stream. A UTF-8 byte order
+ * mark is written first so Excel picks the right encoding.
+ */
+class CsvLeadExportWriter implements LeadExportWriter {
+
+    private final Writer writer;
+
+    CsvLeadExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write('\uFEFF');
+        for (LeadExportColumn column : LeadExportColumn.ALL) {
+            if (column.ordinal() > 0) {
+                writer.write(',');
+            }
+            writeField(column.getHeader());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(Lead lead) throws IOException {
+        for (LeadExportColumn column : LeadExportColumn.ALL) {
+            if (column.ordinal() > 0) {
+                writer.write(',');
+            }
+            Object value = column.valueOf(lead);
+            if (value != null) {
+                writeField(value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
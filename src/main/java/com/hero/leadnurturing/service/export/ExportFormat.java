@@ -0,0 +1,41 @@
+package com.hero.leadnurturing.service.export;
+
+import java.util.Locale;
+
+/**
+ * Formats offered by GET /api/leads/export
+ */
+public enum ExportFormat {
+    CSV("text/csv; charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Blank means CSV
+     */
+    public static ExportFormat from(String format) {
+        if (format == null || format.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.hero.leadnurturing.service.export;
+
+import java.util.function.Function;
+
+import com.hero.leadnurturing.entity.Lead;
+
+/**
+ * Exported columns, in file order. Header names are ones the upload column
+ * mapping recognises, so an export can be edited and uploaded again.
+ */
+public enum LeadExportColumn {
+    ID("ID", Lead::getId),
+    CONTACT_NUMBER("Contact Number", Lead::getContactNumber),
+    FIRST_NAME("First Name", Lead::getFirstName),
+    LAST_NAME("Last Name", Lead::getLastName),
+    GOVERNMENT_ID("Government ID", Lead::getGovernmentId),
+    EMAIL("Email", Lead::getEmail),
+    CITY("City", Lead::getCity),
+    ADDRESS("Address", Lead::getAddress),
+    MODEL_NAME("Model Name", Lead::getModelName),
+    LEAD_SOURCE("Lead Source", Lead::getLeadSource),
+    LEAD_MODE("Lead Mode", Lead::getLeadMode),
+    STATUS("Status", Lead::getStatus),
+    ASSIGNED_TO("Assigned To", Lead::getAssignedTo),
+    FOLLOW_UP_DATE("Follow Up Date", Lead::getFollowUpDate),
+    CREATED_AT("Created At", Lead::getCreatedAt),
+    UPDATED_AT("Updated At", Lead::getUpdatedAt);
+
+    static final LeadExportColumn[] ALL = values();
+
+    private final String header;
+    private final Function<Lead, Object> accessor;
+
+    LeadExportColumn(String header, Function<Lead, Object> accessor) {
+        this.header = header;
+        this.accessor = accessor;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public Object valueOf(Lead lead) {
+        return accessor.apply(lead);
+    }
+}
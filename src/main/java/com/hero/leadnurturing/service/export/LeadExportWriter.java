@@ -0,0 +1,24 @@
+package com.hero.leadnurturing.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.hero.leadnurturing.entity.Lead;
+
+/**
+ * Writes leads to an export file one row at a time. Nothing but the current
+ * row (and, for XLSX, a small window of rows) is held in memory. Closing
+ * finishes the file but leaves the underlying stream open.
+ */
+public interface LeadExportWriter extends Closeable {
+
+    void write(Lead lead) throws IOException;
+
+    static LeadExportWriter open(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvLeadExportWriter(out);
+            case XLSX -> new XlsxLeadExportWriter(out);
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.hero.leadnurturing.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import com.hero.leadnurturing.entity.Lead;
+
+/**
+ * XLSX through POI's SXSSF writer: only the last {@link #WINDOW} rows stay
+ * in memory, older rows are flushed to a compressed temp file that is
+ * copied to the output on close.
+ *
+ * A sheet holds at most 1,048,576 rows, so longer exports continue on
+ * "Leads 2", "Leads 3", ..., each starting with the header row again.
+ */
+class XlsxLeadExportWriter implements LeadExportWriter {
+
+    static final int WINDOW = 100;
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final int maxRowsPerSheet;
+    private final CellStyle dateStyle;
+    private final CellStyle dateTimeStyle;
+    private SXSSFSheet sheet;
+    private int sheetCount;
+    private int rowNum;
+
+    XlsxLeadExportWriter(OutputStream out) {
+        this(out, SpreadsheetVersion.EXCEL2007.getMaxRows());
+    }
+
+    XlsxLeadExportWriter(OutputStream out, int maxRowsPerSheet) {
+        this.out = out;
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        this.workbook = new SXSSFWorkbook(WINDOW);
+        workbook.setCompressTempFiles(true);
+
+        short dateFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd");
+        short dateTimeFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss");
+        this.dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(dateFormat);
+        this.dateTimeStyle = workbook.createCellStyle();
+        dateTimeStyle.setDataFormat(dateTimeFormat);
+
+        startSheet();
+    }
+
+    private void startSheet() {
+        sheetCount++;
+        sheet = workbook.createSheet(sheetCount == 1 ? "Leads" : "Leads " + sheetCount);
+        rowNum = 0;
+        Row header = sheet.createRow(rowNum++);
+        for (LeadExportColumn column : LeadExportColumn.ALL) {
+            header.createCell(column.ordinal()).setCellValue(column.getHeader());
+        }
+    }
+
+    @Override
+    public void write(Lead lead) {
+        if (rowNum == maxRowsPerSheet) {
+            startSheet();
+        }
+        Row row = sheet.createRow(rowNum++);
+        for (LeadExportColumn column : LeadExportColumn.ALL) {
+            Object value = column.valueOf(lead);
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(column.ordinal());
+            if (value instanceof Long id) {
+                cell.setCellValue(id);
+            } else if (value instanceof LocalDateTime dateTime) {
+                cell.setCellValue(dateTime);
+                cell.setCellStyle(dateTimeStyle);
+            } else if (value instanceof LocalDate date) {
+                cell.setCellValue(date);
+                cell.setCellStyle(dateStyle);
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(out);
+            out.flush();
+        } finally {
+            // close() leaves the flushed temp file behind
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.hero.leadnurturing.service.funnel;
+
+import java.time.Duration;
+
+/**
+ * Bucket bounds of the dwell-time histograms.
+ *
+ * Bounds grow roughly geometrically from a minute to a year, so a
+ * percentile read from a bucket is off by at most a fraction of its value
+ * (about half of it) whether leads move in minutes or in months. Bucket i
+ * holds dwell times in (UPPER[i - 1], UPPER[i]]; the last one is open-ended.
+ * Changing the bounds changes what stored bucket numbers mean, so only ever
+ * append to them.
+ */
+public final class DwellBuckets {
+
+    private static final long[] UPPER = {
+            minutes(1), minutes(5), minutes(15), minutes(30),
+            hours(1), hours(3), hours(6), hours(12),
+            days(1), days(2), days(3), days(5), days(7), days(14), days(21),
+            days(30), days(45), days(60), days(90), days(180), days(365)
+    };
+
+    public static final int COUNT = UPPER.length + 1;
+
+    private DwellBuckets() {
+    }
+
+    public static int bucketOf(long dwellSeconds) {
+        for (int i = 0; i < UPPER.length; i++) {
+            if (dwellSeconds <= UPPER[i]) {
+                return i;
+            }
+        }
+        return UPPER.length;
+    }
+
+    /**
+     * The dwell time (seconds) below which the given percentage of
+     * transitions fall, interpolated linearly inside the bucket that holds
+     * it. Past the last bound the bound itself is returned. Null when the
+     * histogram is empty.
+     */
+    public static Long percentile(long[] counts, double percentage) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return null;
+        }
+
+        double rank = Math.max(1, Math.ceil(total * percentage / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0 || seen + counts[i] < rank) {
+                seen += counts[i];
+                continue;
+            }
+            long lower = i == 0 ? 0 : UPPER[i - 1];
+            if (i == UPPER.length) {
+                return lower;
+            }
+            double within = (rank - seen) / counts[i];
+            return Math.round(lower + within * (UPPER[i] - lower));
+        }
+        return UPPER[UPPER.length - 1];
+    }
+
+    private static long minutes(long minutes) {
+        return Duration.ofMinutes(minutes).toSeconds();
+    }
+
+    private static long hours(long hours) {
+        return Duration.ofHours(hours).toSeconds();
+    }
+
+    private static long days(long days) {
+        return Duration.ofDays(days).toSeconds();
+    }
+}
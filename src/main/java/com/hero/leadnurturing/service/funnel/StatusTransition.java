@@ -0,0 +1,29 @@
+package com.hero.leadnurturing.service.funnel;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import com.hero.leadnurturing.entity.LeadStatus;
+
+/**
+ * A lead's status changing from one value to another, as handed to
+ * {@link StatusTransitionLedger}. enteredAt is when the lead got fromStatus
+ * (its creation for leads that never changed status before).
+ */
+public record StatusTransition(
+        Long leadId,
+        LeadStatus fromStatus,
+        LeadStatus toStatus,
+        String city,
+        String agent,
+        String changedBy,
+        LocalDateTime enteredAt,
+        LocalDateTime changedAt) {
+
+    public long dwellSeconds() {
+        if (enteredAt == null || changedAt.isBefore(enteredAt)) {
+            return 0;
+        }
+        return Duration.between(enteredAt, changedAt).toSeconds();
+    }
+}
@@ -0,0 +1,195 @@
+package com.hero.leadnurturing.service.funnel;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.hero.leadnurturing.dto.DwellTimeStatsDTO;
+import com.hero.leadnurturing.entity.DwellDimension;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.entity.StatusDwellBucket;
+import com.hero.leadnurturing.repository.StatusDwellBucketRepository;
+
+/**
+ * Records lead status changes and keeps the dwell-time histograms the
+ * funnel dashboard reads.
+ *
+ * Every transition is one lead_status_transitions row and adds one to a
+ * bucket of three histograms: all leads, the lead's city and its agent.
+ * Both happen in the caller's transaction, so the histograms always agree
+ * with the ledger. Increments for the same bucket within one call are added
+ * up first and buckets are updated in key order, so two concurrent bulk
+ * changes lock the rows they share in the same order.
+ *
+ * A percentile is read from at most {@link DwellBuckets#COUNT} counters per
+ * histogram, however many transitions were recorded.
+ */
+@Component
+public class StatusTransitionLedger {
+
+    static final String INSERT_SQL =
+            "INSERT INTO lead_status_transitions (lead_id, from_status, to_status, city, agent, changed_by,"
+                    + " entered_at, changed_at, dwell_seconds) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INCREMENT_SQL =
+            "UPDATE lead_status_dwell_buckets SET transitions = transitions + ? WHERE from_status = ?"
+                    + " AND dimension = ? AND to_status = ? AND dimension_value = ? AND bucket = ?";
+
+    private static final String CREATE_SQL =
+            "INSERT INTO lead_status_dwell_buckets (from_status, dimension, to_status, dimension_value, bucket,"
+                    + " transitions) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_DIMENSION_VALUE = 100;
+
+    private record BucketKey(LeadStatus fromStatus, DwellDimension dimension, LeadStatus toStatus,
+                             String dimensionValue, int bucket) {
+
+        static final Comparator<BucketKey> ORDER = Comparator.comparing(BucketKey::fromStatus)
+                .thenComparing(BucketKey::dimension)
+                .thenComparing(BucketKey::toStatus)
+                .thenComparing(BucketKey::dimensionValue)
+                .thenComparingInt(BucketKey::bucket);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatusDwellBucketRepository bucketRepository;
+
+    public StatusTransitionLedger(JdbcTemplate jdbcTemplate, StatusDwellBucketRepository bucketRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bucketRepository = bucketRepository;
+    }
+
+    // ================= RECORD =================
+
+    public void record(StatusTransition transition) {
+        record(List.of(transition));
+    }
+
+    /**
+     * Writes the transitions and their histogram increments in the caller's
+     * transaction
+     */
+    public void record(List<StatusTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, transitions, transitions.size(), (ps, transition) -> {
+            ps.setLong(1, transition.leadId());
+            ps.setString(2, transition.fromStatus() == null ? null : transition.fromStatus().name());
+            ps.setString(3, transition.toStatus().name());
+            ps.setString(4, transition.city());
+            ps.setString(5, transition.agent());
+            ps.setString(6, transition.changedBy());
+            ps.setTimestamp(7, transition.enteredAt() == null ? null : Timestamp.valueOf(transition.enteredAt()));
+            ps.setTimestamp(8, Timestamp.valueOf(transition.changedAt()));
+            ps.setLong(9, transition.dwellSeconds());
+        });
+
+        Map<BucketKey, Long> increments = new TreeMap<>(BucketKey.ORDER);
+        for (StatusTransition transition : transitions) {
+            // Legacy leads without a status have no stage to measure
+            if (transition.fromStatus() == null) {
+                continue;
+            }
+            int bucket = DwellBuckets.bucketOf(transition.dwellSeconds());
+            increments.merge(key(transition, DwellDimension.ALL, null, bucket), 1L, Long::sum);
+            increments.merge(key(transition, DwellDimension.CITY, transition.city(), bucket), 1L, Long::sum);
+            increments.merge(key(transition, DwellDimension.AGENT, transition.agent(), bucket), 1L, Long::sum);
+        }
+        increments.forEach(this::increment);
+    }
+
+    private void increment(BucketKey key, long count) {
+        if (update(key, count) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(CREATE_SQL, key.fromStatus().name(), key.dimension().name(), key.toStatus().name(),
+                    key.dimensionValue(), key.bucket(), count);
+        } catch (DuplicateKeyException ex) {
+            // Another transaction created the bucket first
+            update(key, count);
+        }
+    }
+
+    private int update(BucketKey key, long count) {
+        return jdbcTemplate.update(INCREMENT_SQL, count, key.fromStatus().name(), key.dimension().name(),
+                key.toStatus().name(), key.dimensionValue(), key.bucket());
+    }
+
+    private static BucketKey key(StatusTransition transition, DwellDimension dimension, String value, int bucket) {
+        return new BucketKey(transition.fromStatus(), dimension, transition.toStatus(), dimensionValue(value), bucket);
+    }
+
+    private static String dimensionValue(String value) {
+        if (value == null || value.isBlank()) {
+            return "";
+        }
+        String trimmed = value.trim();
+        return trimmed.length() > MAX_DIMENSION_VALUE ? trimmed.substring(0, MAX_DIMENSION_VALUE) : trimmed;
+    }
+
+    // ================= DWELL TIMES =================
+
+    /**
+     * Dwell-time percentiles of leads leaving fromStatus (for toStatus only
+     * when given), one entry per city or agent when grouped, largest group
+     * first. Percentages are 0-100.
+     */
+    public List<DwellTimeStatsDTO> dwellTimes(LeadStatus fromStatus, LeadStatus toStatus, DwellDimension dimension,
+                                              List<Double> percentages) {
+        List<StatusDwellBucket> buckets = toStatus == null
+                ? bucketRepository.findByFromStatusAndDimension(fromStatus, dimension)
+                : bucketRepository.findByFromStatusAndDimensionAndToStatus(fromStatus, dimension, toStatus);
+
+        // Without a toStatus, the histograms of every transition out of fromStatus are added up
+        Map<String, long[]> histograms = new LinkedHashMap<>();
+        for (StatusDwellBucket bucket : buckets) {
+            long[] counts = histograms.computeIfAbsent(bucket.getDimensionValue(), value -> new long[DwellBuckets.COUNT]);
+            if (bucket.getBucket() >= 0 && bucket.getBucket() < counts.length) {
+                counts[bucket.getBucket()] += bucket.getTransitions();
+            }
+        }
+        if (histograms.isEmpty() && dimension == DwellDimension.ALL) {
+            histograms.put("", new long[DwellBuckets.COUNT]);
+        }
+
+        List<DwellTimeStatsDTO> stats = new ArrayList<>(histograms.size());
+        histograms.forEach((group, counts) -> stats.add(stats(fromStatus, toStatus, dimension, group, counts, percentages)));
+        stats.sort(Comparator.comparingLong(DwellTimeStatsDTO::getTransitions).reversed());
+        return stats;
+    }
+
+    private static DwellTimeStatsDTO stats(LeadStatus fromStatus, LeadStatus toStatus, DwellDimension dimension,
+                                           String group, long[] counts, List<Double> percentages) {
+        long transitions = 0;
+        for (long count : counts) {
+            transitions += count;
+        }
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        for (Double percentage : percentages) {
+            percentiles.put(label(percentage), DwellBuckets.percentile(counts, percentage));
+        }
+        return DwellTimeStatsDTO.builder()
+                .fromStatus(fromStatus.name())
+                .toStatus(toStatus == null ? null : toStatus.name())
+                .groupBy(dimension == DwellDimension.ALL ? null : dimension.name())
+                .group(dimension == DwellDimension.ALL ? null : group)
+                .transitions(transitions)
+                .percentiles(percentiles)
+                .build();
+    }
+
+    // 50 -> "p50", 99.9 -> "p99.9"
+    private static String label(double percentage) {
+        return percentage == Math.rint(percentage) ? "p" + (long) percentage : "p" + percentage;
+    }
+}
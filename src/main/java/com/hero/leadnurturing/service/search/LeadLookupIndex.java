@@ -0,0 +1,165 @@
+package com.hero.leadnurturing.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.hero.leadnurturing.dto.LeadLookupDTO;
+import com.hero.leadnurturing.entity.Lead;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process type-ahead index over lead phone numbers and names.
+ *
+ * Built from the leads table once the application is ready, then kept up
+ * to date by {@code LeadService} once each create, update and delete has
+ * committed. Bulk uploads write with JDBC, so they ask for a full rebuild
+ * when they finish.
+ * Rebuilds run on a background thread; changes made meanwhile are replayed
+ * onto the new index before it replaces the old one.
+ *
+ * Budget roughly 200 bytes of heap per lead (postings plus the stored phone
+ * and names); type-ahead queries stay in the low milliseconds at 2M leads.
+ */
+@Component
+public class LeadLookupIndex {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "lead-lookup-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TrigramIndex index = new TrigramIndex();
+    // Changes made while a rebuild is reading the table, replayed onto the new index
+    private List<Lead> pendingPuts;
+    private List<Long> pendingRemoves;
+
+    public LeadLookupIndex(DataSource dataSource) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public List<LeadLookupDTO> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Lead lead) {
+        lock.writeLock().lock();
+        try {
+            index.put(lead.getId(), lead.getContactNumber(), lead.getFirstName(), lead.getLastName());
+            if (pendingPuts != null) {
+                pendingPuts.add(lead);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long leadId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(leadId);
+            if (pendingRemoves != null) {
+                pendingRemoves.add(leadId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ================= REBUILD =================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    /**
+     * Schedules a rebuild from the database; requests made before it starts are merged
+     */
+    public void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    System.err.println("Lead lookup index rebuild failed: " + ex.getMessage());
+                }
+            });
+        }
+    }
+
+    void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingPuts = new ArrayList<>();
+            pendingRemoves = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TrigramIndex fresh = new TrigramIndex();
+        try {
+            streamingJdbcTemplate.query("SELECT id, contact_number, first_name, last_name FROM leads ORDER BY id",
+                    rs -> {
+                        fresh.put(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+                    });
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingPuts = null;
+                pendingRemoves = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Lead lead : pendingPuts) {
+                fresh.put(lead.getId(), lead.getContactNumber(), lead.getFirstName(), lead.getLastName());
+            }
+            for (Long leadId : pendingRemoves) {
+                fresh.remove(leadId);
+            }
+            index = fresh;
+            pendingPuts = null;
+            pendingRemoves = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Lead lookup index rebuilt: " + fresh.size() + " leads in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
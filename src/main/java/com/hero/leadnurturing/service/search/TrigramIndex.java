@@ -0,0 +1,248 @@
+package com.hero.leadnurturing.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.hero.leadnurturing.dto.LeadLookupDTO;
+
+/**
+ * Trigram inverted index over lead phone numbers and names, for substring
+ * type-ahead. Not thread-safe; {@link LeadLookupIndex} guards it.
+ *
+ * Each lead gets a dense document number in the order it was added (ids
+ * ascending on a rebuild, so newer leads have higher numbers). Every
+ * three-character window of the phone digits and of the lowercased
+ * "first last" name maps to a sorted int array of document numbers. A query
+ * intersects the lists of its own trigrams, walking the shortest one from the
+ * newest document down, and checks each candidate against the stored values,
+ * so it stops as soon as it has enough hits.
+ *
+ * Updates add postings for the new values and leave the old ones in place;
+ * deletes only clear the stored values. The stale entries fail the final
+ * check and disappear on the next rebuild.
+ */
+public final class TrigramIndex {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private static final long PHONE = 0;
+    private static final long NAME = 1L << 48;
+
+    private final Map<Long, IntList> postings = new HashMap<>();
+
+    private long[] leadIds = new long[1024];     // by document
+    private long[] sortedIds = new long[1024];   // leadIds kept ascending for lookups by id
+    private String[] phones = new String[1024];
+    private String[] firstNames = new String[1024];
+    private String[] lastNames = new String[1024];
+    private int size;
+    private int live;
+
+    // Ids that arrived below the highest id already indexed, so are not in sortedIds
+    private final Map<Long, Integer> unorderedDocs = new HashMap<>();
+
+    /**
+     * Adds the lead, or re-indexes it if it is already present
+     */
+    public void put(long leadId, String contactNumber, String firstName, String lastName) {
+        int doc = find(leadId);
+        if (doc < 0) {
+            doc = append(leadId);
+            live++;
+        } else if (phones[doc] == null) {
+            live++;
+        }
+        phones[doc] = contactNumber != null ? contactNumber : "";
+        firstNames[doc] = firstName;
+        lastNames[doc] = lastName;
+
+        addPostings(PHONE, digits(contactNumber), doc);
+        addPostings(NAME, nameKey(firstName, lastName), doc);
+    }
+
+    public void remove(long leadId) {
+        int doc = find(leadId);
+        if (doc >= 0 && phones[doc] != null) {
+            phones[doc] = null;
+            firstNames[doc] = null;
+            lastNames[doc] = null;
+            live--;
+        }
+    }
+
+    public int size() {
+        return live;
+    }
+
+    /**
+     * Newest first. A query with letters matches names, anything else matches
+     * phone digits; fewer than {@link #MIN_QUERY_LENGTH} characters match nothing.
+     */
+    public List<LeadLookupDTO> search(String query, int limit) {
+        if (query == null) {
+            return List.of();
+        }
+        boolean byName = query.chars().anyMatch(Character::isLetter);
+        String key = byName ? normalizeName(query) : digits(query);
+        if (key.length() < MIN_QUERY_LENGTH) {
+            return List.of();
+        }
+
+        IntList[] lists = new IntList[key.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            IntList list = postings.get(trigram(byName ? NAME : PHONE, key, i));
+            if (list == null) {
+                return List.of();
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        List<LeadLookupDTO> hits = new ArrayList<>(Math.min(limit, 16));
+        IntList shortest = lists[0];
+        candidates:
+        for (int i = shortest.size - 1; i >= 0 && hits.size() < limit; i--) {
+            int doc = shortest.values[i];
+            if (phones[doc] == null) {
+                continue;
+            }
+            for (int l = 1; l < lists.length; l++) {
+                if (!lists[l].contains(doc)) {
+                    continue candidates;
+                }
+            }
+            String value = byName ? nameKey(firstNames[doc], lastNames[doc]) : digits(phones[doc]);
+            if (value.contains(key)) {
+                hits.add(new LeadLookupDTO(leadIds[doc], phones[doc], firstNames[doc], lastNames[doc]));
+            }
+        }
+        return hits;
+    }
+
+    private int find(long leadId) {
+        Integer unordered = unorderedDocs.get(leadId);
+        if (unordered != null) {
+            return unordered;
+        }
+        int doc = Arrays.binarySearch(sortedIds, 0, size, leadId);
+        if (doc < 0) {
+            return -1;
+        }
+        // Placeholders repeat the id before them; the real document is the first of the run
+        while (doc > 0 && sortedIds[doc - 1] == leadId) {
+            doc--;
+        }
+        return doc;
+    }
+
+    private int append(long leadId) {
+        if (size == leadIds.length) {
+            int capacity = size * 2;
+            leadIds = Arrays.copyOf(leadIds, capacity);
+            sortedIds = Arrays.copyOf(sortedIds, capacity);
+            phones = Arrays.copyOf(phones, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+        }
+        leadIds[size] = leadId;
+        if (size > 0 && leadId < sortedIds[size - 1]) {
+            // The slot repeats the previous id as a placeholder; the real id goes in the side map
+            unorderedDocs.put(leadId, size);
+            sortedIds[size] = sortedIds[size - 1];
+        } else {
+            sortedIds[size] = leadId;
+        }
+        return size++;
+    }
+
+    private void addPostings(long field, String key, int doc) {
+        for (int i = 0; i + MIN_QUERY_LENGTH <= key.length(); i++) {
+            postings.computeIfAbsent(trigram(field, key, i), k -> new IntList()).add(doc);
+        }
+    }
+
+    private static long trigram(long field, String key, int start) {
+        return field | (long) key.charAt(start) << 32 | (long) key.charAt(start + 1) << 16 | key.charAt(start + 2);
+    }
+
+    static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    static String nameKey(String firstName, String lastName) {
+        String name = firstName == null ? "" : firstName;
+        if (lastName != null && !lastName.isBlank()) {
+            name = name + " " + lastName;
+        }
+        return normalizeName(name);
+    }
+
+    /**
+     * Lowercase, trimmed, runs of whitespace collapsed to one space
+     */
+    private static String normalizeName(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        boolean space = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = key.length() > 0;
+                continue;
+            }
+            if (space) {
+                key.append(' ');
+                space = false;
+            }
+            key.append(c);
+        }
+        return key.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sorted, duplicate-free int list
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            // Documents mostly arrive in order, so this is usually a plain append
+            if (size > 0 && values[size - 1] >= value) {
+                int at = Arrays.binarySearch(values, 0, size, value);
+                if (at >= 0) {
+                    return;
+                }
+                insert(-at - 1, value);
+                return;
+            }
+            insert(size, value);
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        private void insert(int at, int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = value;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.hero.leadnurturing.service.upload;
+
+/**
+ * Cell-to-text conversions shared by the workbook and streaming readers,
+ * so both paths produce identical strings for the same sheet.
+ */
+public final class CellValues {
+
+    private CellValues() {
+    }
+
+    /**
+     * Whole numbers (phone numbers, pin codes) are written without ".0"
+     */
+    public static String formatNumeric(double value) {
+        if (value == Math.floor(value) && !Double.isInfinite(value)) {
+            return String.valueOf((long) value);
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Converts a raw numeric cell text such as "9.19000001001E11" the same way
+     */
+    public static String formatNumeric(String rawValue) {
+        if (rawValue == null || rawValue.isBlank()) {
+            return "";
+        }
+        try {
+            return formatNumeric(Double.parseDouble(rawValue.trim()));
+        } catch (NumberFormatException ex) {
+            return rawValue.trim();
+        }
+    }
+}
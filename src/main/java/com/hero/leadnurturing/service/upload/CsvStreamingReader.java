@@ -0,0 +1,157 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV tokenizer.
+ *
+ * Reads through a fixed char buffer and emits one row at a time; a field is
+ * only copied out of the buffer once it is complete. Quoted fields may contain
+ * commas, doubled quotes and line breaks. LF, CRLF and lone CR all end a row,
+ * and a leading UTF-8 BOM (as written by Excel) is skipped.
+ */
+public final class CsvStreamingReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private CsvStreamingReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public static void read(InputStream in, LeadRowHandler handler) throws IOException {
+        new CsvStreamingReader(new InputStreamReader(in, StandardCharsets.UTF_8)).readAll(handler);
+    }
+
+    private void readAll(LeadRowHandler handler) throws IOException {
+        if (fill() && buffer[position] == BOM) {
+            position++;
+        }
+
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int rowNum = 0;
+
+        while (nextRow(row, field)) {
+            // Blank lines carry no data; the row number still advances like a sheet row would
+            if (!(row.size() == 1 && row.get(0).isEmpty())) {
+                handler.handleRow(rowNum, List.copyOf(row));
+            }
+            rowNum++;
+            row.clear();
+        }
+    }
+
+    /**
+     * Tokenizes the next row into {@code row}. Returns false at end of input.
+     */
+    private boolean nextRow(List<String> row, StringBuilder field) throws IOException {
+        if (!fill()) {
+            return false;
+        }
+
+        boolean quoted = false;
+        boolean afterQuote = false;
+        field.setLength(0);
+
+        while (fill()) {
+            int start = position;
+
+            while (position < limit) {
+                char c = buffer[position];
+
+                if (quoted) {
+                    if (c == '"') {
+                        field.append(buffer, start, position - start);
+                        position++;
+                        if (!fill()) {
+                            quoted = false;
+                            afterQuote = true;
+                            break;
+                        }
+                        if (buffer[position] == '"') {
+                            // Escaped quote inside a quoted field
+                            field.append('"');
+                            position++;
+                        } else {
+                            quoted = false;
+                            afterQuote = true;
+                        }
+                        start = position;
+                        continue;
+                    }
+                    position++;
+                    continue;
+                }
+
+                if (c == ',') {
+                    field.append(buffer, start, position - start);
+                    row.add(finish(field));
+                    afterQuote = false;
+                    position++;
+                    start = position;
+                } else if (c == '\n' || c == '\r') {
+                    field.append(buffer, start, position - start);
+                    row.add(finish(field));
+                    position++;
+                    if (c == '\r' && fill() && buffer[position] == '\n') {
+                        position++;
+                    }
+                    return true;
+                } else if (c == '"' && position == start && field.isEmpty() && !afterQuote) {
+                    quoted = true;
+                    position++;
+                    start = position;
+                } else {
+                    position++;
+                }
+            }
+
+            field.append(buffer, start, Math.max(position - start, 0));
+        }
+
+        row.add(finish(field));
+        return true;
+    }
+
+    /**
+     * Values are trimmed the same way as Excel string cells
+     */
+    private String finish(StringBuilder field) {
+        String value = field.toString().trim();
+        field.setLength(0);
+        return value;
+    }
+
+    /**
+     * Makes sure at least one char is buffered. Returns false at end of input.
+     */
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+
+        if (read < 0) {
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
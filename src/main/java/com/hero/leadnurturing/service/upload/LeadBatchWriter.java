@@ -0,0 +1,98 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hero.leadnurturing.entity.Lead;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Write path for uploaded leads.
+ *
+ * Each chunk is persisted in one transaction with JDBC batching enabled on the
+ * session, so a chunk of 1000 leads becomes a handful of multi-row INSERTs
+ * (together with rewriteBatchedStatements on the MySQL URL). When a chunk
+ * fails, e.g. on a unique constraint, it is retried row by row so the good
+ * rows still land and only the bad ones are counted as failed.
+ */
+@Component
+public class LeadBatchWriter implements LeadChunkWriter {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public LeadBatchWriter(EntityManager entityManager,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${upload.batch-size:1000}") int batchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public int write(List<Lead> chunk, FailedRows failedRows) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            persistAll(chunk);
+            return chunk.size();
+        } catch (RuntimeException chunkFailure) {
+            return writeOneByOne(chunk, failedRows);
+        }
+    }
+
+    private void persistAll(List<Lead> leads) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                for (Lead lead : leads) {
+                    entityManager.persist(lead);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException ex) {
+            // Ids handed out inside the rolled back transaction are not valid any more
+            leads.forEach(lead -> lead.setId(null));
+            throw ex;
+        }
+    }
+
+    private int writeOneByOne(List<Lead> chunk, FailedRows failedRows) {
+        int saved = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                persistAll(List.of(chunk.get(i)));
+                saved++;
+            } catch (RuntimeException rowFailure) {
+                failedRows.failed(i, databaseError(rowFailure));
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Most specific cause of a failed write, e.g. the driver's constraint message
+     */
+    static String databaseError(RuntimeException ex) {
+        String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+        if (message == null) {
+            return ex.getClass().getSimpleName();
+        }
+        return message.length() > 300 ? message.substring(0, 300) : message;
+    }
+}
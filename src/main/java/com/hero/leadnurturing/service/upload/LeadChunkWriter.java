@@ -0,0 +1,27 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.util.List;
+
+import com.hero.leadnurturing.entity.Lead;
+
+/**
+ * Write stage of the upload pipeline: persists one chunk of mapped leads
+ */
+public interface LeadChunkWriter {
+
+    /**
+     * Told about each lead of a chunk that could not be saved
+     */
+    @FunctionalInterface
+    interface FailedRows {
+        void failed(int index, String error);
+    }
+
+    int getBatchSize();
+
+    /**
+     * Persists the chunk and returns how many leads were saved. Leads that
+     * were not saved are reported by their index in the chunk.
+     */
+    int write(List<Lead> chunk, FailedRows failedRows);
+}
@@ -0,0 +1,106 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves upload columns by header name.
+ *
+ * Headers are matched case-insensitively with spaces, dashes and underscores
+ * ignored, so "contactNumber", "Contact Number" and "contact_number" all map
+ * to the same column. Sheets whose header names none of the mandatory
+ * columns fall back to the original fixed layout
+ * (contactNumber, firstName, city, modelName, leadSource).
+ */
+public final class LeadColumnMapping {
+
+    public enum LeadColumn {
+        CONTACT_NUMBER("contactnumber", "phone", "phonenumber", "mobile", "mobilenumber"),
+        FIRST_NAME("firstname"),
+        LAST_NAME("lastname"),
+        EMAIL("email", "emailid"),
+        CITY("city"),
+        ADDRESS("address"),
+        MODEL_NAME("modelname", "model"),
+        LEAD_SOURCE("leadsource", "source"),
+        LEAD_MODE("leadmode", "mode"),
+        STATUS("status", "leadstatus"),
+        GOVERNMENT_ID("governmentid", "govtid");
+
+        private final List<String> aliases;
+
+        LeadColumn(String... aliases) {
+            this.aliases = List.of(aliases);
+        }
+    }
+
+    private static final LeadColumn[] LEGACY_LAYOUT = {
+            LeadColumn.CONTACT_NUMBER,
+            LeadColumn.FIRST_NAME,
+            LeadColumn.CITY,
+            LeadColumn.MODEL_NAME,
+            LeadColumn.LEAD_SOURCE
+    };
+
+    private final int[] indexes = new int[LeadColumn.values().length];
+
+    private LeadColumnMapping() {
+        Arrays.fill(indexes, -1);
+    }
+
+    public static LeadColumnMapping fromHeader(List<String> header) {
+        LeadColumnMapping mapping = new LeadColumnMapping();
+        Map<LeadColumn, Integer> found = new EnumMap<>(LeadColumn.class);
+
+        for (int i = 0; i < header.size(); i++) {
+            String name = normalize(header.get(i));
+            for (LeadColumn column : LeadColumn.values()) {
+                if (!found.containsKey(column) && column.aliases.contains(name)) {
+                    found.put(column, i);
+                    break;
+                }
+            }
+        }
+
+        if (!found.containsKey(LeadColumn.CONTACT_NUMBER) && !found.containsKey(LeadColumn.FIRST_NAME)) {
+            return legacy();
+        }
+
+        found.forEach((column, index) -> mapping.indexes[column.ordinal()] = index);
+        return mapping;
+    }
+
+    public static LeadColumnMapping legacy() {
+        LeadColumnMapping mapping = new LeadColumnMapping();
+        for (int i = 0; i < LEGACY_LAYOUT.length; i++) {
+            mapping.indexes[LEGACY_LAYOUT[i].ordinal()] = i;
+        }
+        return mapping;
+    }
+
+    public boolean has(LeadColumn column) {
+        return indexes[column.ordinal()] >= 0;
+    }
+
+    /**
+     * Cell text for the column, or "" when the column or cell is missing
+     */
+    public String value(List<String> cells, LeadColumn column) {
+        int index = indexes[column.ordinal()];
+        return index >= 0 && index < cells.size() ? cells.get(index) : "";
+    }
+
+    private static String normalize(String header) {
+        StringBuilder sb = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+}
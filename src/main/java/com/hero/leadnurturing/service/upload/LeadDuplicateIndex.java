@@ -0,0 +1,193 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.hero.leadnurturing.entity.Lead;
+
+/**
+ * Rejects duplicate leads before they reach the unique constraints on
+ * contact_number and government_id.
+ *
+ * Existing leads are held as sorted primitive arrays (normalized phone
+ * numbers, and 64-bit hashes of government ids) searched with binary search.
+ * A government id hash hit is confirmed with the database, because two ids
+ * can share a hash. In upsert mode an existing contact number is allowed
+ * (the row updates that lead), but a government id owned by another lead is
+ * still rejected, and {@link #existingLeadId} tells the upsert writer which
+ * lead a row's normalized phone belongs to. Rows seen earlier in the same file are tracked in
+ * concurrent sets, since several mapper threads check rows at once; which of
+ * two duplicate rows in one file survives is therefore not defined.
+ */
+public class LeadDuplicateIndex {
+
+    private final long[] existingPhones;
+    // Lead id per entry of existingPhones; null when built without ids
+    private final long[] existingLeadIds;
+    private final long[] existingGovernmentIdHashes;
+    private final Function<String, String> governmentIdOwner;
+
+    private final Set<Long> seenPhones = ConcurrentHashMap.newKeySet();
+    private final Set<String> seenGovernmentIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param existingPhones           normalized phone numbers, any order (sorted in place)
+     * @param existingGovernmentIdHashes {@link #hashGovernmentId} of existing ids, any order (sorted in place)
+     * @param governmentIdOwner        contact number of the lead holding a government id, or null;
+     *                                 used to confirm a hash hit
+     */
+    public LeadDuplicateIndex(long[] existingPhones, long[] existingGovernmentIdHashes,
+                              Function<String, String> governmentIdOwner) {
+        this(existingPhones, null, existingGovernmentIdHashes, governmentIdOwner);
+    }
+
+    /**
+     * @param existingLeadIds id of the lead holding each of existingPhones (same order), or null
+     */
+    public LeadDuplicateIndex(long[] existingPhones, long[] existingLeadIds, long[] existingGovernmentIdHashes,
+                              Function<String, String> governmentIdOwner) {
+        long[] sortedPhones = existingLeadIds == null ? existingPhones : existingPhones.clone();
+        Arrays.sort(sortedPhones);
+        Arrays.sort(existingGovernmentIdHashes);
+        this.existingPhones = sortedPhones;
+        this.existingLeadIds = existingLeadIds == null ? null : idsInOrder(existingPhones, existingLeadIds, sortedPhones);
+        this.existingGovernmentIdHashes = existingGovernmentIdHashes;
+        this.governmentIdOwner = governmentIdOwner;
+    }
+
+    public static LeadDuplicateIndex empty() {
+        return new LeadDuplicateIndex(new long[0], new long[0], id -> null);
+    }
+
+    /**
+     * Throws {@link RowRejectedException} when the lead duplicates an existing
+     * lead or an earlier row of the same upload.
+     */
+    public void check(Lead lead) {
+        check(lead, false);
+    }
+
+    /**
+     * @param allowExisting true for upserts: a lead with the same contact number may already exist
+     */
+    public void check(Lead lead, boolean allowExisting) {
+        long phone = normalizePhone(lead.getContactNumber());
+        if (phone < 0) {
+            throw new RowRejectedException("contactNumber", "Invalid contact number");
+        }
+        if (!allowExisting && Arrays.binarySearch(existingPhones, phone) >= 0) {
+            throw new RowRejectedException("contactNumber", "Duplicate contact number (lead already exists)");
+        }
+        if (!seenPhones.add(phone)) {
+            throw new RowRejectedException("contactNumber", "Duplicate contact number (repeated in file)");
+        }
+
+        String governmentId = normalizeGovernmentId(lead.getGovernmentId());
+        if (governmentId == null) {
+            return;
+        }
+        if (Arrays.binarySearch(existingGovernmentIdHashes, hashGovernmentId(governmentId)) >= 0) {
+            String owner = governmentIdOwner.apply(lead.getGovernmentId());
+            if (owner != null && !(allowExisting && normalizePhone(owner) == phone)) {
+                seenPhones.remove(phone);
+                throw new RowRejectedException("governmentId", allowExisting
+                        ? "Government id belongs to another lead"
+                        : "Duplicate government id (lead already exists)");
+            }
+        }
+        if (!seenGovernmentIds.add(governmentId)) {
+            seenPhones.remove(phone);
+            throw new RowRejectedException("governmentId", "Duplicate government id (repeated in file)");
+        }
+    }
+
+    /**
+     * Id of the existing lead with the same normalized contact number, or
+     * null when there is none (or the index was built without ids). When
+     * several leads share a normalized number, one of them.
+     */
+    public Long existingLeadId(String contactNumber) {
+        long phone = normalizePhone(contactNumber);
+        if (existingLeadIds == null || phone < 0) {
+            return null;
+        }
+        int at = firstIndexOf(existingPhones, phone);
+        return at < existingPhones.length && existingPhones[at] == phone ? existingLeadIds[at] : null;
+    }
+
+    // Places each id at its phone's position in sortedPhones (equal phones take consecutive slots)
+    private static long[] idsInOrder(long[] phones, long[] leadIds, long[] sortedPhones) {
+        long[] ids = new long[sortedPhones.length];
+        boolean[] taken = new boolean[sortedPhones.length];
+        for (int i = 0; i < phones.length; i++) {
+            int at = firstIndexOf(sortedPhones, phones[i]);
+            while (taken[at]) {
+                at++;
+            }
+            taken[at] = true;
+            ids[at] = leadIds[i];
+        }
+        return ids;
+    }
+
+    // Lowest index whose value is >= key
+    private static int firstIndexOf(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Digits only, e.g. "+91 90000-01001" -> 919000001001. Returns -1 when
+     * there are no digits or too many to be a phone number.
+     */
+    public static long normalizePhone(String contactNumber) {
+        if (contactNumber == null) {
+            return -1;
+        }
+        long value = 0;
+        int digits = 0;
+        for (int i = 0; i < contactNumber.length(); i++) {
+            char c = contactNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > 16) {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+            }
+        }
+        // Keep the digit count in the value so "0091..." and "91..." stay distinct
+        return digits == 0 ? -1 : value * 100 + digits;
+    }
+
+    public static String normalizeGovernmentId(String governmentId) {
+        if (governmentId == null || governmentId.isBlank()) {
+            return null;
+        }
+        return governmentId.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * 64-bit FNV-1a of the normalized id
+     */
+    public static long hashGovernmentId(String normalizedGovernmentId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : normalizedGovernmentId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,66 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds a {@link LeadDuplicateIndex} snapshot of the leads table at the
+ * start of an upload. Only the id and the two key columns are read, streamed with a
+ * server-side cursor, straight into primitive arrays.
+ */
+@Component
+public class LeadDuplicateIndexLoader {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public LeadDuplicateIndexLoader(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public LeadDuplicateIndex load() {
+        LongArrayBuilder phones = new LongArrayBuilder();
+        LongArrayBuilder leadIds = new LongArrayBuilder();
+        LongArrayBuilder governmentIds = new LongArrayBuilder();
+
+        streamingJdbcTemplate.query("SELECT id, contact_number, government_id FROM leads", rs -> {
+            long phone = LeadDuplicateIndex.normalizePhone(rs.getString(2));
+            if (phone >= 0) {
+                phones.add(phone);
+                leadIds.add(rs.getLong(1));
+            }
+            String governmentId = LeadDuplicateIndex.normalizeGovernmentId(rs.getString(3));
+            if (governmentId != null) {
+                governmentIds.add(LeadDuplicateIndex.hashGovernmentId(governmentId));
+            }
+        });
+
+        return new LeadDuplicateIndex(phones.toArray(), leadIds.toArray(), governmentIds.toArray(), governmentId ->
+                jdbcTemplate.query("SELECT contact_number FROM leads WHERE government_id = ?",
+                        rs -> rs.next() ? rs.getString(1) : null, governmentId));
+    }
+
+    private static final class LongArrayBuilder {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.hero.leadnurturing.entity.Lead;
+
+/**
+ * Staged upload pipeline: read -> map -> write.
+ *
+ * The calling thread is the reader and pushes raw rows with {@link #submit}.
+ * Mapper workers turn rows into leads, writer threads group them into
+ * chunks for a {@link LeadChunkWriter}. Stages are joined by bounded queues,
+ * so a slow writer eventually blocks the reader instead of piling rows up on
+ * the heap. Each pipeline owns its threads and shuts them down on close.
+ */
+public class LeadImportPipeline implements AutoCloseable {
+
+    /**
+     * Maps a data row to a lead; throws {@link RowRejectedException} when the row must be skipped
+     */
+    @FunctionalInterface
+    public interface RowMapper {
+        Lead map(List<String> cells) throws Exception;
+    }
+
+    private record RawRow(int rowNum, List<String> cells) {
+    }
+
+    // Leads keep their 1-based row number so database rejections can still be reported per row
+    private record MappedLead(long rowNum, Lead lead) {
+    }
+
+    private static final RawRow END_OF_ROWS = new RawRow(-1, List.of());
+    private static final MappedLead END_OF_LEADS = new MappedLead(-1, null);
+
+    private final UploadJob job;
+    private final RowMapper mapper;
+    private final LeadChunkWriter writer;
+    private final int mapperThreads;
+    private final int writerThreads;
+
+    private final BlockingQueue<RawRow> rows;
+    private final BlockingQueue<MappedLead> leads;
+    private final ExecutorService threads;
+    private final CountDownLatch writersDone;
+    private final AtomicInteger mappersRunning;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final StageTimer readTimer;
+    private final StageTimer mapTimer;
+    private final StageTimer writeTimer;
+    private long lastSubmitEnd = System.nanoTime();
+
+    public LeadImportPipeline(UploadJob job, RowMapper mapper, LeadChunkWriter writer,
+                              int mapperThreads, int writerThreads, int queueCapacity) {
+        this.job = job;
+        this.mapper = mapper;
+        this.writer = writer;
+        this.mapperThreads = Math.max(1, mapperThreads);
+        this.writerThreads = Math.max(1, writerThreads);
+
+        this.rows = new ArrayBlockingQueue<>(queueCapacity);
+        this.leads = new ArrayBlockingQueue<>(queueCapacity);
+        this.writersDone = new CountDownLatch(this.writerThreads);
+        this.mappersRunning = new AtomicInteger(this.mapperThreads);
+        this.threads = Executors.newFixedThreadPool(this.mapperThreads + this.writerThreads,
+                namedThreads("lead-import-" + job.getId().substring(0, 8) + "-"));
+
+        this.readTimer = new StageTimer("read", 1);
+        this.mapTimer = new StageTimer("map", this.mapperThreads);
+        this.writeTimer = new StageTimer("write", this.writerThreads);
+        job.getStages().addAll(List.of(readTimer, mapTimer, writeTimer));
+
+        for (int i = 0; i < this.mapperThreads; i++) {
+            threads.execute(this::runMapper);
+        }
+        for (int i = 0; i < this.writerThreads; i++) {
+            threads.execute(this::runWriter);
+        }
+    }
+
+    // ================= READER SIDE =================
+
+    /**
+     * Hands one data row to the mappers, blocking while the queue is full
+     */
+    public void submit(int rowNum, List<String> cells) throws InterruptedException {
+        long start = System.nanoTime();
+        readTimer.addBusy(start - lastSubmitEnd);
+        readTimer.addItems(1);
+
+        putRow(new RawRow(rowNum, cells));
+
+        lastSubmitEnd = System.nanoTime();
+        readTimer.addBlocked(lastSubmitEnd - start);
+    }
+
+    /**
+     * Signals end of input and waits until every queued row has been written
+     */
+    public void finish() throws InterruptedException {
+        readTimer.addBusy(System.nanoTime() - lastSubmitEnd);
+        for (int i = 0; i < mapperThreads; i++) {
+            putRow(END_OF_ROWS);
+        }
+        writersDone.await();
+        checkFailure();
+    }
+
+    /**
+     * Blocks while the row queue is full, but gives up as soon as a stage has failed
+     */
+    private void putRow(RawRow row) throws InterruptedException {
+        do {
+            checkFailure();
+        } while (!rows.offer(row, 100, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void close() {
+        threads.shutdownNow();
+    }
+
+    // ================= MAP STAGE =================
+
+    private void runMapper() {
+        try {
+            while (true) {
+                long waitStart = System.nanoTime();
+                RawRow row = rows.take();
+                long workStart = System.nanoTime();
+                mapTimer.addBlocked(workStart - waitStart);
+
+                if (row == END_OF_ROWS) {
+                    break;
+                }
+
+                Lead lead = null;
+                long displayRowNum = row.rowNum() + 1L;
+                try {
+                    lead = mapper.map(row.cells());
+                    if (lead == null) {
+                        throw new RowRejectedException(null, "Invalid row");
+                    }
+                } catch (RowRejectedException e) {
+                    job.reject(new RowRejection(displayRowNum, e.getColumn(), e.getMessage()));
+                } catch (Exception e) {
+                    job.reject(new RowRejection(displayRowNum, null, "Invalid row", e.getMessage()));
+                }
+                mapTimer.addItems(1);
+
+                long putStart = System.nanoTime();
+                mapTimer.addBusy(putStart - workStart);
+
+                if (lead != null) {
+                    leads.put(new MappedLead(displayRowNum, lead));
+                    mapTimer.addBlocked(System.nanoTime() - putStart);
+                }
+            }
+        } catch (Throwable t) {
+            fail(t);
+        } finally {
+            // The last mapper out tells the writers there is nothing more coming
+            if (mappersRunning.decrementAndGet() == 0) {
+                putEndMarkers(writerThreads);
+            }
+        }
+    }
+
+    // ================= WRITE STAGE =================
+
+    private void runWriter() {
+        int batchSize = writer.getBatchSize();
+        List<MappedLead> chunk = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                long waitStart = System.nanoTime();
+                MappedLead lead = leads.take();
+                writeTimer.addBlocked(System.nanoTime() - waitStart);
+
+                if (lead == END_OF_LEADS) {
+                    break;
+                }
+
+                chunk.add(lead);
+                // Top the chunk up with whatever is already queued before paying for a round trip
+                leads.drainTo(chunk, batchSize - chunk.size());
+                int endMarkers = 0;
+                while (chunk.remove(END_OF_LEADS)) {
+                    endMarkers++;
+                }
+                if (endMarkers > 0) {
+                    flush(chunk);
+                    // drainTo may have picked up markers meant for the other writers
+                    putEndMarkers(endMarkers - 1);
+                    break;
+                }
+                if (chunk.size() >= batchSize) {
+                    flush(chunk);
+                }
+            }
+            flush(chunk);
+        } catch (Throwable t) {
+            fail(t);
+        } finally {
+            writersDone.countDown();
+        }
+    }
+
+    private void flush(List<MappedLead> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Lead> toWrite = new ArrayList<>(chunk.size());
+        for (MappedLead mapped : chunk) {
+            toWrite.add(mapped.lead());
+        }
+
+        long start = System.nanoTime();
+        int saved = writer.write(toWrite, (index, error) -> job.reject(
+                new RowRejection(chunk.get(index).rowNum(), null, "Rejected by database", error)));
+        writeTimer.addBusy(System.nanoTime() - start);
+        writeTimer.addItems(chunk.size());
+
+        job.getRowsSucceeded().addAndGet(saved);
+        job.getRowsProcessed().addAndGet(saved);
+        chunk.clear();
+    }
+
+    private void putEndMarkers(int count) {
+        try {
+            for (int i = 0; i < count; i++) {
+                leads.put(END_OF_LEADS);
+            }
+        } catch (InterruptedException e) {
+            // only happens when the pipeline is being torn down after a failure
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ================= FAILURE HANDLING =================
+
+    private void fail(Throwable t) {
+        if (t instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure.compareAndSet(null, t)) {
+            // Unblock everyone: stop the other threads and release whoever waits on the latch
+            threads.shutdownNow();
+            while (writersDone.getCount() > 0) {
+                writersDone.countDown();
+            }
+        }
+    }
+
+    private void checkFailure() {
+        Throwable t = failure.get();
+        if (t != null) {
+            throw new IllegalStateException("Upload pipeline failed: " + t.getMessage(), t);
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.util.List;
+
+/**
+ * Callback that receives one parsed sheet row at a time.
+ * Row numbers are 0-based, the header row is row 0.
+ */
+@FunctionalInterface
+public interface LeadRowHandler {
+
+    void handleRow(int rowNum, List<String> cells);
+
+    /**
+     * Called before the first row when the file declares its size up front
+     * (e.g. the dimension element of an .xlsx sheet). The count includes the header.
+     */
+    default void expectRows(long rowCount) {
+    }
+}
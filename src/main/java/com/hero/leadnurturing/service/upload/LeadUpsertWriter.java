@@ -0,0 +1,309 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.repository.LeadField;
+import com.hero.leadnurturing.service.CacheService;
+import com.hero.leadnurturing.service.audit.AuditEvent;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.audit.LeadDiff;
+import com.hero.leadnurturing.service.funnel.StatusTransition;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Write stage for {@link UploadMode#UPSERT} uploads.
+ *
+ * A row updates the lead whose contact number normalizes to the same phone
+ * number in the upload's {@link LeadDuplicateIndex}, the same key its
+ * duplicate check used. Per chunk, in one transaction:
+ * 1. one SELECT loads those leads by id,
+ * 2. one batched UPDATE ... WHERE id = ? writes the changed ones (unchanged
+ *    rows are skipped) and one batched plain INSERT writes the new ones,
+ * 3. each changed lead gets one UPDATED audit event with its encoded
+ *    {@link LeadDiff}, recorded through the {@link LeadAuditWriter} like an
+ *    edit from the lead form,
+ * 4. status changes go to the {@link StatusTransitionLedger}.
+ * Once the chunk has committed, the leads it wrote are evicted from the
+ * second-level cache.
+ *
+ * A row believed new that collides with a lead on contact_number or
+ * government_id (one created since the upload started, say) fails its
+ * INSERT and is rejected; it never overwrites that lead. Likewise an update
+ * that would give a lead another lead's government id.
+ *
+ * Blank cells never overwrite existing values. New rows take their ids from
+ * the Lead entity's own generator, so they stay in step with JPA inserts.
+ */
+@Component
+public class LeadUpsertWriter {
+
+    private record MergedColumn(LeadField field, String column, Function<Lead, String> value,
+                                BiConsumer<Lead, String> setter) {
+    }
+
+    private static final List<MergedColumn> MERGED_COLUMNS = List.of(
+            new MergedColumn(LeadField.FIRST_NAME, "first_name", Lead::getFirstName, Lead::setFirstName),
+            new MergedColumn(LeadField.LAST_NAME, "last_name", Lead::getLastName, Lead::setLastName),
+            new MergedColumn(LeadField.EMAIL, "email", Lead::getEmail, Lead::setEmail),
+            new MergedColumn(LeadField.CITY, "city", Lead::getCity, Lead::setCity),
+            new MergedColumn(LeadField.ADDRESS, "address", Lead::getAddress, Lead::setAddress),
+            new MergedColumn(LeadField.MODEL_NAME, "model_name", Lead::getModelName, Lead::setModelName),
+            new MergedColumn(LeadField.LEAD_SOURCE, "lead_source", Lead::getLeadSource, Lead::setLeadSource),
+            new MergedColumn(LeadField.LEAD_MODE, "lead_mode", Lead::getLeadMode, Lead::setLeadMode),
+            new MergedColumn(LeadField.STATUS, "status", lead -> lead.getStatus() != null ? lead.getStatus().name() : null,
+                    (lead, status) -> lead.setStatus(statusOf(status))),
+            new MergedColumn(LeadField.GOVERNMENT_ID, "government_id", Lead::getGovernmentId, Lead::setGovernmentId)
+    );
+
+    private static final String MERGED_COLUMN_LIST = MERGED_COLUMNS.stream()
+            .map(MergedColumn::column)
+            .collect(Collectors.joining(", "));
+
+    private static final String INSERT_SQL =
+            "INSERT INTO leads (id, contact_number, " + MERGED_COLUMN_LIST + ", status_changed_at, created_at, updated_at)"
+                    + " VALUES (" + String.join(", ", Collections.nCopies(MERGED_COLUMNS.size() + 5, "?")) + ")";
+
+    // status_changed_at is only bound (non-null) for rows whose status changes
+    private static final String UPDATE_SQL =
+            "UPDATE leads SET "
+                    + MERGED_COLUMNS.stream()
+                    .map(c -> c.column() + " = COALESCE(?, " + c.column() + ")")
+                    .collect(Collectors.joining(", "))
+                    + ", status_changed_at = COALESCE(?, status_changed_at), updated_at = ? WHERE id = ?";
+
+    // lead holds the merged columns only
+    private record ExistingLead(long id, Lead lead, LocalDateTime statusEnteredAt, String agent) {
+    }
+
+    private record ChunkResult(int updated, int unchanged, List<Long> writtenIds) {
+    }
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeadBatchWriter leadBatchWriter;
+    private final StatusTransitionLedger transitionLedger;
+    private final CacheService cacheService;
+    private final LeadAuditWriter auditWriter;
+
+    public LeadUpsertWriter(EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate, LeadBatchWriter leadBatchWriter,
+                            StatusTransitionLedger transitionLedger, CacheService cacheService,
+                            LeadAuditWriter auditWriter) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leadBatchWriter = leadBatchWriter;
+        this.transitionLedger = transitionLedger;
+        this.cacheService = cacheService;
+        this.auditWriter = auditWriter;
+    }
+
+    /**
+     * Chunk writer for one upload; changes are audited as made by the uploading user.
+     * duplicateIndex is the one the upload's rows were checked against.
+     */
+    public LeadChunkWriter forJob(UploadJob job, LeadDuplicateIndex duplicateIndex) {
+        return new LeadChunkWriter() {
+            @Override
+            public int getBatchSize() {
+                return leadBatchWriter.getBatchSize();
+            }
+
+            @Override
+            public int write(List<Lead> chunk, FailedRows failedRows) {
+                if (chunk.isEmpty()) {
+                    return 0;
+                }
+                try {
+                    upsert(chunk, job, duplicateIndex);
+                    return chunk.size();
+                } catch (RuntimeException chunkFailure) {
+                    int saved = 0;
+                    for (int i = 0; i < chunk.size(); i++) {
+                        try {
+                            upsert(List.of(chunk.get(i)), job, duplicateIndex);
+                            saved++;
+                        } catch (RuntimeException rowFailure) {
+                            failedRows.failed(i, LeadBatchWriter.databaseError(rowFailure));
+                        }
+                    }
+                    return saved;
+                }
+            }
+        };
+    }
+
+    private void upsert(List<Lead> chunk, UploadJob job, LeadDuplicateIndex duplicateIndex) {
+        ChunkResult result = transactionTemplate.execute(status -> {
+            List<Long> existingIds = new ArrayList<>(chunk.size());
+            for (Lead lead : chunk) {
+                existingIds.add(duplicateIndex.existingLeadId(lead.getContactNumber()));
+            }
+            Map<Long, ExistingLead> existing = loadExisting(existingIds);
+            LocalDateTime now = LocalDateTime.now();
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            List<AuditEvent> audits = new ArrayList<>();
+            List<StatusTransition> transitions = new ArrayList<>();
+            List<Long> writtenIds = new ArrayList<>();
+            int updated = 0;
+            int unchanged = 0;
+
+            for (int row = 0; row < chunk.size(); row++) {
+                Lead lead = chunk.get(row);
+                // A lead deleted since the upload started is created again
+                ExistingLead current = existingIds.get(row) == null ? null : existing.get(existingIds.get(row));
+
+                if (current == null) {
+                    if (lead.getStatus() == null) {
+                        lead.setStatus(LeadStatus.NEW);
+                    }
+                    long id = nextId(lead);
+                    inserts.add(insertParams(id, lead, now));
+                    writtenIds.add(id);
+                    continue;
+                }
+
+                long id = current.id();
+                Lead merged = current.lead();
+                LeadStatus oldStatus = merged.getStatus();
+
+                // Blank cells are left out, so they never count as a change
+                Set<LeadField> filled = EnumSet.noneOf(LeadField.class);
+                for (MergedColumn column : MERGED_COLUMNS) {
+                    if (column.value().apply(lead) != null) {
+                        filled.add(column.field());
+                    }
+                }
+                LeadDiff diff = LeadDiff.apply(merged, lead, filled);
+                if (diff.isEmpty()) {
+                    unchanged++;
+                    continue;
+                }
+                updated++;
+                audits.add(AuditEvent.ofUpdate(id, diff, job.getSubmittedBy()));
+
+                LocalDateTime statusChangedAt = null;
+                if (diff.changed(LeadField.STATUS)) {
+                    statusChangedAt = now;
+                    transitions.add(new StatusTransition(id, oldStatus, merged.getStatus(), merged.getCity(),
+                            current.agent(), job.getSubmittedBy(), current.statusEnteredAt(), now));
+                }
+                updates.add(updateParams(id, lead, statusChangedAt, now));
+                writtenIds.add(id);
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            for (int count : jdbcTemplate.batchUpdate(UPDATE_SQL, updates)) {
+                if (count == 0) {
+                    // Deleted after it was loaded; the chunk is retried row by row
+                    throw new IllegalStateException("Lead to update no longer exists");
+                }
+            }
+            auditWriter.record(audits);
+            transitionLedger.record(transitions);
+            return new ChunkResult(updated, unchanged, writtenIds);
+        });
+
+        // The statements bypassed Hibernate, so its cache is evicted once they are committed
+        if (!result.writtenIds().isEmpty()) {
+            cacheService.evictLeads(result.writtenIds());
+        }
+        job.getRowsUpdated().addAndGet(result.updated());
+        job.getRowsUnchanged().addAndGet(result.unchanged());
+    }
+
+    private Map<Long, ExistingLead> loadExisting(List<Long> ids) {
+        List<Long> known = ids.stream().filter(Objects::nonNull).toList();
+        Map<Long, ExistingLead> existing = new HashMap<>();
+        if (known.isEmpty()) {
+            return existing;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(known.size(), "?"));
+
+        jdbcTemplate.query(
+                "SELECT id, " + MERGED_COLUMN_LIST + ", COALESCE(status_changed_at, created_at), assigned_to"
+                        + " FROM leads WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    Lead lead = new Lead();
+                    for (int i = 0; i < MERGED_COLUMNS.size(); i++) {
+                        MERGED_COLUMNS.get(i).setter().accept(lead, rs.getString(2 + i));
+                    }
+                    Timestamp statusEnteredAt = rs.getTimestamp(2 + MERGED_COLUMNS.size());
+                    existing.put(rs.getLong(1), new ExistingLead(rs.getLong(1), lead,
+                            statusEnteredAt == null ? null : statusEnteredAt.toLocalDateTime(),
+                            rs.getString(3 + MERGED_COLUMNS.size())));
+                },
+                known.toArray());
+        return existing;
+    }
+
+    private Object[] insertParams(long id, Lead lead, LocalDateTime now) {
+        Object[] params = new Object[MERGED_COLUMNS.size() + 5];
+        params[0] = id;
+        params[1] = lead.getContactNumber();
+        for (int i = 0; i < MERGED_COLUMNS.size(); i++) {
+            params[2 + i] = MERGED_COLUMNS.get(i).value().apply(lead);
+        }
+        params[params.length - 3] = now;
+        params[params.length - 2] = now;
+        params[params.length - 1] = now;
+        return params;
+    }
+
+    private Object[] updateParams(long id, Lead lead, LocalDateTime statusChangedAt, LocalDateTime now) {
+        Object[] params = new Object[MERGED_COLUMNS.size() + 3];
+        for (int i = 0; i < MERGED_COLUMNS.size(); i++) {
+            params[i] = MERGED_COLUMNS.get(i).value().apply(lead);
+        }
+        params[params.length - 3] = statusChangedAt;
+        params[params.length - 2] = now;
+        params[params.length - 1] = id;
+        return params;
+    }
+
+    private static LeadStatus statusOf(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return LeadStatus.valueOf(status);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private long nextId(Lead lead) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(Lead.class)
+                .getGenerator();
+        return ((Number) generator.generate(session, lead, null, EventType.INSERT)).longValue();
+    }
+}
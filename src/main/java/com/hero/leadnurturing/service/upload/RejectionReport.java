@@ -0,0 +1,107 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Per-row rejection report of one upload, spilled to a temp CSV file as rows
+ * are rejected so the error count never costs heap. Written concurrently by
+ * the mapper and writer threads; read once the upload has finished.
+ */
+public class RejectionReport implements AutoCloseable {
+
+    static final String HEADER = "row,column,reason";
+
+    private final String name;
+    private Path file;
+    private BufferedWriter out;
+    private boolean closed;
+
+    public RejectionReport(String name) {
+        this.name = name;
+    }
+
+    public synchronized void append(RowRejection rejection) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (out == null) {
+                open();
+            }
+            out.write(Long.toString(rejection.rowNum()));
+            out.write(',');
+            out.write(csv(rejection.column()));
+            out.write(',');
+            out.write(csv(rejection.detail() != null
+                    ? rejection.reason() + ": " + rejection.detail()
+                    : rejection.reason()));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the rejection report", e);
+        }
+    }
+
+    /**
+     * Flushes and closes the file; later rejections are ignored. An upload
+     * without rejections still gets a report holding just the header.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            if (out == null) {
+                open();
+            }
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the rejection report", e);
+        } finally {
+            closed = true;
+        }
+    }
+
+    /**
+     * The finished report, or null while rows can still be added
+     */
+    public synchronized Path getFile() {
+        return closed ? file : null;
+    }
+
+    public synchronized void delete() {
+        closed = true;
+        try {
+            if (out != null) {
+                out.close();
+            }
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ignored) {
+            // temp dir cleanup will get it
+        }
+    }
+
+    private void open() throws IOException {
+        file = Files.createTempFile("lead-rejections-" + name + "-", ".csv");
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        out.write(HEADER);
+        out.write('\n');
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
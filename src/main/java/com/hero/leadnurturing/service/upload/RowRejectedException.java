@@ -0,0 +1,17 @@
+package com.hero.leadnurturing.service.upload;
+
+import lombok.Getter;
+
+/**
+ * Thrown while mapping an upload row that must not be imported
+ */
+@Getter
+public class RowRejectedException extends RuntimeException {
+
+    private final String column;
+
+    public RowRejectedException(String column, String reason) {
+        super(reason);
+        this.column = column;
+    }
+}
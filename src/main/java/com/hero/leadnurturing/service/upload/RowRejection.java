@@ -0,0 +1,16 @@
+package com.hero.leadnurturing.service.upload;
+
+/**
+ * Why one uploaded row was not imported
+ *
+ * @param rowNum 1-based row number as shown in Excel (header is row 1)
+ * @param column the offending column, or null when the row as a whole was rejected
+ * @param reason human readable reason, also the key the rejection is counted under
+ * @param detail row specific detail such as the database error, or null
+ */
+public record RowRejection(long rowNum, String column, String reason, String detail) {
+
+    public RowRejection(long rowNum, String column, String reason) {
+        this(rowNum, column, reason, null);
+    }
+}
@@ -0,0 +1,181 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.poi.util.XMLHelper;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Shared strings table that keeps only offsets on the heap.
+ *
+ * sharedStrings.xml is streamed once into a temp file; each lookup then reads
+ * the string back from disk, with a small direct-mapped cache in front for
+ * repeated values such as city and model names.
+ */
+class SpillingSharedStrings implements Closeable {
+
+    private static final int CACHE_SIZE = 1024;
+
+    private final Path spillFile;
+    private final FileChannel channel;
+    private long[] offsets = new long[1024];
+    private int count;
+
+    private final int[] cachedIndex = new int[CACHE_SIZE];
+    private final String[] cachedValue = new String[CACHE_SIZE];
+    private ByteBuffer readBuffer = ByteBuffer.allocate(256);
+
+    SpillingSharedStrings(InputStream sharedStringsXml) throws IOException {
+        this.spillFile = Files.createTempFile("lead-upload-sst-", ".bin");
+        Arrays.fill(cachedIndex, -1);
+
+        try {
+            if (sharedStringsXml != null) {
+                spill(sharedStringsXml);
+            }
+            this.channel = FileChannel.open(spillFile, StandardOpenOption.READ);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(spillFile);
+            throw ex;
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    String get(int index) throws IOException {
+        if (index < 0 || index >= count) {
+            return "";
+        }
+
+        int slot = index & (CACHE_SIZE - 1);
+        if (cachedIndex[slot] == index) {
+            return cachedValue[slot];
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        readFully(header, offsets[index]);
+        int length = header.flip().getInt();
+
+        if (readBuffer.capacity() < length) {
+            readBuffer = ByteBuffer.allocate(length);
+        }
+        readBuffer.clear().limit(length);
+        readFully(readBuffer, offsets[index] + Integer.BYTES);
+
+        String value = new String(readBuffer.array(), 0, length, StandardCharsets.UTF_8);
+        cachedIndex[slot] = index;
+        cachedValue[slot] = value;
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Shared strings spill file is truncated");
+            }
+            position += read;
+        }
+    }
+
+    private void spill(InputStream xml) throws IOException {
+        try (OutputStream fileOut = Files.newOutputStream(spillFile);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024))) {
+
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new SharedStringsHandler(out));
+            parser.parse(new InputSource(xml));
+        } catch (IOException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException("Unable to read shared strings: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Collects the text runs of each si element, skipping phonetic (rPh) runs
+     */
+    private final class SharedStringsHandler extends DefaultHandler {
+
+        private final DataOutputStream out;
+        private final StringBuilder text = new StringBuilder();
+        private boolean inText;
+        private boolean inPhonetic;
+        private long position;
+
+        private SharedStringsHandler(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "si" -> text.setLength(0);
+                case "rPh" -> inPhonetic = true;
+                case "t" -> inText = !inPhonetic;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "t" -> inText = false;
+                case "rPh" -> inPhonetic = false;
+                case "si" -> write(text.toString());
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                text.append(ch, start, length);
+            }
+        }
+
+        private void write(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            try {
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = position;
+            position += Integer.BYTES + bytes.length;
+        }
+    }
+}
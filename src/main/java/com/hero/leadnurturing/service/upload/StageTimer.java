@@ -0,0 +1,49 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.hero.leadnurturing.dto.UploadStageTimingDTO;
+
+/**
+ * Time accounting for one pipeline stage, summed over all of its threads.
+ *
+ * "busy" is time spent doing the stage's own work, "blocked" is time spent
+ * waiting on a queue: starved for input or held back by a full downstream
+ * queue. The stage with the most busy time per thread is the bottleneck.
+ */
+public class StageTimer {
+
+    private final String stage;
+    private final int threads;
+    private final LongAdder items = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+
+    public StageTimer(String stage, int threads) {
+        this.stage = stage;
+        this.threads = threads;
+    }
+
+    public void addItems(long count) {
+        items.add(count);
+    }
+
+    public void addBusy(long nanos) {
+        busyNanos.add(nanos);
+    }
+
+    public void addBlocked(long nanos) {
+        blockedNanos.add(nanos);
+    }
+
+    public UploadStageTimingDTO snapshot() {
+        return UploadStageTimingDTO.builder()
+                .stage(stage)
+                .threads(threads)
+                .items(items.sum())
+                .busyMillis(TimeUnit.NANOSECONDS.toMillis(busyNanos.sum()))
+                .blockedMillis(TimeUnit.NANOSECONDS.toMillis(blockedNanos.sum()))
+                .build();
+    }
+}
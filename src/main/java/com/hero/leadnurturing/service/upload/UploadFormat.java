@@ -0,0 +1,56 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.apache.poi.poifs.filesystem.FileMagic;
+
+/**
+ * Supported upload file formats
+ */
+public enum UploadFormat {
+    XLSX,   // streamed with the XSSF event model
+    XLS,    // legacy binary workbook, read through WorkbookFactory
+    CSV;    // streamed with CsvStreamingReader
+
+    /**
+     * An explicit format wins, then the file signature for workbooks, then the
+     * file extension / content type for CSV.
+     */
+    public static UploadFormat detect(String requestedFormat, String fileName, String contentType, Path file)
+            throws IOException {
+
+        if (requestedFormat != null && !requestedFormat.isBlank()) {
+            try {
+                return valueOf(requestedFormat.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unsupported upload format: " + requestedFormat);
+            }
+        }
+
+        FileMagic magic;
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            magic = FileMagic.valueOf(is);
+        }
+        if (magic == FileMagic.OOXML) {
+            return XLSX;
+        }
+        if (magic == FileMagic.OLE2) {
+            return XLS;
+        }
+
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv") || type.startsWith("text/csv") || type.startsWith("application/csv")
+                || type.startsWith("text/plain")) {
+            return CSV;
+        }
+
+        // Let WorkbookFactory report what it makes of the file
+        return XLS;
+    }
+}
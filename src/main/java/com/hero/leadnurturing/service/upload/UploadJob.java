@@ -0,0 +1,228 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.hero.leadnurturing.dto.UploadJobStatusDTO;
+import com.hero.leadnurturing.dto.UploadResponseDTO;
+
+import lombok.Getter;
+
+/**
+ * State of one background upload. Counters are updated by the worker thread
+ * and read concurrently by the status / SSE endpoints.
+ */
+@Getter
+public class UploadJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final String fileName;
+    private final String contentType;
+    private final String requestedFormat;
+    private final String submittedBy;
+    private final UploadMode mode;
+    private final Path spoolFile;
+    private final long fileSize;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile UploadResponseDTO result;
+
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLong rowsSucceeded = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+
+    // Upsert only: succeeded rows that updated an existing lead, or matched it exactly
+    private final AtomicLong rowsUpdated = new AtomicLong();
+    private final AtomicLong rowsUnchanged = new AtomicLong();
+
+    // Progress hints used for the ETA: a row count when the format declares one, else bytes consumed
+    private volatile long expectedRows = -1;
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    // Rejection counts by reason, plus the first few rejected rows as examples
+    private static final int MAX_REJECTION_SAMPLES = 100;
+    private final Map<String, LongAdder> rejectionCounts = new ConcurrentHashMap<>();
+    private final List<RowRejection> rejectionSamples = new ArrayList<>();
+    // Every rejected row, spilled to disk
+    private final RejectionReport rejectionReport;
+
+    private final List<StageTimer> stages = new CopyOnWriteArrayList<>();
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    public UploadJob(String id, String fileName, String contentType, String requestedFormat,
+                     String submittedBy, UploadMode mode, Path spoolFile, long fileSize) {
+        this.id = id;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.requestedFormat = requestedFormat;
+        this.submittedBy = submittedBy;
+        this.mode = mode;
+        this.spoolFile = spoolFile;
+        this.fileSize = fileSize;
+        this.rejectionReport = new RejectionReport(id.substring(0, Math.min(8, id.length())));
+    }
+
+    /**
+     * Job for a committed chunked upload; the session's spool file is complete
+     */
+    public UploadJob(String id, UploadSession session) {
+        this.id = id;
+        this.fileName = session.getFileName();
+        this.contentType = session.getContentType();
+        this.requestedFormat = session.getRequestedFormat();
+        this.submittedBy = session.getSubmittedBy();
+        this.mode = session.getMode();
+        this.spoolFile = session.getSpoolFile();
+        this.fileSize = session.getFileSize();
+        this.rejectionReport = new RejectionReport(id.substring(0, Math.min(8, id.length())));
+    }
+
+    public InputStream openInput() throws IOException {
+        return Files.newInputStream(spoolFile);
+    }
+
+    public void markRunning() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    public void markCompleted(UploadResponseDTO result) {
+        this.result = result;
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    public void markFailed(UploadResponseDTO result) {
+        this.result = result;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public void setExpectedRows(long expectedRows) {
+        this.expectedRows = expectedRows;
+    }
+
+    public void addBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    /**
+     * Counts one rejected row as processed and failed, and adds it to the report
+     */
+    public void reject(RowRejection rejection) {
+        countRejections(rejection.reason(), 1);
+        rejectionReport.append(rejection);
+        synchronized (rejectionSamples) {
+            if (rejectionSamples.size() < MAX_REJECTION_SAMPLES) {
+                rejectionSamples.add(rejection);
+            }
+        }
+    }
+
+    private void countRejections(String reason, long rows) {
+        rejectionCounts.computeIfAbsent(reason, r -> new LongAdder()).add(rows);
+        rowsFailed.addAndGet(rows);
+        rowsProcessed.addAndGet(rows);
+    }
+
+    public Map<String, Long> getRejectionReasons() {
+        Map<String, Long> reasons = new TreeMap<>();
+        rejectionCounts.forEach((reason, count) -> reasons.put(reason, count.sum()));
+        return reasons;
+    }
+
+    public List<RowRejection> getRejectionSamples() {
+        synchronized (rejectionSamples) {
+            return List.copyOf(rejectionSamples);
+        }
+    }
+
+    /**
+     * Download link of the rejection report, null when no row was rejected
+     */
+    public String getRejectionReportUrl() {
+        return rowsFailed.get() > 0 ? "/api/upload/" + id + "/rejections" : null;
+    }
+
+    public UploadJobStatusDTO snapshot() {
+        long processed = rowsProcessed.get();
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        double elapsedSeconds = startedAt != null
+                ? Math.max(Duration.between(startedAt, end).toMillis(), 1) / 1000.0
+                : 0;
+        double rowsPerSecond = elapsedSeconds > 0 ? processed / elapsedSeconds : 0;
+
+        long estimatedTotal = estimateTotalRows(processed);
+        Long etaSeconds = null;
+        if (isFinished()) {
+            etaSeconds = 0L;
+        } else if (estimatedTotal > 0 && rowsPerSecond > 0) {
+            etaSeconds = Math.max(0, Math.round((estimatedTotal - processed) / rowsPerSecond));
+        }
+
+        return UploadJobStatusDTO.builder()
+                .jobId(id)
+                .fileName(fileName)
+                .status(status.name())
+                .mode(mode.name())
+                .rowsProcessed(processed)
+                .rowsSucceeded(rowsSucceeded.get())
+                .rowsFailed(rowsFailed.get())
+                .rowsUpdated(rowsUpdated.get())
+                .rowsUnchanged(rowsUnchanged.get())
+                .estimatedTotalRows(estimatedTotal > 0 ? estimatedTotal : null)
+                .rowsPerSecond(Math.round(rowsPerSecond * 10) / 10.0)
+                .etaSeconds(etaSeconds)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .rejectionReasons(getRejectionReasons())
+                .rejectedRows(getRejectionSamples())
+                .rejectionReportUrl(isFinished() ? getRejectionReportUrl() : null)
+                .stages(stages.stream().map(StageTimer::snapshot).toList())
+                .result(result)
+                .build();
+    }
+
+    private long estimateTotalRows(long processed) {
+        if (isFinished()) {
+            return processed;
+        }
+        if (expectedRows > 0) {
+            return Math.max(expectedRows, processed);
+        }
+        long read = bytesRead.get();
+        if (read > 0 && fileSize > 0 && processed > 0) {
+            return Math.max(processed, Math.round(processed * ((double) fileSize / read)));
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,22 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.util.Locale;
+
+/**
+ * How uploaded rows are applied to existing leads
+ */
+public enum UploadMode {
+    INSERT,     // new leads only, rows for existing contact numbers are rejected
+    UPSERT;     // merge on contact_number: insert new leads, update existing ones
+
+    public static UploadMode from(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return INSERT;
+        }
+        try {
+            return valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported upload mode: " + mode);
+        }
+    }
+}
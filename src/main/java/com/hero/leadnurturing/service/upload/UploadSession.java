@@ -0,0 +1,203 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One resumable, chunked upload.
+ *
+ * Chunks are numbered from 0 and all have {@code chunkSize} bytes except the
+ * last. Each is written straight into the spool file at its offset and only
+ * acknowledged once its SHA-256 checksum matches, so a client that lost its
+ * connection resends whatever {@link #getMissingChunks()} still lists.
+ * Nothing reads the file before the session is committed.
+ */
+@Getter
+public class UploadSession {
+
+    public enum Status {
+        OPEN,
+        COMMITTED,
+        ABORTED
+    }
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final String id;
+    private final String fileName;
+    private final String contentType;
+    private final String requestedFormat;
+    private final UploadMode mode;
+    private final String submittedBy;
+    private final Path spoolFile;
+    private final long fileSize;
+    private final int chunkSize;
+    private final int totalChunks;
+
+    // Guarded by this
+    @Getter(AccessLevel.NONE)
+    private final BitSet receivedChunks = new BitSet();
+    @Getter(AccessLevel.NONE)
+    private final BitSet chunksInFlight = new BitSet();
+    @Getter(AccessLevel.NONE)
+    private Status status = Status.OPEN;
+    @Getter(AccessLevel.NONE)
+    private Instant lastActivity = Instant.now();
+
+    // Set once ingestion has been started for this session
+    @Setter
+    private volatile UploadJob job;
+
+    public UploadSession(String id, String fileName, String contentType, String requestedFormat, UploadMode mode,
+                         String submittedBy, Path spoolFile, long fileSize, int chunkSize) {
+        this.id = id;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.requestedFormat = requestedFormat;
+        this.mode = mode;
+        this.submittedBy = submittedBy;
+        this.spoolFile = spoolFile;
+        this.fileSize = fileSize;
+        this.chunkSize = chunkSize;
+        this.totalChunks = (int) Math.max(1, (fileSize + chunkSize - 1) / chunkSize);
+    }
+
+    // ================= CHUNKS =================
+
+    /**
+     * Copies one chunk from the request body into the spool file. Returns
+     * false when the chunk had already been acknowledged (nothing is written).
+     */
+    public boolean writeChunk(int index, InputStream body, String expectedChecksum) throws IOException {
+        if (index < 0 || index >= totalChunks) {
+            throw new RuntimeException("Chunk index must be between 0 and " + (totalChunks - 1));
+        }
+        if (expectedChecksum == null || expectedChecksum.isBlank()) {
+            throw new RuntimeException("Chunk checksum (SHA-256, hex) is required");
+        }
+        synchronized (this) {
+            checkOpen();
+            lastActivity = Instant.now();
+            if (receivedChunks.get(index)) {
+                return false;
+            }
+            if (chunksInFlight.get(index)) {
+                throw new RuntimeException("Chunk " + index + " is already being uploaded");
+            }
+            chunksInFlight.set(index);
+        }
+
+        try {
+            long offset = (long) index * chunkSize;
+            long expectedLength = Math.min(chunkSize, fileSize - offset);
+            MessageDigest digest = sha256();
+
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(spoolFile, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int n;
+                while ((n = body.read(buffer)) > 0) {
+                    if (written + n > expectedLength) {
+                        throw new RuntimeException("Chunk " + index + " is larger than " + expectedLength + " bytes");
+                    }
+                    digest.update(buffer, 0, n);
+                    ByteBuffer src = ByteBuffer.wrap(buffer, 0, n);
+                    while (src.hasRemaining()) {
+                        channel.write(src, offset + written + src.position());
+                    }
+                    written += n;
+                }
+            }
+
+            if (written != expectedLength) {
+                throw new RuntimeException("Chunk " + index + " has " + written + " bytes, expected " + expectedLength);
+            }
+            String checksum = HexFormat.of().formatHex(digest.digest());
+            if (!checksum.equalsIgnoreCase(expectedChecksum.trim())) {
+                throw new RuntimeException("Checksum mismatch for chunk " + index + ", please resend it");
+            }
+
+            acknowledge(index);
+            return true;
+        } finally {
+            synchronized (this) {
+                chunksInFlight.clear(index);
+            }
+        }
+    }
+
+    private synchronized void acknowledge(int index) {
+        receivedChunks.set(index);
+        lastActivity = Instant.now();
+    }
+
+    public synchronized boolean isComplete() {
+        return receivedChunks.cardinality() == totalChunks;
+    }
+
+    public synchronized int getReceivedChunkCount() {
+        return receivedChunks.cardinality();
+    }
+
+    public synchronized List<Integer> getMissingChunks() {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = receivedChunks.nextClearBit(0); i < totalChunks; i = receivedChunks.nextClearBit(i + 1)) {
+            missing.add(i);
+        }
+        return missing;
+    }
+
+    // ================= LIFECYCLE =================
+
+    public synchronized void commit() {
+        checkOpen();
+        if (!isComplete()) {
+            throw new RuntimeException("Upload is missing chunks " + getMissingChunks());
+        }
+        status = Status.COMMITTED;
+        lastActivity = Instant.now();
+    }
+
+    public synchronized void abort() {
+        if (status == Status.OPEN) {
+            status = Status.ABORTED;
+        }
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    public synchronized boolean isIdleSince(Instant cutoff) {
+        return lastActivity.isBefore(cutoff);
+    }
+
+    private void checkOpen() {
+        if (status != Status.OPEN) {
+            throw new RuntimeException("Upload session is " + status.name().toLowerCase());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Streaming reader for the first sheet of an .xlsx file.
+ *
+ * Uses the XSSF event model: the sheet XML is parsed with SAX and each row is
+ * handed to the {@link LeadRowHandler} as soon as its closing tag is seen, so
+ * heap use does not depend on the number of rows in the sheet.
+ */
+public final class XlsxStreamingReader {
+
+    private XlsxStreamingReader() {
+    }
+
+    public static void read(File file, LeadRowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+
+            try (InputStream sstData = openSharedStrings(reader);
+                 SpillingSharedStrings sharedStrings = new SpillingSharedStrings(sstData)) {
+
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    return;
+                }
+
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new SheetHandler(sharedStrings, handler));
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+        } catch (IOException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException("Unable to read Excel file: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static InputStream openSharedStrings(XSSFReader reader) throws IOException {
+        try {
+            return reader.getSharedStringsData();
+        } catch (Exception ex) {
+            // Workbooks with only numbers and inline strings have no shared strings part
+            return null;
+        }
+    }
+
+    /**
+     * Mirrors FileUploadService#getCellString / #getFormulaValue on the raw
+     * sheet XML: cell type "s" is a shared string, "inlineStr" an inline
+     * string, "str" a cached formula string, "b" a boolean, "e" an error and
+     * anything else a number.
+     */
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final SpillingSharedStrings sharedStrings;
+        private final LeadRowHandler handler;
+
+        private final List<String> cells = new ArrayList<>();
+        private final StringBuilder value = new StringBuilder();
+        private int rowNum = -1;
+        private int column;
+        private String cellType;
+        private boolean inValue;
+
+        private SheetHandler(SpillingSharedStrings sharedStrings, LeadRowHandler handler) {
+            this.sharedStrings = sharedStrings;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String ref = attributes.getValue("r");
+                    rowNum = ref != null ? Integer.parseInt(ref) - 1 : rowNum + 1;
+                    cells.clear();
+                }
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? columnIndex(ref) : cells.size();
+                    cellType = attributes.getValue("t");
+                    value.setLength(0);
+                }
+                case "v", "t" -> inValue = true;
+                case "dimension" -> expectRows(attributes.getValue("ref"));
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v", "t" -> inValue = false;
+                case "c" -> {
+                    while (cells.size() < column) {
+                        cells.add("");
+                    }
+                    cells.add(cellText());
+                }
+                case "row" -> handler.handleRow(rowNum, List.copyOf(cells));
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                value.append(ch, start, length);
+            }
+        }
+
+        private String cellText() throws SAXException {
+            String raw = value.toString();
+            if (cellType == null) {
+                return CellValues.formatNumeric(raw);
+            }
+
+            return switch (cellType) {
+                case "s" -> sharedString(raw);
+                case "inlineStr", "str" -> raw.trim();
+                case "b" -> String.valueOf("1".equals(raw.trim()));
+                case "e" -> "";
+                case "n" -> CellValues.formatNumeric(raw);
+                default -> raw.trim();
+            };
+        }
+
+        private String sharedString(String raw) throws SAXException {
+            try {
+                return sharedStrings.get(Integer.parseInt(raw.trim())).trim();
+            } catch (NumberFormatException ex) {
+                return "";
+            } catch (IOException ex) {
+                throw new SAXException(ex);
+            }
+        }
+
+        /**
+         * "A1:K200001" -> 200001 rows
+         */
+        private void expectRows(String dimensionRef) {
+            if (dimensionRef == null || dimensionRef.indexOf(':') < 0) {
+                return;
+            }
+            String lastCell = dimensionRef.substring(dimensionRef.indexOf(':') + 1);
+            int digits = 0;
+            while (digits < lastCell.length() && !Character.isDigit(lastCell.charAt(digits))) {
+                digits++;
+            }
+            try {
+                handler.expectRows(Long.parseLong(lastCell.substring(digits)));
+            } catch (NumberFormatException ignored) {
+                // dimension is only a hint
+            }
+        }
+
+        /**
+         * "C12" -> 2
+         */
+        private static int columnIndex(String cellRef) {
+            int index = 0;
+            for (int i = 0; i < cellRef.length(); i++) {
+                char c = cellRef.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                index = index * 26 + (c - 'A' + 1);
+            }
+            return index - 1;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.hero.leadnurturing.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.hero.leadnurturing.config.JwtUtil;
+import com.hero.leadnurturing.dto.CursorPageDTO;
+import com.hero.leadnurturing.repository.LeadModificationRepository;
+import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.service.CustomUserDetailsService;
+import com.hero.leadnurturing.service.LeadBulkService;
+import com.hero.leadnurturing.service.LeadService;
+
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+@WebMvcTest(LeadController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class LeadControllerNegotiationTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LeadService leadService;
+    @MockitoBean
+    private LeadBulkService leadBulkService;
+    @MockitoBean
+    private LeadRepository leadRepository;
+    @MockitoBean
+    private LeadModificationRepository leadModificationRepository;
+    @MockitoBean
+    private JwtUtil jwtUtil;
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Test
+    void fields_shouldBeServedAsCborWhenAskedFor() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 7L);
+        row.put("firstName", "Asha");
+        when(leadService.searchLeadFields(any(), isNull(), isNull(), eq("firstName")))
+                .thenReturn(CursorPageDTO.<Map<String, Object>>builder().items(List.of(row)).size(1).build());
+
+        MvcResult result = mockMvc.perform(get("/api/leads").param("fields", "firstName").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn();
+
+        Map<?, ?> body = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), Map.class);
+        Map<?, ?> data = (Map<?, ?>) body.get("data");
+        assertThat(data.get("items")).isEqualTo(List.of(Map.of("id", 7, "firstName", "Asha")));
+    }
+
+    @Test
+    void anyAccept_shouldStillGetJson() throws Exception {
+        when(leadService.searchLeadFields(any(), isNull(), isNull(), eq("status")))
+                .thenReturn(CursorPageDTO.<Map<String, Object>>builder().items(List.of()).build());
+
+        mockMvc.perform(get("/api/leads").param("fields", "status").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void matchingETag_shouldAnswer304WithoutReadingTheLead() throws Exception {
+        when(leadService.getLeadETag(7L)).thenReturn("7-abc");
+
+        mockMvc.perform(get("/api/leads/7").header(HttpHeaders.IF_NONE_MATCH, "\"7-abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-abc\""));
+
+        verify(leadService, never()).getLeadDetail(any());
+    }
+}
@@ -0,0 +1,243 @@
+package com.hero.leadnurturing.repository;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import com.hero.leadnurturing.entity.ChatMessage;
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadModification;
+import com.hero.leadnurturing.entity.LeadStatus;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Runs every repository query against an embedded H2 schema generated from
+ * the entity mappings and checks its plan with EXPLAIN: a query that has to
+ * scan a whole table means an index is missing.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class RepositoryQueryPlanTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 2, 1, 0, 0);
+
+    @Autowired
+    private LeadRepository leadRepository;
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+    @Autowired
+    private LeadModificationRepository leadModificationRepository;
+    @Autowired
+    private LeadModificationArchiveRepository leadModificationArchiveRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    private Lead lead;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 200; i++) {
+            Lead saved = leadRepository.save(Lead.builder()
+                    .contactNumber(String.valueOf(919000000000L + i))
+                    .firstName("Lead" + i)
+                    .city("City" + (i % 10))
+                    .modelName("Model" + (i % 5))
+                    .leadSource("Source" + (i % 4))
+                    .status(LeadStatus.values()[i % LeadStatus.values().length])
+                    .createdAt(FROM.plusHours(i))
+                    .build());
+            chatMessageRepository.save(ChatMessage.builder().lead(saved).sender("ho").message("hi").build());
+            leadModificationRepository.save(LeadModification.builder()
+                    .lead(saved).modifiedField("CREATED").modifiedBy("ho").build());
+            if (lead == null) {
+                lead = saved;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        sqlRecorder.clear();
+    }
+
+    @Test
+    void leadQueries_shouldUseAnIndex() throws SQLException {
+        leadRepository.findByContactNumber("919000000001");
+        leadRepository.countByCreatedAtBetween(FROM, TO);
+        leadRepository.countByStatusAndCreatedAtBetween(LeadStatus.QUALIFIED, FROM, TO);
+        leadRepository.countByStatus(LeadStatus.NEW);
+        leadRepository.findDetailById(lead.getId());
+        leadRepository.findVersionById(lead.getId());
+        leadRepository.findSummariesByStatus(LeadStatus.NEW);
+        leadRepository.findSummariesByCity("City1");
+        leadRepository.findSummariesByCreatedAtBetween(FROM, TO);
+        leadRepository.findFirstPage(Limit.of(51));
+        leadRepository.findPageAfter(TO, 10L, Limit.of(51));
+        leadRepository.findPageBefore(FROM, 10L, Limit.of(51));
+        leadRepository.countLeadsGroupedBySource();
+
+        // Name search (first OR last name) is left out: it relies on MySQL's index merge, which H2 does not do
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+        leadRepository.findSummaries(LeadSpecifications.contactNumberStartsWith("9190"), newestFirst, 51);
+        leadRepository.findSummaries(LeadSpecifications.hasStatus(LeadStatus.NEW), newestFirst, 51);
+        leadRepository.findSummaries(LeadSpecifications.hasModelName("Model1"), newestFirst, 51);
+        leadRepository.findSummaries(LeadSpecifications.hasCity("City1")
+                .and(LeadSpecifications.after(TO, 10L)), newestFirst, 51);
+        leadRepository.findSummaries(LeadSpecifications.createdFrom(FROM)
+                .and(LeadSpecifications.createdBefore(TO)), newestFirst, 51);
+        leadRepository.findFields(LeadSpecifications.hasStatus(LeadStatus.NEW), newestFirst, 51,
+                LeadField.parse("firstName,status"));
+        leadRepository.findFields(LeadSpecifications.hasId(lead.getId()), Sort.unsorted(), 1, LeadField.parse("city"));
+
+        assertNoFullScans();
+    }
+
+    @Test
+    void historyQueries_shouldUseAnIndex() throws SQLException {
+        chatMessageRepository.findByLeadOrderByTimestampAsc(lead);
+        leadModificationRepository.findByLeadOrderByModifiedAtDesc(lead);
+        chatMessageRepository.findVersionByLeadId(lead.getId());
+        leadModificationRepository.findVersionByLeadId(lead.getId());
+        leadModificationRepository.findHistoryFirstPage(lead.getId(), Limit.of(51));
+        leadModificationRepository.findHistoryAfter(lead.getId(), TO, 10L, Limit.of(51));
+        leadModificationRepository.findHistoryBefore(lead.getId(), FROM, 10L, Limit.of(51));
+        leadModificationRepository.findHistoryOlderThan(FROM, Limit.of(1000));
+        leadModificationArchiveRepository.findPeriodsNewestFirst(lead.getId(), FROM.toLocalDate(), TO.toLocalDate());
+        leadModificationArchiveRepository.findPeriodsOldestFirst(lead.getId(), FROM.toLocalDate(), TO.toLocalDate());
+        leadModificationArchiveRepository.findByLeadIdAndPeriod(lead.getId(), FROM.toLocalDate());
+        userRepository.findByUsername("ho_admin");
+
+        // Activity feed: every filter combination, with a keyset position
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "modifiedAt", "id");
+        Specification<LeadModification> after = LeadModificationSpecifications.after(TO, 10L);
+        Specification<LeadModification> byUser = LeadModificationSpecifications.hasModifiedBy("ho");
+        Specification<LeadModification> inRange = LeadModificationSpecifications.modifiedFrom(FROM)
+                .and(LeadModificationSpecifications.modifiedBefore(TO));
+        leadModificationRepository.findHistory(after.and(inRange), newestFirst, 51);
+        leadModificationRepository.findHistory(after.and(byUser).and(inRange), newestFirst, 51);
+        leadModificationRepository.findHistory(after.and(LeadModificationSpecifications.hasModifiedField("status")),
+                newestFirst, 51);
+        leadModificationRepository.findHistory(after.and(LeadModificationSpecifications.updateChanged(LeadField.STATUS)),
+                newestFirst, 51);
+        leadModificationRepository.findHistory(after.and(byUser).and(inRange)
+                .and(LeadModificationSpecifications.updateChanged(LeadField.STATUS)), newestFirst, 51);
+
+        assertNoFullScans();
+    }
+
+    private void assertNoFullScans() throws SQLException {
+        List<String> statements = sqlRecorder.selects();
+        assertThat(statements).isNotEmpty();
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            for (String sql : statements) {
+                String plan = explain(connection, sql);
+                assertThat(plan).as("Query plan for %s", sql).doesNotContain(".tableScan");
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * EXPLAIN with every parameter bound to a value of the type H2 inferred for it
+     */
+    private String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            ParameterMetaData parameters = statement.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                switch (parameters.getParameterType(i)) {
+                    case Types.TIMESTAMP -> statement.setTimestamp(i, Timestamp.valueOf(FROM));
+                    case Types.DATE -> statement.setDate(i, Date.valueOf(FROM.toLocalDate()));
+                    case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> statement.setLong(i, 10);
+                    default -> statement.setString(i, "x");
+                }
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    /**
+     * Collects the SQL Hibernate sends, so the test explains exactly what the
+     * repositories run
+     */
+    static class SqlRecorder implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> selects() {
+            List<String> selects = new ArrayList<>();
+            for (String sql : statements) {
+                if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                    selects.add(sql);
+                }
+            }
+            return selects;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(SqlRecorder sqlRecorder) {
+            return (Map<String, Object> properties) -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlRecorder);
+        }
+    }
+}
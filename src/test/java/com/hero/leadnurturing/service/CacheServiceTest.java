@@ -0,0 +1,98 @@
+package com.hero.leadnurturing.service;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hero.leadnurturing.config.CacheConfig;
+import com.hero.leadnurturing.dto.CacheRegionStatsDTO;
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.entity.User;
+import com.hero.leadnurturing.entity.UserRole;
+import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.repository.UserRepository;
+
+/**
+ * Runs without a test transaction so every repository call gets its own
+ * session, as it does behind the controllers
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({CacheConfig.class, CacheService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheServiceTest {
+
+    @Autowired
+    private CacheService cacheService;
+    @Autowired
+    private LeadRepository leadRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Lead lead;
+
+    @BeforeEach
+    void seed() {
+        lead = leadRepository.save(Lead.builder()
+                .contactNumber("919000000001")
+                .firstName("Asha")
+                .status(LeadStatus.NEW)
+                .build());
+        userRepository.save(User.builder()
+                .username("da_agent")
+                .password("x")
+                .role(UserRole.ROLE_DA)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        leadRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedReads_shouldBeServedFromTheCache() {
+        leadRepository.findById(lead.getId());
+        leadRepository.findById(lead.getId());
+        userRepository.findByUsername("da_agent");
+        userRepository.findByUsername("da_agent");
+
+        assertThat(stats(CacheConfig.LEADS).getHits()).isPositive();
+        assertThat(stats(CacheConfig.USERS_BY_USERNAME).getHits()).isEqualTo(1);
+        assertThat(stats(CacheConfig.LEADS).getEntries()).isEqualTo(1);
+    }
+
+    @Test
+    void evictLeads_shouldDropWhatAJdbcWriteMadeStale() {
+        leadRepository.findById(lead.getId());
+        jdbcTemplate.update("UPDATE leads SET status = 'QUALIFIED' WHERE id = ?", lead.getId());
+
+        assertThat(leadRepository.findById(lead.getId()).orElseThrow().getStatus()).isEqualTo(LeadStatus.NEW);
+
+        cacheService.evictLeads(List.of(lead.getId()));
+
+        assertThat(leadRepository.findById(lead.getId()).orElseThrow().getStatus()).isEqualTo(LeadStatus.QUALIFIED);
+    }
+
+    private CacheRegionStatsDTO stats(String region) {
+        return cacheService.getStats().stream()
+                .filter(stats -> stats.getRegion().equals(region))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,28 @@
+package com.hero.leadnurturing.service;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_shouldRestoreAnEncodedCursor() {
+        KeysetCursor cursor = KeysetCursor.before(LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000), 42);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.backward()).isTrue();
+    }
+
+    @Test
+    void decode_shouldRejectTamperedCursors() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> KeysetCursor.decode(KeysetCursor.after(LocalDateTime.now(), 1).encode() + "x"))
+                .hasMessage("Invalid cursor");
+    }
+}
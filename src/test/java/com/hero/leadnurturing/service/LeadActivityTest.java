@@ -0,0 +1,125 @@
+package com.hero.leadnurturing.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hero.leadnurturing.dto.ActivityCriteria;
+import com.hero.leadnurturing.dto.CursorPageDTO;
+import com.hero.leadnurturing.dto.LeadHistoryEntryDTO;
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.repository.LeadField;
+import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.audit.LeadHistoryArchive;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+import com.hero.leadnurturing.service.search.LeadLookupIndex;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "audit.mode=transactional"
+})
+@Import({LeadService.class, LeadLookupIndex.class, LeadAuditWriter.class, LeadHistoryArchive.class,
+        StatusTransitionLedger.class})
+class LeadActivityTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Autowired
+    private LeadService leadService;
+    @Autowired
+    private LeadRepository leadRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Lead lead;
+
+    @BeforeEach
+    void seed() {
+        lead = leadRepository.save(Lead.builder()
+                .contactNumber("919000000001")
+                .firstName("Asha")
+                .status(LeadStatus.NEW)
+                .build());
+        entityManager.flush();
+
+        insert("da_agent", "CREATED", null, MONDAY);
+        insert("da_agent", "UPDATED", 1 << LeadField.STATUS.ordinal() | 1 << LeadField.CITY.ordinal(), MONDAY.plusHours(1));
+        insert("ho_admin", "status", null, MONDAY.plusHours(2));
+        insert("da_agent", "UPDATED", 1 << LeadField.CITY.ordinal(), MONDAY.plusHours(3));
+        insert("ho_admin", "UPDATED", 1 << LeadField.STATUS.ordinal(), MONDAY.plusDays(1));
+        insert("da_agent", "status", null, MONDAY.plusDays(7));
+    }
+
+    @Test
+    void activity_shouldCombineUserFieldAndTimeFilters() {
+        assertThat(times(criteria("da_agent", null, MONDAY, MONDAY.plusDays(1))))
+                .containsExactly(MONDAY.plusHours(3), MONDAY.plusHours(1), MONDAY);
+        assertThat(times(criteria(null, "CREATED", null, null))).containsExactly(MONDAY);
+        assertThat(times(criteria("ho_admin", null, null, null))).containsExactly(MONDAY.plusDays(1), MONDAY.plusHours(2));
+    }
+
+    @Test
+    void fieldFilter_shouldIncludeLeadUpdatesThatChangedTheField() {
+        assertThat(times(criteria(null, "status", MONDAY, MONDAY.plusDays(7))))
+                .containsExactly(MONDAY.plusDays(1), MONDAY.plusHours(2), MONDAY.plusHours(1));
+        assertThat(times(criteria("da_agent", "status", null, null)))
+                .containsExactly(MONDAY.plusDays(7), MONDAY.plusHours(1));
+    }
+
+    @Test
+    void activity_shouldPageForwardAndBack() {
+        ActivityCriteria status = criteria(null, "status", null, null);
+        CursorPageDTO<LeadHistoryEntryDTO> first = leadService.getActivityPage(status, null, 2);
+        CursorPageDTO<LeadHistoryEntryDTO> second = leadService.getActivityPage(status, first.getNextCursor(), 2);
+        CursorPageDTO<LeadHistoryEntryDTO> back = leadService.getActivityPage(status, second.getPrevCursor(), 2);
+
+        assertThat(first.getItems()).extracting(LeadHistoryEntryDTO::modifiedAt)
+                .containsExactly(MONDAY.plusDays(7), MONDAY.plusDays(1));
+        assertThat(second.getItems()).extracting(LeadHistoryEntryDTO::modifiedAt)
+                .containsExactly(MONDAY.plusHours(2), MONDAY.plusHours(1));
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(back.getItems()).isEqualTo(first.getItems());
+    }
+
+    private List<LocalDateTime> times(ActivityCriteria criteria) {
+        List<LocalDateTime> times = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<LeadHistoryEntryDTO> page = leadService.getActivityPage(criteria, cursor, 2);
+            page.getItems().forEach(entry -> times.add(entry.modifiedAt()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return times;
+    }
+
+    private static ActivityCriteria criteria(String modifiedBy, String modifiedField, LocalDateTime from, LocalDateTime to) {
+        ActivityCriteria criteria = new ActivityCriteria();
+        criteria.setModifiedBy(modifiedBy);
+        criteria.setModifiedField(modifiedField);
+        criteria.setFrom(from);
+        criteria.setTo(to);
+        return criteria;
+    }
+
+    private void insert(String modifiedBy, String modifiedField, Integer changedFields, LocalDateTime at) {
+        jdbcTemplate.update("INSERT INTO lead_modifications (lead_id, modified_field, modified_by, modified_at, "
+                + "changed_fields) VALUES (?, ?, ?, ?, ?)",
+                lead.getId(), modifiedField, modifiedBy, Timestamp.valueOf(at), changedFields);
+    }
+}
@@ -0,0 +1,141 @@
+package com.hero.leadnurturing.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hero.leadnurturing.dto.BulkLeadRequest;
+import com.hero.leadnurturing.dto.BulkLeadResultDTO;
+import com.hero.leadnurturing.dto.LeadSearchCriteria;
+import com.hero.leadnurturing.entity.ChatMessage;
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadModification;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.repository.ChatMessageRepository;
+import com.hero.leadnurturing.repository.LeadModificationRepository;
+import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.audit.LeadHistoryArchive;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+import com.hero.leadnurturing.service.search.LeadLookupIndex;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "audit.mode=transactional"
+})
+@Import({LeadBulkService.class, LeadService.class, LeadLookupIndex.class, LeadAuditWriter.class, LeadHistoryArchive.class,
+        StatusTransitionLedger.class, CacheService.class})
+class LeadBulkServiceTest {
+
+    @Autowired
+    private LeadBulkService leadBulkService;
+    @Autowired
+    private LeadRepository leadRepository;
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+    @Autowired
+    private LeadModificationRepository leadModificationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Lead pune1;
+    private Lead pune2;
+    private Lead delhi;
+
+    @BeforeEach
+    void seed() {
+        pune1 = save("919000000001", "Pune", LeadStatus.NEW);
+        pune2 = save("919000000002", "Pune", LeadStatus.QUALIFIED);
+        delhi = save("919000000003", "Delhi", LeadStatus.NEW);
+        chatMessageRepository.save(ChatMessage.builder().lead(pune1).sender("ho").message("hi").build());
+        leadModificationRepository.save(LeadModification.builder()
+                .lead(pune1).modifiedField("CREATED").modifiedBy("ho").build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void setStatus_shouldUpdateAndAuditOnlyLeadsThatChange() {
+        BulkLeadRequest request = new BulkLeadRequest();
+        request.setAction("set_status");
+        request.setStatus("qualified");
+        request.setIds(List.of(pune1.getId(), pune2.getId(), delhi.getId(), pune1.getId(), 999_999L));
+
+        BulkLeadResultDTO result = leadBulkService.apply(request, "ho_admin");
+
+        assertThat(result.getMatchedLeads()).isEqualTo(4);
+        assertThat(result.getChangedLeads()).isEqualTo(2);
+        assertThat(result.getAuditedChanges()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM leads", String.class)).containsOnly("QUALIFIED");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT old_value FROM lead_modifications WHERE modified_field = 'status' AND modified_by = 'ho_admin'",
+                String.class)).containsExactly("NEW", "NEW");
+    }
+
+    @Test
+    void setFollowUpDate_shouldApplyToTheLeadsMatchingTheFilter() {
+        LeadSearchCriteria filter = new LeadSearchCriteria();
+        filter.setCity("Pune");
+        BulkLeadRequest request = new BulkLeadRequest();
+        request.setAction("SET_FOLLOW_UP_DATE");
+        request.setFollowUpDate(LocalDate.of(2026, 3, 1));
+        request.setFilter(filter);
+
+        BulkLeadResultDTO result = leadBulkService.apply(request, "ho_admin");
+
+        assertThat(result.getChangedLeads()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leads WHERE follow_up_date = DATE '2026-03-01'", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void delete_shouldRemoveLeadsWithTheirHistoryAndMessages() {
+        BulkLeadRequest request = new BulkLeadRequest();
+        request.setAction("DELETE");
+        request.setIds(List.of(pune1.getId(), pune2.getId(), 999_999L));
+
+        BulkLeadResultDTO result = leadBulkService.apply(request, "ho_admin");
+
+        assertThat(result.getChangedLeads()).isEqualTo(2);
+        assertThat(result.getAuditedChanges()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM leads", Long.class)).containsExactly(delhi.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM chat_messages", Integer.class)).isZero();
+        // The earlier history is gone; only the DELETED entries, like a single delete leaves, remain
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT lead_id FROM lead_modifications WHERE modified_field = 'DELETED' AND modified_by = 'ho_admin'",
+                Long.class)).containsExactlyInAnyOrder(pune1.getId(), pune2.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lead_modifications", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void apply_shouldRejectRequestsWithoutExactlyOneTarget() {
+        BulkLeadRequest request = new BulkLeadRequest();
+        request.setAction("DELETE");
+        request.setFilter(new LeadSearchCriteria());
+
+        assertThatThrownBy(() -> leadBulkService.apply(request, "ho_admin"))
+                .hasMessageContaining("either a list of lead ids or a non-empty filter");
+    }
+
+    private Lead save(String contactNumber, String city, LeadStatus status) {
+        return leadRepository.save(Lead.builder()
+                .contactNumber(contactNumber)
+                .firstName("Lead")
+                .city(city)
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,62 @@
+package com.hero.leadnurturing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hero.leadnurturing.dto.ActivityCriteria;
+import com.hero.leadnurturing.dto.LeadHistoryEntryDTO;
+import com.hero.leadnurturing.entity.ChatMessage;
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.repository.ChatMessageRepository;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.audit.LeadHistoryArchive;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+import com.hero.leadnurturing.service.search.LeadLookupIndex;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "audit.mode=transactional"
+})
+@Import({LeadService.class, LeadLookupIndex.class, LeadAuditWriter.class, LeadHistoryArchive.class,
+        StatusTransitionLedger.class})
+class LeadDeleteTest {
+
+    @Autowired
+    private LeadService leadService;
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void deleteLead_shouldRemoveMessagesAndHistoryButKeepTheDeletedEntry() {
+        Lead lead = leadService.createLead(Lead.builder().contactNumber("919000000001").firstName("Asha").build(),
+                "ho_admin");
+        chatMessageRepository.save(ChatMessage.builder().lead(lead).sender("ho").message("hi").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        leadService.deleteLead(lead.getId(), "ho_admin");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM leads", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM chat_messages", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT modified_field FROM lead_modifications WHERE lead_id = ?",
+                String.class, lead.getId())).containsExactly("DELETED");
+
+        ActivityCriteria deleted = new ActivityCriteria();
+        deleted.setModifiedField("DELETED");
+        assertThat(leadService.getActivityPage(deleted, null, 10).getItems())
+                .extracting(LeadHistoryEntryDTO::leadId).containsExactly(lead.getId());
+    }
+}
@@ -0,0 +1,82 @@
+package com.hero.leadnurturing.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.audit.LeadHistoryArchive;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+import com.hero.leadnurturing.service.search.LeadLookupIndex;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "audit.mode=transactional"
+})
+@Import({LeadService.class, ChatService.class, LeadLookupIndex.class, LeadAuditWriter.class, LeadHistoryArchive.class,
+        StatusTransitionLedger.class})
+class LeadETagTest {
+
+    @Autowired
+    private LeadService leadService;
+    @Autowired
+    private ChatService chatService;
+    @Autowired
+    private LeadRepository leadRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Lead lead;
+
+    @BeforeEach
+    void seed() {
+        lead = leadService.createLead(Lead.builder()
+                .contactNumber("919000000001")
+                .firstName("Asha")
+                .status(LeadStatus.NEW)
+                .build(), "ho_admin");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void etags_shouldStayTheSameUntilTheResourceChanges() {
+        String detail = leadService.getLeadETag(lead.getId());
+        String chat = chatService.getChatHistoryETag(lead.getId());
+        String history = leadService.getModificationsETag(lead.getId());
+        assertThat(detail).startsWith("W/\"").endsWith("\"");
+
+        assertThat(leadService.getLeadETag(lead.getId())).isEqualTo(detail);
+        assertThat(chatService.getChatHistoryETag(lead.getId())).isEqualTo(chat);
+
+        chatService.sendMessage(lead.getId(), "ho_admin", "hello");
+        entityManager.flush();
+
+        assertThat(chatService.getChatHistoryETag(lead.getId())).isNotEqualTo(chat);
+        assertThat(leadService.getLeadETag(lead.getId())).isEqualTo(detail);
+
+        Lead changes = leadRepository.findById(lead.getId()).orElseThrow();
+        changes.setCity("Pune");
+        leadService.updateLead(lead.getId(), changes, "ho_admin");
+        entityManager.flush();
+
+        assertThat(leadService.getLeadETag(lead.getId())).isNotEqualTo(detail);
+        assertThat(leadService.getModificationsETag(lead.getId())).isNotEqualTo(history);
+    }
+
+    @Test
+    void etags_shouldRejectUnknownLeads() {
+        assertThatThrownBy(() -> leadService.getLeadETag(999_999L)).hasMessage("Lead not found");
+        assertThatThrownBy(() -> chatService.getChatHistoryETag(999_999L)).hasMessage("Lead not found");
+    }
+}
@@ -0,0 +1,67 @@
+package com.hero.leadnurturing.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import com.hero.leadnurturing.dto.CursorPageDTO;
+import com.hero.leadnurturing.dto.LeadSummaryDTO;
+import com.hero.leadnurturing.repository.ChatMessageRepository;
+import com.hero.leadnurturing.repository.LeadModificationRepository;
+import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.audit.LeadHistoryArchive;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+import com.hero.leadnurturing.service.search.LeadLookupIndex;
+
+class LeadServicePagingTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private final LeadRepository leadRepository = mock(LeadRepository.class);
+    private final LeadService leadService = new LeadService(leadRepository,
+            mock(LeadModificationRepository.class), mock(LeadLookupIndex.class), mock(LeadAuditWriter.class),
+            mock(LeadHistoryArchive.class), mock(StatusTransitionLedger.class), mock(ChatMessageRepository.class));
+
+    @Test
+    void getLeadPage_shouldOfferANextCursorOnlyWhenThereIsAnotherPage() {
+        when(leadRepository.findFirstPage(Limit.of(3))).thenReturn(leads(10, 9, 8));
+
+        CursorPageDTO<LeadSummaryDTO> page = leadService.getLeadPage(null, 2);
+
+        assertThat(page.getItems()).extracting(LeadSummaryDTO::id).containsExactly(10L, 9L);
+        assertThat(page.getPrevCursor()).isNull();
+        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(KeysetCursor.after(T0.plusMinutes(9), 9));
+    }
+
+    @Test
+    void getLeadPage_shouldReturnThePreviousPageNewestFirst() {
+        String cursor = KeysetCursor.before(T0.plusMinutes(5), 5).encode();
+        // Backward queries come back closest to the cursor first
+        when(leadRepository.findPageBefore(eq(T0.plusMinutes(5)), anyLong(), any(Limit.class)))
+                .thenReturn(leads(6, 7));
+
+        CursorPageDTO<LeadSummaryDTO> page = leadService.getLeadPage(cursor, 2);
+
+        assertThat(page.getItems()).extracting(LeadSummaryDTO::id).containsExactly(7L, 6L);
+        assertThat(page.getPrevCursor()).isNull();
+        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(KeysetCursor.after(T0.plusMinutes(6), 6));
+    }
+
+    private static List<LeadSummaryDTO> leads(long... ids) {
+        List<LeadSummaryDTO> leads = new ArrayList<>();
+        for (long id : ids) {
+            leads.add(new LeadSummaryDTO(id, "First", "Last", "90000000" + id, null, null, null, T0.plusMinutes(id)));
+        }
+        return leads;
+    }
+}
@@ -0,0 +1,99 @@
+package com.hero.leadnurturing.service.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditJournalTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reopen_shouldReturnOnlyEventsAfterTheLastFlushMarker() throws Exception {
+        Path file = dir.resolve("audit.journal");
+        try (AuditJournal journal = new AuditJournal(file, false)) {
+            List<AuditJournal.Entry> entries = journal.append(List.of(event(1L), event(2L), event(3L)));
+            journal.markFlushed(entries.get(1).sequence());
+        }
+
+        try (AuditJournal journal = new AuditJournal(file, false)) {
+            assertThat(journal.unflushed()).extracting(entry -> entry.event().leadId()).containsExactly(3L);
+            // Numbering carries on after the recovered events
+            assertThat(journal.append(List.of(event(4L))).get(0).sequence()).isEqualTo(4L);
+        }
+    }
+
+    @Test
+    void markFlushed_shouldTruncateOnceEverythingIsWritten() throws Exception {
+        Path file = dir.resolve("audit.journal");
+        try (AuditJournal journal = new AuditJournal(file, true)) {
+            List<AuditJournal.Entry> entries = journal.append(List.of(event(1L), event(2L)));
+            journal.markFlushed(entries.get(1).sequence());
+        }
+
+        assertThat(Files.size(file)).isZero();
+        try (AuditJournal journal = new AuditJournal(file, false)) {
+            assertThat(journal.unflushed()).isEmpty();
+        }
+    }
+
+    @Test
+    void reopen_shouldIgnoreALineCutShortByACrash() throws Exception {
+        Path file = dir.resolve("audit.journal");
+        try (AuditJournal journal = new AuditJournal(file, false)) {
+            journal.append(List.of(event(1L)));
+        }
+        Files.writeString(file, "{\"sequence\":2,\"event\":{\"leadId\":", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        try (AuditJournal journal = new AuditJournal(file, false)) {
+            assertThat(journal.unflushed()).singleElement().satisfies(entry -> {
+                assertThat(entry.event().leadId()).isEqualTo(1L);
+                assertThat(entry.event().modifiedAt()).isEqualTo(AT);
+            });
+            // The torn tail is gone, so the next event does not land on the end of it
+            journal.append(List.of(event(2L)));
+        }
+
+        try (AuditJournal journal = new AuditJournal(file, false)) {
+            assertThat(journal.unflushed()).extracting(entry -> entry.event().leadId()).containsExactly(1L, 2L);
+        }
+    }
+
+    @Test
+    void markFlushed_shouldKeepTheFileBoundedWhileEventsKeepArriving() throws Exception {
+        Path file = dir.resolve("audit.journal");
+        long lastUnflushed;
+        try (AuditJournal journal = new AuditJournal(file, false, 4096)) {
+            // The writer is always one batch behind, so the journal is never empty when a flush lands
+            List<AuditJournal.Entry> previous = journal.append(List.of(event(0L)));
+            for (long i = 1; i <= 2000; i++) {
+                List<AuditJournal.Entry> next = journal.append(List.of(event(i), event(i)));
+                journal.markFlushed(previous.get(previous.size() - 1).sequence());
+                previous = next;
+                assertThat(journal.size()).isLessThan(2 * 4096);
+            }
+            lastUnflushed = previous.get(1).sequence();
+        }
+
+        try (AuditJournal journal = new AuditJournal(file, false)) {
+            assertThat(journal.unflushed()).extracting(AuditJournal.Entry::sequence)
+                    .containsExactly(lastUnflushed - 1, lastUnflushed);
+            assertThat(journal.append(List.of(event(1L))).get(0).sequence()).isEqualTo(lastUnflushed + 1);
+        }
+    }
+
+    private static AuditEvent event(long leadId) {
+        return new AuditEvent(leadId, "status", "NEW", "QUALIFIED", "ho_admin", AT);
+    }
+}
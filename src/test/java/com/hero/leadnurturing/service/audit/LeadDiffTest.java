@@ -0,0 +1,58 @@
+package com.hero.leadnurturing.service.audit;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.repository.LeadField;
+
+class LeadDiffTest {
+
+    @Test
+    void apply_shouldCopyAndEncodeOnlyTheChangedEditableFields() {
+        Lead lead = lead();
+        Lead changes = lead();
+        changes.setCity("Pune");
+        changes.setStatus(LeadStatus.QUALIFIED);
+        changes.setFollowUpDate(null);
+        changes.setAssignedTo("someone_else");
+
+        LeadDiff diff = LeadDiff.apply(lead, changes, LeadDiff.EDITABLE);
+
+        assertThat(lead.getCity()).isEqualTo("Pune");
+        assertThat(lead.getStatus()).isEqualTo(LeadStatus.QUALIFIED);
+        assertThat(lead.getFollowUpDate()).isNull();
+        assertThat(lead.getAssignedTo()).isEqualTo("ho_agent");
+        assertThat(diff.mask()).isEqualTo(1 << LeadField.CITY.ordinal()
+                | 1 << LeadField.FOLLOW_UP_DATE.ordinal()
+                | 1 << LeadField.STATUS.ordinal());
+        assertThat(diff.fieldNames()).isEqualTo("city, followUpDate, status");
+        assertThat(diff.encode()).isEqualTo(
+                "{\"city\":[\"Delhi\",\"Pune\"],\"followUpDate\":[\"2026-03-01\",null],\"status\":[\"NEW\",\"QUALIFIED\"]}");
+    }
+
+    @Test
+    void apply_shouldBeEmptyWhenNothingChanged() {
+        Lead lead = lead();
+
+        LeadDiff diff = LeadDiff.apply(lead, lead(), LeadDiff.EDITABLE);
+
+        assertThat(diff.isEmpty()).isTrue();
+        assertThat(diff.mask()).isZero();
+        assertThat(diff.encode()).isEqualTo("{}");
+    }
+
+    private static Lead lead() {
+        return Lead.builder()
+                .contactNumber("919000000001")
+                .firstName("Asha")
+                .city("Delhi")
+                .status(LeadStatus.NEW)
+                .followUpDate(LocalDate.of(2026, 3, 1))
+                .assignedTo("ho_agent")
+                .build();
+    }
+}
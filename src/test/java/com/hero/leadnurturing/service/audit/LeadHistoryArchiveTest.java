@@ -0,0 +1,112 @@
+package com.hero.leadnurturing.service.audit;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hero.leadnurturing.dto.CursorPageDTO;
+import com.hero.leadnurturing.dto.LeadHistoryEntryDTO;
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.service.LeadService;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+import com.hero.leadnurturing.service.search.LeadLookupIndex;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "audit.mode=transactional",
+        "audit.archive.batch-size=3"
+})
+@Import({LeadService.class, LeadLookupIndex.class, LeadAuditWriter.class, LeadHistoryArchive.class,
+        StatusTransitionLedger.class})
+class LeadHistoryArchiveTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 20, 9, 0);
+
+    @Autowired
+    private LeadHistoryArchive historyArchive;
+    @Autowired
+    private LeadService leadService;
+    @Autowired
+    private LeadRepository leadRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Lead lead;
+
+    @BeforeEach
+    void seed() {
+        lead = leadRepository.save(Lead.builder()
+                .contactNumber("919000000001")
+                .firstName("Asha")
+                .status(LeadStatus.NEW)
+                .build());
+        entityManager.flush();
+        // Ten entries a week apart, January to March; two share a timestamp
+        for (int i = 0; i < 10; i++) {
+            LocalDateTime at = i == 5 ? START.plusWeeks(4) : START.plusWeeks(i);
+            jdbcTemplate.update("INSERT INTO lead_modifications (lead_id, modified_field, old_value, new_value, "
+                            + "modified_by, modified_at, changed_fields, diff) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    lead.getId(), "UPDATED", null, "city", "ho_admin", Timestamp.valueOf(at),
+                    1 << 6, "{\"city\":[\"C" + i + "\",\"C" + (i + 1) + "\"]}");
+        }
+    }
+
+    @Test
+    void historyPages_shouldBeTheSameBeforeAndAfterArchiving() {
+        List<LeadHistoryEntryDTO> before = allPages();
+
+        int archived = historyArchive.archiveOlderThan(START.plusWeeks(6));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(archived).isEqualTo(6);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lead_modifications", Integer.class)).isEqualTo(4);
+        // January and February (the March entries are still live)
+        assertThat(jdbcTemplate.queryForList("SELECT entry_count FROM lead_modification_archive ORDER BY period",
+                Integer.class)).containsExactly(2, 4);
+        assertThat(allPages()).isEqualTo(before);
+        assertThat(before).hasSize(10);
+        assertThat(before).isSortedAccordingTo(LeadHistoryArchive.NEWEST_FIRST);
+    }
+
+    @Test
+    void prevCursor_shouldLeadBackFromTheArchiveToTheLiveEntries() {
+        historyArchive.archiveOlderThan(START.plusWeeks(6));
+        entityManager.flush();
+        entityManager.clear();
+
+        CursorPageDTO<LeadHistoryEntryDTO> first = leadService.getModificationPage(lead.getId(), null, 4);
+        CursorPageDTO<LeadHistoryEntryDTO> second = leadService.getModificationPage(lead.getId(), first.getNextCursor(), 4);
+        CursorPageDTO<LeadHistoryEntryDTO> back = leadService.getModificationPage(lead.getId(), second.getPrevCursor(), 4);
+
+        assertThat(back.getItems()).isEqualTo(first.getItems());
+        assertThat(back.getPrevCursor()).isNull();
+    }
+
+    private List<LeadHistoryEntryDTO> allPages() {
+        List<LeadHistoryEntryDTO> entries = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<LeadHistoryEntryDTO> page = leadService.getModificationPage(lead.getId(), cursor, 3);
+            entries.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return entries;
+    }
+}
@@ -0,0 +1,109 @@
+package com.hero.leadnurturing.service.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.service.upload.CsvStreamingReader;
+import com.hero.leadnurturing.service.upload.LeadColumnMapping;
+import com.hero.leadnurturing.service.upload.LeadColumnMapping.LeadColumn;
+import com.hero.leadnurturing.service.upload.XlsxStreamingReader;
+
+class LeadExportWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void csv_shouldQuoteFieldsAndReadBackThroughTheUploadMapping() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export(ExportFormat.CSV, out, lead(1L, "12, MG Road\n\"Block B\""), lead(2L, null));
+
+        List<List<String>> rows = new ArrayList<>();
+        CsvStreamingReader.read(new ByteArrayInputStream(out.toByteArray()), (rowNum, cells) -> rows.add(cells));
+
+        assertThat(rows).hasSize(3);
+        LeadColumnMapping mapping = LeadColumnMapping.fromHeader(rows.get(0));
+        assertThat(mapping.value(rows.get(1), LeadColumn.CONTACT_NUMBER)).isEqualTo("919000000001");
+        assertThat(mapping.value(rows.get(1), LeadColumn.ADDRESS)).isEqualTo("12, MG Road\n\"Block B\"");
+        assertThat(mapping.value(rows.get(1), LeadColumn.STATUS)).isEqualTo("QUALIFIED");
+        assertThat(mapping.value(rows.get(2), LeadColumn.ADDRESS)).isEmpty();
+    }
+
+    @Test
+    void xlsx_shouldWriteEveryRowPastTheInMemoryWindow() throws Exception {
+        int count = XlsxLeadExportWriter.WINDOW * 3 + 7;
+        Lead[] leads = new Lead[count];
+        for (int i = 0; i < count; i++) {
+            leads[i] = lead(i + 1L, "Address " + i);
+        }
+
+        Path file = tempDir.resolve("leads.xlsx");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            export(ExportFormat.XLSX, out, leads);
+        }
+
+        List<List<String>> rows = new ArrayList<>();
+        XlsxStreamingReader.read(file.toFile(), (rowNum, cells) -> rows.add(cells));
+
+        assertThat(rows).hasSize(count + 1);
+        LeadColumnMapping mapping = LeadColumnMapping.fromHeader(rows.get(0));
+        assertThat(mapping.value(rows.get(count), LeadColumn.CONTACT_NUMBER))
+                .isEqualTo(String.valueOf(919000000000L + count));
+        assertThat(mapping.value(rows.get(count), LeadColumn.FIRST_NAME)).isEqualTo("Lead" + count);
+    }
+
+    @Test
+    void xlsx_shouldContinueOnANewSheetWithTheHeaderWhenASheetIsFull() throws Exception {
+        Path file = tempDir.resolve("leads.xlsx");
+        try (OutputStream out = Files.newOutputStream(file);
+             LeadExportWriter writer = new XlsxLeadExportWriter(out, 3)) {
+            for (int i = 1; i <= 5; i++) {
+                writer.write(lead(i, null));
+            }
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(file.toFile())) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+            assertThat(workbook.getSheetName(1)).isEqualTo("Leads 2");
+            assertThat(workbook.getSheetAt(0).getLastRowNum()).isEqualTo(2);
+            Sheet last = workbook.getSheetAt(2);
+            assertThat(last.getLastRowNum()).isEqualTo(1);
+            assertThat(last.getRow(0).getCell(LeadExportColumn.ID.ordinal()).getStringCellValue())
+                    .isEqualTo(LeadExportColumn.ID.getHeader());
+            assertThat(last.getRow(1).getCell(LeadExportColumn.ID.ordinal()).getNumericCellValue()).isEqualTo(5);
+        }
+    }
+
+    private static void export(ExportFormat format, OutputStream out, Lead... leads) throws Exception {
+        try (LeadExportWriter writer = LeadExportWriter.open(format, out)) {
+            for (Lead lead : leads) {
+                writer.write(lead);
+            }
+        }
+    }
+
+    private static Lead lead(long id, String address) {
+        return Lead.builder()
+                .id(id)
+                .contactNumber(String.valueOf(919000000000L + id))
+                .firstName("Lead" + id)
+                .address(address)
+                .status(LeadStatus.QUALIFIED)
+                .createdAt(LocalDateTime.of(2026, 1, 1, 10, 0))
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.hero.leadnurturing.service.funnel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class DwellBucketsTest {
+
+    private static final long HOUR = 3600;
+    private static final long DAY = 24 * HOUR;
+
+    @Test
+    void bucketOf_shouldIncludeTheUpperBound() {
+        assertThat(DwellBuckets.bucketOf(0)).isZero();
+        assertThat(DwellBuckets.bucketOf(60)).isZero();
+        assertThat(DwellBuckets.bucketOf(61)).isEqualTo(1);
+        assertThat(DwellBuckets.bucketOf(400 * DAY)).isEqualTo(DwellBuckets.COUNT - 1);
+    }
+
+    @Test
+    void percentile_shouldInterpolateInsideTheBucket() {
+        long[] counts = new long[DwellBuckets.COUNT];
+        // 10 transitions within (1d, 2d], 10 within (2d, 3d]
+        counts[DwellBuckets.bucketOf(DAY + HOUR)] = 10;
+        counts[DwellBuckets.bucketOf(2 * DAY + HOUR)] = 10;
+
+        assertThat(DwellBuckets.percentile(counts, 25)).isEqualTo(DAY + DAY / 2);
+        assertThat(DwellBuckets.percentile(counts, 50)).isEqualTo(2 * DAY);
+        assertThat(DwellBuckets.percentile(counts, 100)).isEqualTo(3 * DAY);
+    }
+
+    @Test
+    void percentile_shouldBeNullForAnEmptyHistogramAndTheLastBoundWhenOpenEnded() {
+        long[] counts = new long[DwellBuckets.COUNT];
+        assertThat(DwellBuckets.percentile(counts, 50)).isNull();
+
+        counts[DwellBuckets.COUNT - 1] = 3;
+        assertThat(DwellBuckets.percentile(counts, 99)).isEqualTo(365 * DAY);
+    }
+}
@@ -0,0 +1,157 @@
+package com.hero.leadnurturing.service.funnel;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hero.leadnurturing.dto.BulkLeadRequest;
+import com.hero.leadnurturing.dto.DwellTimeStatsDTO;
+import com.hero.leadnurturing.entity.DwellDimension;
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.service.CacheService;
+import com.hero.leadnurturing.service.LeadBulkService;
+import com.hero.leadnurturing.service.LeadService;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.audit.LeadHistoryArchive;
+import com.hero.leadnurturing.service.search.LeadLookupIndex;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "audit.mode=transactional"
+})
+@Import({LeadBulkService.class, LeadService.class, LeadLookupIndex.class, LeadAuditWriter.class, LeadHistoryArchive.class,
+        StatusTransitionLedger.class, CacheService.class})
+class StatusTransitionLedgerTest {
+
+    private static final long HOUR = 3600;
+    private static final long DAY = 24 * HOUR;
+
+    @Autowired
+    private StatusTransitionLedger ledger;
+    @Autowired
+    private LeadService leadService;
+    @Autowired
+    private LeadBulkService leadBulkService;
+    @Autowired
+    private LeadRepository leadRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Lead pune1;
+    private Lead pune2;
+    private Lead delhi;
+
+    @BeforeEach
+    void seed() {
+        // New for about two hours, two days and ten days
+        pune1 = save("919000000001", "Pune", "da_pune", 2 * HOUR - 60);
+        pune2 = save("919000000002", "Pune", "da_pune", 2 * DAY - HOUR);
+        delhi = save("919000000003", "Delhi", "da_delhi", 10 * DAY - HOUR);
+        entityManager.clear();
+    }
+
+    @Test
+    void updateLead_shouldRecordTheTransitionAndRestartTheClock() {
+        leadService.updateLead(pune1.getId(), changed(pune1.getId(), LeadStatus.QUALIFIED), "da_pune");
+        entityManager.flush();
+
+        assertThat(jdbcTemplate.queryForMap("SELECT from_status, to_status, city, agent, changed_by, dwell_seconds "
+                + "FROM lead_status_transitions WHERE lead_id = ?", pune1.getId()))
+                .containsEntry("FROM_STATUS", "NEW")
+                .containsEntry("TO_STATUS", "QUALIFIED")
+                .containsEntry("CITY", "Pune")
+                .containsEntry("AGENT", "da_pune")
+                .containsEntry("CHANGED_BY", "da_pune");
+        assertThat(jdbcTemplate.queryForObject("SELECT status_changed_at FROM leads WHERE id = ?", Timestamp.class,
+                pune1.getId()).toLocalDateTime()).isAfter(LocalDateTime.now().minusMinutes(1));
+
+        List<DwellTimeStatsDTO> stats = ledger.dwellTimes(LeadStatus.NEW, LeadStatus.QUALIFIED, DwellDimension.ALL,
+                List.of(50.0));
+        assertThat(stats).singleElement().satisfies(all -> {
+            assertThat(all.getTransitions()).isEqualTo(1);
+            // The one transition is in the (1h, 3h] bucket
+            assertThat(all.getPercentiles().get("p50")).isEqualTo(3 * HOUR);
+        });
+    }
+
+    @Test
+    void updateLead_shouldNotRecordATransitionWhenTheStatusStays() {
+        Lead changes = changed(pune1.getId(), LeadStatus.NEW);
+        changes.setCity("Mumbai");
+
+        leadService.updateLead(pune1.getId(), changes, "da_pune");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lead_status_transitions", Integer.class)).isZero();
+        assertThat(ledger.dwellTimes(LeadStatus.NEW, null, DwellDimension.ALL, List.of(50.0)))
+                .singleElement().extracting(DwellTimeStatsDTO::getTransitions).isEqualTo(0L);
+    }
+
+    @Test
+    void bulkSetStatus_shouldKeepTheHistogramsPerCityAndAgent() {
+        BulkLeadRequest request = new BulkLeadRequest();
+        request.setAction("SET_STATUS");
+        request.setStatus("LOST");
+        request.setIds(List.of(pune1.getId(), pune2.getId(), delhi.getId()));
+        leadBulkService.apply(request, "ho_admin");
+        // A second bulk change only adds to the counters it touches
+        request.setStatus("QUALIFIED");
+        request.setIds(List.of(pune1.getId()));
+        leadBulkService.apply(request, "ho_admin");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lead_status_transitions", Integer.class))
+                .isEqualTo(4);
+
+        List<DwellTimeStatsDTO> byCity = ledger.dwellTimes(LeadStatus.NEW, LeadStatus.LOST, DwellDimension.CITY,
+                List.of(50.0, 100.0));
+        assertThat(byCity).extracting(DwellTimeStatsDTO::getGroup).containsExactly("Pune", "Delhi");
+        assertThat(byCity.get(0).getTransitions()).isEqualTo(2);
+        assertThat(byCity.get(0).getPercentiles()).containsEntry("p50", 3 * HOUR).containsEntry("p100", 2 * DAY);
+        assertThat(byCity.get(1).getPercentiles()).containsEntry("p50", 14 * DAY);
+
+        List<DwellTimeStatsDTO> byAgent = ledger.dwellTimes(LeadStatus.NEW, null, DwellDimension.AGENT, List.of(50.0));
+        assertThat(byAgent).extracting(DwellTimeStatsDTO::getGroup).containsExactly("da_pune", "da_delhi");
+
+        List<DwellTimeStatsDTO> fromLost = ledger.dwellTimes(LeadStatus.LOST, null, DwellDimension.ALL, List.of(50.0));
+        assertThat(fromLost).singleElement().satisfies(lost -> {
+            assertThat(lost.getTransitions()).isEqualTo(1);
+            // Lost a moment ago
+            assertThat(lost.getPercentiles().get("p50")).isLessThanOrEqualTo(60);
+        });
+    }
+
+    private Lead save(String contactNumber, String city, String agent, long newForSeconds) {
+        Lead lead = leadRepository.save(Lead.builder()
+                .contactNumber(contactNumber)
+                .firstName("Lead " + contactNumber)
+                .city(city)
+                .assignedTo(agent)
+                .status(LeadStatus.NEW)
+                .build());
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE leads SET status_changed_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(newForSeconds)), lead.getId());
+        return lead;
+    }
+
+    private Lead changed(Long id, LeadStatus status) {
+        Lead changes = leadRepository.findById(id).orElseThrow();
+        entityManager.detach(changes);
+        changes.setStatus(status);
+        return changes;
+    }
+}
@@ -0,0 +1,58 @@
+package com.hero.leadnurturing.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import com.hero.leadnurturing.dto.LeadLookupDTO;
+
+class TrigramIndexTest {
+
+    @Test
+    void search_shouldMatchPhoneDigitsAndNameSubstringsNewestFirst() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "919000001001", "Rajesh", "Kumar");
+        index.put(2L, "919000002002", "Priya", "Sharma");
+        index.put(3L, "+91 98765 43210", "Raj", "Malhotra");
+
+        assertThat(index.search("0001", 10)).extracting(LeadLookupDTO::id).containsExactly(1L);
+        assertThat(index.search("98765-432", 10)).extracting(LeadLookupDTO::id).containsExactly(3L);
+        assertThat(index.search("RAJ", 10)).extracting(LeadLookupDTO::id).containsExactly(3L, 1L);
+        assertThat(index.search("sh kum", 10)).extracting(LeadLookupDTO::id).containsExactly(1L);
+        assertThat(index.search("arma", 10)).extracting(LeadLookupDTO::id).containsExactly(2L);
+        assertThat(index.search("raj", 1)).extracting(LeadLookupDTO::id).containsExactly(3L);
+        assertThat(index.search("ra", 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldNotReturnCandidatesWhoseTrigramsAreNotAdjacent() {
+        TrigramIndex index = new TrigramIndex();
+        // Contains "abc" and "bcd" but not "abcd"
+        index.put(1L, "111", "abcxbcd", null);
+
+        assertThat(index.search("abcd", 10)).isEmpty();
+    }
+
+    @Test
+    void putAndRemove_shouldReflectUpdatesAndDeletes() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "919000001001", "Rajesh", "Kumar");
+        index.put(2L, "919000002002", "Priya", "Sharma");
+
+        index.put(1L, "919000001001", "Ramesh", "Kumar");
+        assertThat(index.search("rajesh", 10)).isEmpty();
+        assertThat(index.search("ramesh", 10)).extracting(LeadLookupDTO::firstName).containsExactly("Ramesh");
+
+        index.remove(2L);
+        assertThat(index.search("priya", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+
+        // An id below the highest one indexed so far is still found, updated and removed
+        index.put(5L, "919000005005", "Anil", null);
+        index.put(4L, "919000004004", "Sunil", null);
+        index.put(4L, "919000004004", "Sunita", null);
+        assertThat(index.search("sunita", 10)).extracting(LeadLookupDTO::id).containsExactly(4L);
+        index.remove(4L);
+        assertThat(index.search("sunit", 10)).isEmpty();
+        assertThat(index.search("anil", 10)).extracting(LeadLookupDTO::id).containsExactly(5L);
+    }
+}
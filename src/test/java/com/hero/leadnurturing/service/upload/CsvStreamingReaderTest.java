@@ -0,0 +1,52 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class CsvStreamingReaderTest {
+
+    @Test
+    void read_shouldHandleQuotesLineBreaksAndBom() throws Exception {
+        String csv = "\uFEFFcontactNumber,firstName,address\r\n"
+                + "919000001001, Rajesh ,\"12, MG Road\"\r\n"
+                + "\n"
+                + "919000001002,\"Priya \"\"P\"\"\",\"Line 1\nLine 2\"\n"
+                + "919000001003,Amit,";
+
+        List<Integer> rowNums = new ArrayList<>();
+        List<List<String>> rows = new ArrayList<>();
+        CsvStreamingReader.read(stream(csv), (rowNum, cells) -> {
+            rowNums.add(rowNum);
+            rows.add(cells);
+        });
+
+        assertThat(rowNums).containsExactly(0, 1, 3, 4);
+        assertThat(rows.get(0)).containsExactly("contactNumber", "firstName", "address");
+        assertThat(rows.get(1)).containsExactly("919000001001", "Rajesh", "12, MG Road");
+        assertThat(rows.get(2)).containsExactly("919000001002", "Priya \"P\"", "Line 1\nLine 2");
+        assertThat(rows.get(3)).containsExactly("919000001003", "Amit", "");
+    }
+
+    @Test
+    void read_shouldKeepFieldsThatSpanBufferRefills() throws Exception {
+        String longValue = "x".repeat(70_000) + "\"\"" + "y".repeat(70_000);
+        String csv = "a,\"" + longValue + "\",b\n1,2,3\n";
+
+        List<List<String>> rows = new ArrayList<>();
+        CsvStreamingReader.read(stream(csv), (rowNum, cells) -> rows.add(cells));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).get(1)).isEqualTo("x".repeat(70_000) + "\"" + "y".repeat(70_000));
+        assertThat(rows.get(0).get(2)).isEqualTo("b");
+        assertThat(rows.get(1)).containsExactly("1", "2", "3");
+    }
+
+    private ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
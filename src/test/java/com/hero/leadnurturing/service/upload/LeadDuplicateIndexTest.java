@@ -0,0 +1,81 @@
+package com.hero.leadnurturing.service.upload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.hero.leadnurturing.entity.Lead;
+
+class LeadDuplicateIndexTest {
+
+    private final LeadDuplicateIndex index = new LeadDuplicateIndex(
+            new long[]{LeadDuplicateIndex.normalizePhone("919000001001")},
+            new long[]{LeadDuplicateIndex.hashGovernmentId("ID001")},
+            id -> "id001".equalsIgnoreCase(id) ? "919000001001" : null);
+
+    @Test
+    void check_shouldRejectExistingPhoneRegardlessOfFormatting() {
+        assertThatThrownBy(() -> index.check(lead("+91 90000-01001", null)))
+                .isInstanceOf(RowRejectedException.class)
+                .hasMessageContaining("already exists");
+    }
+
+    @Test
+    void check_shouldRejectRepeatsWithinTheUpload() {
+        index.check(lead("919000001002", "ID002"));
+
+        assertThatThrownBy(() -> index.check(lead("919000001002", null)))
+                .hasMessageContaining("repeated in file");
+        assertThatThrownBy(() -> index.check(lead("919000001003", "id002")))
+                .hasMessageContaining("repeated in file");
+
+        // the row rejected for its government id must not block its phone number
+        assertThatCode(() -> index.check(lead("919000001003", null))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void check_shouldRejectExistingGovernmentId() {
+        RowRejectedException ex = assertThrows(RowRejectedException.class,
+                () -> index.check(lead("919000001004", "id001")));
+        assertThat(ex.getColumn()).isEqualTo("governmentId");
+    }
+
+    @Test
+    void check_shouldAllowExistingPhoneWhenUpserting() {
+        assertThatCode(() -> index.check(lead("919000001001", "id001"), true)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> index.check(lead("919000001001", null), true))
+                .isInstanceOf(RowRejectedException.class);
+    }
+
+    @Test
+    void check_shouldRejectGovernmentIdOfAnotherLeadWhenUpserting() {
+        RowRejectedException ex = assertThrows(RowRejectedException.class,
+                () -> index.check(lead("919000001005", "id001"), true));
+        assertThat(ex.getColumn()).isEqualTo("governmentId");
+    }
+
+    @Test
+    void existingLeadId_shouldFindTheLeadByNormalizedPhone() {
+        LeadDuplicateIndex withIds = new LeadDuplicateIndex(
+                new long[]{LeadDuplicateIndex.normalizePhone("919000001009"), LeadDuplicateIndex.normalizePhone("919000001001")},
+                new long[]{9, 1}, new long[0], id -> null);
+
+        assertThat(withIds.existingLeadId("+91 90000-01001")).isEqualTo(1L);
+        assertThat(withIds.existingLeadId("919000001009")).isEqualTo(9L);
+        assertThat(withIds.existingLeadId("919000001002")).isNull();
+        assertThat(index.existingLeadId("919000001001")).isNull();
+    }
+
+    @Test
+    void normalizePhone_shouldKeepLeadingZerosDistinct() {
+        assertThat(LeadDuplicateIndex.normalizePhone("09876543210"))
+                .isNotEqualTo(LeadDuplicateIndex.normalizePhone("9876543210"));
+        assertThat(LeadDuplicateIndex.normalizePhone("n/a")).isEqualTo(-1);
+    }
+
+    private Lead lead(String contactNumber, String governmentId) {
+        return Lead.builder().contactNumber(contactNumber).firstName("Test").governmentId(governmentId).build();
+    }
+}
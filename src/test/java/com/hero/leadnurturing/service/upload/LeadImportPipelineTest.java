@@ -0,0 +1,126 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.hero.leadnurturing.entity.Lead;
+
+class LeadImportPipelineTest {
+
+    @Test
+    @Timeout(30)
+    void finish_shouldWriteEveryValidRowAndCountInvalidOnes() throws Exception {
+        UploadJob job = job();
+        AtomicInteger written = new AtomicInteger();
+        LeadBatchWriter writer = new FakeWriter(50) {
+            @Override
+            public int write(List<Lead> chunk, FailedRows failedRows) {
+                assertThat(chunk.size()).isLessThanOrEqualTo(50);
+                written.addAndGet(chunk.size());
+                return chunk.size();
+            }
+        };
+
+        try (LeadImportPipeline pipeline = new LeadImportPipeline(job,
+                cells -> {
+                    if (cells.get(0).endsWith("7")) {
+                        throw new RowRejectedException("contactNumber", "Unlucky number");
+                    }
+                    return Lead.builder().contactNumber(cells.get(0)).build();
+                },
+                writer, 4, 3, 16)) {
+            for (int i = 1; i <= 10_000; i++) {
+                pipeline.submit(i, List.of(String.valueOf(i)));
+            }
+            pipeline.finish();
+        }
+
+        assertThat(job.getRowsProcessed().get()).isEqualTo(10_000);
+        assertThat(job.getRowsFailed().get()).isEqualTo(1_000);
+        assertThat(job.getRowsSucceeded().get()).isEqualTo(9_000);
+        assertThat(written.get()).isEqualTo(9_000);
+        assertThat(job.getRejectionReasons()).containsEntry("Unlucky number", 1_000L);
+        assertThat(job.getStages()).hasSize(3);
+    }
+
+    @Test
+    @Timeout(30)
+    void submit_shouldStopTheReaderWhenTheWriterFails() {
+        UploadJob job = job();
+        LeadBatchWriter writer = new FakeWriter(10) {
+            @Override
+            public int write(List<Lead> chunk, FailedRows failedRows) {
+                throw new IllegalStateException("database is down");
+            }
+        };
+
+        assertThatThrownBy(() -> {
+            try (LeadImportPipeline pipeline = new LeadImportPipeline(job,
+                    cells -> Lead.builder().contactNumber(cells.get(0)).build(), writer, 2, 1, 4)) {
+                for (int i = 1; i <= 100_000; i++) {
+                    pipeline.submit(i, List.of(String.valueOf(i)));
+                }
+                pipeline.finish();
+            }
+        }).hasMessageContaining("database is down");
+    }
+
+    @Test
+    @Timeout(30)
+    void finish_shouldReportEveryRejectedRowWithItsRowNumber() throws Exception {
+        UploadJob job = job();
+        LeadBatchWriter writer = new FakeWriter(8) {
+            @Override
+            public int write(List<Lead> chunk, FailedRows failedRows) {
+                int saved = 0;
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (chunk.get(i).getContactNumber().equals("42")) {
+                        failedRows.failed(i, "Duplicate entry '42'");
+                    } else {
+                        saved++;
+                    }
+                }
+                return saved;
+            }
+        };
+
+        try (LeadImportPipeline pipeline = new LeadImportPipeline(job,
+                cells -> {
+                    if (cells.get(0).equals("7")) {
+                        throw new RowRejectedException("contactNumber", "Unlucky, number");
+                    }
+                    return Lead.builder().contactNumber(cells.get(0)).build();
+                },
+                writer, 2, 2, 16)) {
+            for (int i = 1; i <= 100; i++) {
+                pipeline.submit(i, List.of(String.valueOf(i)));
+            }
+            pipeline.finish();
+        }
+        job.getRejectionReport().close();
+
+        assertThat(job.getRowsFailed().get()).isEqualTo(2);
+        assertThat(Files.readAllLines(job.getRejectionReport().getFile())).containsExactlyInAnyOrder(
+                "row,column,reason",
+                "8,contactNumber,\"Unlucky, number\"",
+                "43,,Rejected by database: Duplicate entry '42'");
+        job.getRejectionReport().delete();
+    }
+
+    private UploadJob job() {
+        return new UploadJob("00000000-test", "leads.csv", "text/csv", null, "tester", UploadMode.INSERT, Path.of("leads.csv"), 0);
+    }
+
+    private static class FakeWriter extends LeadBatchWriter {
+        FakeWriter(int batchSize) {
+            super(null, null, batchSize);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hero.leadnurturing.entity.Lead;
+import com.hero.leadnurturing.entity.LeadStatus;
+import com.hero.leadnurturing.repository.LeadRepository;
+import com.hero.leadnurturing.service.CacheService;
+import com.hero.leadnurturing.service.audit.LeadAuditWriter;
+import com.hero.leadnurturing.service.funnel.StatusTransitionLedger;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "audit.mode=transactional"
+})
+@Import({LeadUpsertWriter.class, LeadBatchWriter.class, LeadDuplicateIndexLoader.class, StatusTransitionLedger.class,
+        CacheService.class, LeadAuditWriter.class})
+class LeadUpsertWriterTest {
+
+    @Autowired
+    private LeadUpsertWriter upsertWriter;
+    @Autowired
+    private LeadDuplicateIndexLoader duplicateIndexLoader;
+    @Autowired
+    private LeadRepository leadRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void write_shouldUpdateTheLeadWithTheSameNormalizedPhone() {
+        Lead existing = save("+91 90000-01001", null);
+        LeadChunkWriter writer = upsertWriter.forJob(job(), duplicateIndexLoader.load());
+
+        Lead row = lead("919000001001", null);
+        row.setCity("Pune");
+        row.setStatus(LeadStatus.QUALIFIED);
+        int saved = writer.write(List.of(row), (index, error) -> { throw new AssertionError(error); });
+
+        assertThat(saved).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM leads", Long.class)).containsExactly(existing.getId());
+        assertThat(jdbcTemplate.queryForMap("SELECT contact_number, city, status FROM leads"))
+                .containsEntry("CONTACT_NUMBER", "+91 90000-01001")
+                .containsEntry("CITY", "Pune")
+                .containsEntry("STATUS", "QUALIFIED");
+        // One row for the whole update, like an edit from the lead form
+        assertThat(jdbcTemplate.queryForList("SELECT modified_field, new_value, diff FROM lead_modifications"
+                + " WHERE lead_id = ?", existing.getId())).singleElement().satisfies(entry -> assertThat(entry)
+                .containsEntry("MODIFIED_FIELD", "UPDATED")
+                .containsEntry("NEW_VALUE", "city, status")
+                .containsEntry("DIFF", "{\"city\":[null,\"Pune\"],\"status\":[\"NEW\",\"QUALIFIED\"]}"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lead_status_transitions", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void write_shouldRejectANewRowThatCollidesInsteadOfOverwriting() {
+        LeadChunkWriter writer = upsertWriter.forJob(job(), duplicateIndexLoader.load());
+        // Created after the upload's index was loaded
+        save("919000001002", "ID002");
+
+        List<String> errors = new ArrayList<>();
+        int saved = writer.write(List.of(lead("919000001003", "ID002")), (index, error) -> errors.add(error));
+
+        assertThat(saved).isZero();
+        assertThat(errors).hasSize(1);
+        assertThat(jdbcTemplate.queryForList("SELECT contact_number FROM leads", String.class))
+                .containsExactly("919000001002");
+    }
+
+    private Lead save(String contactNumber, String governmentId) {
+        Lead lead = leadRepository.save(lead(contactNumber, governmentId));
+        entityManager.flush();
+        return lead;
+    }
+
+    private static Lead lead(String contactNumber, String governmentId) {
+        return Lead.builder()
+                .contactNumber(contactNumber)
+                .firstName("Asha")
+                .governmentId(governmentId)
+                .build();
+    }
+
+    private static UploadJob job() {
+        return new UploadJob("00000000-test", "leads.csv", "text/csv", null, "tester", UploadMode.UPSERT,
+                Path.of("leads.csv"), 0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.io.ByteArrayInputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UploadSessionTest {
+
+    private static final byte[] FILE = "contactNumber,firstName\n9000000001,Asha\n9000000002,Ravi\n"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final int CHUNK_SIZE = 16;
+
+    private Path spoolFile;
+    private UploadSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        spoolFile = Files.createTempFile("upload-session-test-", ".tmp");
+        try (RandomAccessFile file = new RandomAccessFile(spoolFile.toFile(), "rw")) {
+            file.setLength(FILE.length);
+        }
+        session = new UploadSession("session-1", "leads.csv", "text/csv", null, UploadMode.INSERT,
+                "tester", spoolFile, FILE.length, CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(spoolFile);
+    }
+
+    @Test
+    void writeChunk_shouldAcceptChunksInAnyOrderAndListWhatIsMissing() throws Exception {
+        assertThat(session.getTotalChunks()).isEqualTo(4);
+
+        send(3);
+        send(1);
+        assertThat(session.getMissingChunks()).containsExactly(0, 2);
+
+        send(0);
+        send(2);
+        assertThat(session.isComplete()).isTrue();
+        assertThat(Files.readAllBytes(spoolFile)).isEqualTo(FILE);
+    }
+
+    @Test
+    void writeChunk_shouldNotAcknowledgeAChunkWithTheWrongChecksum() {
+        assertThatThrownBy(() -> session.writeChunk(0, new ByteArrayInputStream(chunk(0)), sha256(chunk(1))))
+                .hasMessageContaining("Checksum mismatch");
+        assertThat(session.getMissingChunks()).contains(0);
+    }
+
+    @Test
+    void commit_shouldRefuseWhileChunksAreMissing() throws Exception {
+        send(0);
+        assertThatThrownBy(session::commit).hasMessageContaining("missing chunks");
+    }
+
+    @Test
+    void commit_shouldLeaveTheWholeFileInTheSpoolFile() throws Exception {
+        for (int i = session.getTotalChunks() - 1; i >= 0; i--) {
+            send(i);
+        }
+        session.commit();
+
+        assertThat(session.getStatus()).isEqualTo(UploadSession.Status.COMMITTED);
+        assertThat(Files.readAllBytes(spoolFile)).isEqualTo(FILE);
+    }
+
+    private void send(int index) throws Exception {
+        byte[] chunk = chunk(index);
+        assertThat(session.writeChunk(index, new ByteArrayInputStream(chunk), sha256(chunk))).isTrue();
+    }
+
+    private static byte[] chunk(int index) {
+        int from = index * CHUNK_SIZE;
+        return Arrays.copyOfRange(FILE, from, Math.min(FILE.length, from + CHUNK_SIZE));
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,58 @@
+package com.hero.leadnurturing.service.upload;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class XlsxStreamingReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_shouldEmitRowsWithSameValuesAsWorkbookModel() throws Exception {
+        File file = tempDir.resolve("leads.xlsx").toFile();
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file.toPath())) {
+            Sheet sheet = workbook.createSheet("Leads");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("contactNumber");
+            header.createCell(1).setCellValue("firstName");
+
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue(919000001001d);
+            first.createCell(1).setCellValue("  Rajesh ");
+            first.createCell(3).setCellValue(true);
+            first.createCell(4).setCellFormula("\"Model\"&\" X\"");
+
+            Row second = sheet.createRow(3);
+            second.createCell(0).setCellValue(2.5d);
+            second.createCell(1).setCellValue("Mumbai");
+
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            workbook.write(out);
+        }
+
+        List<Integer> rowNums = new ArrayList<>();
+        List<List<String>> rows = new ArrayList<>();
+        XlsxStreamingReader.read(file, (rowNum, cells) -> {
+            rowNums.add(rowNum);
+            rows.add(cells);
+        });
+
+        assertThat(rowNums).containsExactly(0, 1, 3);
+        assertThat(rows.get(0)).containsExactly("contactNumber", "firstName");
+        assertThat(rows.get(1)).containsExactly("919000001001", "Rajesh", "", "true", "Model X");
+        assertThat(rows.get(2)).containsExactly("2.5", "Mumbai");
+    }
+}